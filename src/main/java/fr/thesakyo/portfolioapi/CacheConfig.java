@@ -0,0 +1,33 @@
+package fr.thesakyo.portfolioapi;
+
+import fr.thesakyo.portfolioapi.services.DTOCacheService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Conteneur des abonnements Redis du cache des 'DTO's : chaque invalidation publiée par une instance de l'application
+     * (région et nouvelle génération Redis) est reçue par le {@link DTOCacheService service du cache} de toutes les instances.
+     *
+     * @param redisConnectionFactory La fabrique des connexions Redis.
+     * @param dtoCacheService Le service du cache des 'DTO's.
+     *
+     * @return Un {@link RedisMessageListenerContainer conteneur des abonnements Redis}.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory, DTOCacheService dtoCacheService) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+
+        // Invalide le cache local des 'DTO's à chaque invalidation publiée par une instance de l'application
+        container.addMessageListener(dtoCacheService, new ChannelTopic(DTOCacheService.INVALIDATION_CHANNEL));
+
+        return container;
+    }
+}
@@ -0,0 +1,87 @@
+package fr.thesakyo.portfolioapi;
+
+import fr.thesakyo.portfolioapi.models.entities.BaseEntity;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@Configuration
+public class PersistenceConfig implements SmartInitializingSingleton {
+
+    public static final String ID_GENERATOR = "entity_id_generator"; // Nom du générateur d'identifiants partagé par toutes les entités.
+
+    public static final String ID_GENERATOR_TABLE = "entity_ids"; // Table stockant la prochaine valeur du générateur d'identifiants.
+
+    public static final String ID_GENERATOR_SEGMENT = "default"; // Ligne (segment) de la table utilisée par le générateur d'identifiants.
+
+    public static final int ID_ALLOCATION_SIZE = 50; // Nombre d'identifiants réservés en une seule requête par le générateur.
+
+    private static final List<String> ENTITY_TABLES = List.of("users", "roles", "projects", "languages"); // Tables des entités utilisant le générateur.
+
+    /***************************************************/
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Permet d'envoyer directement des requêtes SQL à la base de données.
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Configure Hibernate pour le regroupement (batch) des requêtes d'écriture :
+     * les insertions et mises à jour sont triées par entité pour pouvoir être regroupées, et le générateur d'identifiants
+     * réserve ses identifiants par blocs (optimiseur 'pooled-lo'), ce que la stratégie 'IDENTITY' de MySQL ne permettait pas.
+     * La taille des lots est définie par session (voir les méthodes groupées des services).
+     *
+     * @return Un {@link HibernatePropertiesCustomizer personnalisateur} des propriétés d'Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer batchingHibernatePropertiesCustomizer() {
+
+        return hibernateProperties -> {
+
+            hibernateProperties.put(AvailableSettings.ORDER_INSERTS, true);
+            hibernateProperties.put(AvailableSettings.ORDER_UPDATES, true);
+            hibernateProperties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+        };
+    }
+
+    /**
+     * Aligne le générateur d'identifiants une fois tous les composants créés, mais avant le démarrage du serveur web :
+     * aucune requête http ne peut donc créer d'entité avant l'alignement.
+     */
+    @Override
+    public void afterSingletonsInstantiated() { alignIdGenerator(); }
+
+    /**
+     * Aligne le générateur d'identifiants des {@link BaseEntity entités} sur les identifiants déjà présents en base de données
+     * (générés auparavant par l'auto-incrément de MySQL), afin qu'il ne génère jamais un identifiant déjà utilisé.
+     * Si l'alignement échoue, le démarrage de l'application échoue aussi.
+     */
+    private void alignIdGenerator() {
+
+        try {
+
+            long nextId = 1L; // Prochain identifiant libre, toutes tables confondues
+
+            for(String table : ENTITY_TABLES) {
+
+                Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+                if(maxId != null) nextId = Math.max(nextId, maxId + 1);
+            }
+
+            /**************************************/
+
+            // Avance la valeur du générateur si elle est en retard, ou crée sa ligne si elle n'existe pas encore
+            int updated = jdbcTemplate.update("UPDATE " + ID_GENERATOR_TABLE + " SET next_val = GREATEST(next_val, ?) WHERE sequence_name = ?", nextId, ID_GENERATOR_SEGMENT);
+            if(updated == 0) jdbcTemplate.update("INSERT INTO " + ID_GENERATOR_TABLE + " (sequence_name, next_val) VALUES (?, ?)", ID_GENERATOR_SEGMENT, nextId);
+
+        } catch(DataAccessException e) { throw new IllegalStateException("Impossible d'aligner le générateur d'identifiants", e); }
+    }
+}
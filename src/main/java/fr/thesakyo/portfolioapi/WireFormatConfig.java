@@ -0,0 +1,47 @@
+package fr.thesakyo.portfolioapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class WireFormatConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile"); // Type de contenu du format binaire 'Smile'.
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Convertisseur des requêtes et réponses http au format binaire 'CBOR' ('Accept: application/cbor').
+     * Il reprend la configuration du convertisseur JSON de l'application : les mêmes 'DTO' sont donc renvoyés, sous une autre forme.
+     *
+     * @param objectMapper Le convertisseur JSON de l'application.
+     *
+     * @return Un {@link MappingJackson2CborHttpMessageConverter convertisseur 'CBOR'}.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+
+        return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+    }
+
+    /**
+     * Convertisseur des requêtes et réponses http au format binaire 'Smile' ('Accept: application/x-jackson-smile').
+     * Il reprend la configuration du convertisseur JSON de l'application : les mêmes 'DTO' sont donc renvoyés, sous une autre forme.
+     *
+     * @param objectMapper Le convertisseur JSON de l'application.
+     *
+     * @return Un {@link MappingJackson2SmileHttpMessageConverter convertisseur 'Smile'}.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+    }
+}
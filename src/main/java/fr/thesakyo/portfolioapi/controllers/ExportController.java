@@ -0,0 +1,48 @@
+package fr.thesakyo.portfolioapi.controllers;
+
+import fr.thesakyo.portfolioapi.services.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Controller
+@RequestMapping("/api/export")
+public class ExportController {
+
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson"); // Type de contenu JSON délimité par des retours à la ligne.
+
+    /*******************************/
+
+    @Autowired
+    private ExportService exportService; // Service concordant à l'export du portfolio.
+
+    /***************************************************************/
+    /**************   ⬇️    MÉTHODES DE REQUÊTE   ⬇️   ************/
+    /***************************************************************/
+
+    /**
+     * Exporte l'ensemble du portfolio (rôles, utilisateurs, langages et projets) en flux, au format JSON délimité par des retours à la ligne.
+     *
+     * @return Une {@link ResponseEntity réponse http} dont le corps est écrit au fur et à mesure de la lecture de la base de données.
+     */
+    @RequestMapping(value = "/all", method = RequestMethod.GET)
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+
+        StreamingResponseBody body = exportService.exportPortfolio(); // Vérifie la permission et prépare l'écriture du flux
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("portfolio.ndjson").build().toString())
+                .body(body);
+    }
+}
@@ -1,6 +1,7 @@
 package fr.thesakyo.portfolioapi.controllers;
 
 import fr.thesakyo.portfolioapi.models.DTO.LanguageDTO;
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
 import fr.thesakyo.portfolioapi.models.SerializableResponseEntity;
 import fr.thesakyo.portfolioapi.models.entities.Language;
 import fr.thesakyo.portfolioapi.models.entities.Project;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.management.InstanceNotFoundException;
 
@@ -31,22 +33,37 @@ public class LanguageController {
     /***************************************************************/
 
     /**
-     * Récupère tous les {@link Language langage}(s).
+     * Récupère une page de {@link Language langage}(s) triée par {@link Long identifiant} (pagination par curseur).
      *
-     * @return Une {@link SerializableResponseEntity réponse sérialisé en http} incluant tous les {@link Language langage}(s) connecté(s).
+     * @param after L'{@link Long Identifiant} du dernier {@link Language langage} déjà récupéré (si nécessaire).
+     * @param limit Le nombre maximal de {@link Language langage}(s) à récupérer (si nécessaire).
+     * @param fields Les champs à renvoyer pour chaque {@link Language langage}, séparés par une virgule (si nécessaire).
+     * @param expand Les associations à renvoyer pour chaque {@link Language langage}, séparées par une virgule (si nécessaire).
+     *
+     * @return Une {@link SerializableResponseEntity réponse sérialisé en http} incluant une page de {@link Language langage}(s) et le curseur de la page suivante.
      */
-    /*@RequestMapping(value = "/all", method = RequestMethod.GET)
-    public Set<LanguageDTO> getAll() { return languageService.getAllLanguages(); }*/
+    @RequestMapping(value = "/all", method = RequestMethod.GET)
+    public SerializableResponseEntity<?> getAll(@RequestParam(value = "after", required = false) Long after, @RequestParam(value = "limit", required = false) Integer limit,
+                                                @RequestParam(value = "fields", required = false) String fields, @RequestParam(value = "expand", required = false) String expand) {
+
+        return languageService.getLanguagesPage(after, limit, ResponseShape.of(fields, expand));
+    }
 
     /**
      * Récupère un {@link Language langage} par son {@link Long identifiant}.
      *
      * @param id L'{@link Long Identifiant} de l'{@link Language langage} a récupéré.
+     * @param fields Les champs à renvoyer, séparés par une virgule (ex : 'id,label,stack') (si nécessaire).
+     * @param expand Les associations à renvoyer, séparées par une virgule (ex : 'projects') (si nécessaire).
      *
      * @return Une {@link SerializableResponseEntity réponse sérialisé en http} récupérant l'{@link Language langage} en question.
      */
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
-    public SerializableResponseEntity<?> get(@PathVariable("id") Long id) { return languageService.getLanguageById(id); }
+    public SerializableResponseEntity<?> get(@PathVariable("id") Long id, @RequestParam(value = "fields", required = false) String fields,
+                                             @RequestParam(value = "expand", required = false) String expand) {
+
+        return languageService.getLanguageById(id, ResponseShape.of(fields, expand));
+    }
 
     /*********************************************************/
 
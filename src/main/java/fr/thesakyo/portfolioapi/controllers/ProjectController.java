@@ -1,11 +1,13 @@
 package fr.thesakyo.portfolioapi.controllers;
 
 import fr.thesakyo.portfolioapi.models.DTO.ProjectDTO;
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
 import fr.thesakyo.portfolioapi.models.SerializableResponseEntity;
 import fr.thesakyo.portfolioapi.models.entities.Language;
 import fr.thesakyo.portfolioapi.models.entities.Project;
 import fr.thesakyo.portfolioapi.payloads.requests.LanguagesEntityRequest;
 import fr.thesakyo.portfolioapi.payloads.requests.ProjectsEntityRequest;
+import fr.thesakyo.portfolioapi.services.ImportService;
 import fr.thesakyo.portfolioapi.services.entities.ProjectService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -13,6 +15,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
 
 
 @Controller
@@ -26,27 +32,55 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService; // Service concordant à la table des projets dans la base de données.
 
+    @Autowired
+    private ImportService importService; // Service concordant à l'import des projets.
+
     /***************************************************************/
     /**************   ⬇️    MÉTHODES DE REQUÊTE   ⬇️   ************/
     /***************************************************************/
 
     /**
-     * Récupère tous les {@link Project projet}(s).
+     * Récupère une page de {@link Project projet}(s) triée par {@link Long identifiant} (pagination par curseur).
+     *
+     * @param after L'{@link Long Identifiant} du dernier {@link Project projet} déjà récupéré (si nécessaire).
+     * @param limit Le nombre maximal de {@link Project projet}(s) à récupérer (si nécessaire).
+     * @param fields Les champs à renvoyer pour chaque {@link Project projet}, séparés par une virgule (si nécessaire).
+     * @param expand Les associations à renvoyer pour chaque {@link Project projet}, séparées par une virgule (si nécessaire).
      *
-     * @return Une {@link SerializableResponseEntity réponse sérialisé en http} incluant tous les {@link Project projet}(s) connecté(s).
+     * @return Une {@link SerializableResponseEntity réponse sérialisé en http} incluant une page de {@link Project projet}(s) et le curseur de la page suivante.
      */
-    /*@RequestMapping(value = "/all", method = RequestMethod.GET)
-    public Set<ProjectDTO> getAll() { return projectService.getAllProjects(); }*/
+    @RequestMapping(value = "/all", method = RequestMethod.GET)
+    public SerializableResponseEntity<?> getAll(@RequestParam(value = "after", required = false) Long after, @RequestParam(value = "limit", required = false) Integer limit,
+                                                @RequestParam(value = "fields", required = false) String fields, @RequestParam(value = "expand", required = false) String expand) {
+
+        return projectService.getProjectsPage(after, limit, ResponseShape.of(fields, expand));
+    }
 
     /**
      * Récupère un {@link Project projet} par son {@link Long identifiant}.
      *
      * @param id L'{@link Long Identifiant} de l'{@link Project projet} a récupéré.
+     * @param fields Les champs à renvoyer, séparés par une virgule (ex : 'id,title,link') (si nécessaire).
+     * @param expand Les associations à renvoyer, séparées par une virgule (ex : 'languages') (si nécessaire).
      *
      * @return Une {@link SerializableResponseEntity réponse sérialisé en http} récupérant l'{@link Project projet} en question.
      */
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
-    public SerializableResponseEntity<?> get(@PathVariable("id") Long id) { return projectService.getProjectById(id); }
+    public SerializableResponseEntity<?> get(@PathVariable("id") Long id, @RequestParam(value = "fields", required = false) String fields,
+                                             @RequestParam(value = "expand", required = false) String expand) {
+
+        return projectService.getProjectById(id, ResponseShape.of(fields, expand));
+    }
+
+    /**
+     * Récupère le détail d'un {@link Project projet} par son {@link Long identifiant} (le détail n'est renvoyé ni dans les listes, ni dans les entités associées).
+     *
+     * @param id L'{@link Long Identifiant} de l'{@link Project projet}.
+     *
+     * @return Une {@link SerializableResponseEntity réponse sérialisé en http} récupérant le détail du {@link Project projet} en question.
+     */
+    @RequestMapping(value = "/{id}/detail", method = RequestMethod.GET)
+    public SerializableResponseEntity<?> getDetail(@PathVariable("id") Long id) { return projectService.getProjectDetail(id); }
 
     /*********************************************************/
 
@@ -70,6 +104,37 @@ public class ProjectController {
     @RequestMapping(value = "/update/{id}", method = RequestMethod.PATCH)
     public ProjectDTO update(@PathVariable("id") Long id, @RequestBody Project project) { return projectService.updateProject(id, project); }
 
+    /**
+     * Créer plusieurs nouveaux {@link Project projet}s en une seule requête (insertions groupées).
+     *
+     * @param projects La {@link List liste} des {@link Project projet}s à créer.
+     *
+     * @return Une {@link SerializableResponseEntity réponse sérialisé en http} incluant les objets '{@link ProjectDTO projet}' créés.
+     */
+    @RequestMapping(value = "/bulk", method = RequestMethod.POST)
+    public SerializableResponseEntity<?> createAll(@RequestBody List<Project> projects) { return projectService.createProjects(projects); }
+
+    /**
+     * Mise à jour de plusieurs {@link Project projet}s en une seule requête (mises à jour groupées).
+     *
+     * @param projects La {@link List liste} des {@link Project projet}s à modifier (chacun avec son {@link Long identifiant}).
+     *
+     * @return Une {@link SerializableResponseEntity réponse sérialisé en http} incluant les objets '{@link ProjectDTO projet}' modifiés.
+     */
+    @RequestMapping(value = "/bulk", method = RequestMethod.PATCH)
+    public SerializableResponseEntity<?> updateAll(@RequestBody List<Project> projects) { return projectService.updateProjects(projects); }
+
+    /**
+     * Importe des {@link Project projet}s depuis un fichier NDJSON ou CSV téléversé (lu au fur et à mesure, enregistré par lots).
+     *
+     * @param file Le fichier à importer.
+     * @param format Le format du fichier ('ndjson' ou 'csv'), déduit de son extension s'il n'est pas défini.
+     *
+     * @return Une {@link SerializableResponseEntity réponse sérialisé en http} incluant le rapport de l'import (débit et erreurs de chaque lot).
+     */
+    @RequestMapping(value = "/import", method = RequestMethod.POST)
+    public SerializableResponseEntity<?> importAll(@RequestParam("file") MultipartFile file, @RequestParam(value = "format", required = false) String format) { return importService.importProjects(file, format); }
+
     /**
      * Modifie les {@link Language langage}(s) pour un {@link Project projet}.
      *
@@ -1,5 +1,6 @@
 package fr.thesakyo.portfolioapi.controllers;
 
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
 import fr.thesakyo.portfolioapi.models.SerializableResponseEntity;
 import fr.thesakyo.portfolioapi.payloads.requests.RoleRequest;
 import fr.thesakyo.portfolioapi.services.entities.UserService;
@@ -11,8 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
-
-import java.util.Set;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 @RequestMapping("/api/users")
@@ -30,22 +30,37 @@ public class UserController {
     /***************************************************************/
 
     /**
-     * Récupère tous les {@link User utilisateur}(s).
+     * Récupère une page de {@link User utilisateur}(s) triée par {@link Long identifiant} (pagination par curseur).
+     *
+     * @param after L'{@link Long Identifiant} du dernier {@link User utilisateur} déjà récupéré (si nécessaire).
+     * @param limit Le nombre maximal de {@link User utilisateur}(s) à récupérer (si nécessaire).
+     * @param fields Les champs à renvoyer pour chaque {@link User utilisateur}, séparés par une virgule (si nécessaire).
+     * @param expand Les associations à renvoyer pour chaque {@link User utilisateur}, séparées par une virgule (si nécessaire).
      *
-     * @return Une {@link SerializableResponseEntity réponse sérialisé en http} incluant tous les {@link User utilisateur}(s) connecté(s).
+     * @return Une {@link SerializableResponseEntity réponse sérialisé en http} incluant une page de {@link User utilisateur}(s) et le curseur de la page suivante.
      */
-    /*@RequestMapping(value = "/all", method = RequestMethod.GET)
-    public Set<UserDTO> getAll() { return userService.getAllUsers(); }*/
+    @RequestMapping(value = "/all", method = RequestMethod.GET)
+    public SerializableResponseEntity<?> getAll(@RequestParam(value = "after", required = false) Long after, @RequestParam(value = "limit", required = false) Integer limit,
+                                                @RequestParam(value = "fields", required = false) String fields, @RequestParam(value = "expand", required = false) String expand) {
+
+        return userService.getUsersPage(after, limit, ResponseShape.of(fields, expand));
+    }
 
     /**
      * Récupère un {@link User utilisateur} par son {@link Long identifiant}.
      *
      * @param id L'{@link Long Identifiant} de l'{@link User utilisateur} a récupéré.
+     * @param fields Les champs à renvoyer, séparés par une virgule (ex : 'id,name') (si nécessaire).
+     * @param expand Les associations à renvoyer, séparées par une virgule (ex : 'roles') (si nécessaire).
      *
      * @return Une {@link SerializableResponseEntity réponse sérialisé en http} récupérant l'{@link User utilisateur} en question.
      */
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
-    public SerializableResponseEntity<?> get(@PathVariable("id") Long id) { return userService.getUserById(id); }
+    public SerializableResponseEntity<?> get(@PathVariable("id") Long id, @RequestParam(value = "fields", required = false) String fields,
+                                             @RequestParam(value = "expand", required = false) String expand) {
+
+        return userService.getUserById(id, ResponseShape.of(fields, expand));
+    }
 
     /*********************************************************/
 
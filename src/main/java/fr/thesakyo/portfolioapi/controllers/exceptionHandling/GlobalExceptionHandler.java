@@ -2,6 +2,7 @@ package fr.thesakyo.portfolioapi.controllers.exceptionHandling;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -80,6 +81,20 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return buildErrorResponse(request.getServletPath(), "Role Already Assigned", HttpStatus.LOCKED, ex);
     }
 
+    /**
+     * Envoie une exception en cas de modification concurrente d'une entité (sa version a changé depuis sa lecture).
+     *
+     * @param request La {@link HttpServletRequest requête} de la {@link ResponseEntity réponse http} renvoyée.
+     * @param ex L'{@link OptimisticLockingFailureException Exception} en question au moment de l'enregistrement de l'entité.
+     *
+     * @return Une exception {@link HashMap} englobant des détails sur l'erreur pour la partie 'front'.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public Map<String, Object> handleOptimisticLockingFailureException(HttpServletRequest request, OptimisticLockingFailureException ex) {
+
+        return buildErrorResponse(request.getServletPath(), "Conflict", HttpStatus.CONFLICT, ex);
+    }
+
     /**
      * Envoie une exception en cas d'erreur de serveur interne.
      *
@@ -42,5 +42,15 @@ public enum ERole {
          */
         @Override
         public String toString() {  return "UNKNOWN"; }
-    },
-}
+    };
+
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+
+    /**
+     * Récupère le masque binaire du {@link ERole rôle} (un bit par rôle, selon sa position dans l'énumération).
+     *
+     * @return Le masque binaire du {@link ERole rôle}.
+     */
+    public int getMask() { return 1 << ordinal(); }
+}
\ No newline at end of file
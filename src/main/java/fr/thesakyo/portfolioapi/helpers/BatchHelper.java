@@ -0,0 +1,57 @@
+package fr.thesakyo.portfolioapi.helpers;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+public abstract class BatchHelper {
+
+    /**************************************************************************************/
+    /*************   ⬇️    MÉTHODES UTILES EN RAPPORT AVEC LES ÉCRITURES GROUPÉES  ⬇️   ***/
+    /*************************************************************************************/
+
+    /**
+     * Effectue une écriture groupée par lots de taille fixe : la taille des lots JDBC de la session est ajustée pendant l'écriture,
+     * et le contexte de persistance est vidé après chaque lot pour garder une mémoire constante. Doit être appelée dans une transaction.
+     *
+     * @param entityManager Le gestionnaire des entités de la transaction en cours.
+     * @param batchSize Le nombre d'éléments écrits par lot (batch JDBC).
+     * @param size Le nombre total d'éléments à écrire.
+     * @param chunkWriter L'Écriture d'un lot, recevant les indices de début (inclus) et de fin (exclu) du lot.
+     */
+    public static void writeInBatches(EntityManager entityManager, int batchSize, int size, BatchWriter chunkWriter) {
+
+        Session session = entityManager.unwrap(Session.class); // Récupère la session Hibernate de la transaction en cours
+        Integer previousBatchSize = session.getJdbcBatchSize(); // Taille des lots JDBC de la session avant l'écriture groupée
+
+        session.setJdbcBatchSize(batchSize); // Active le regroupement des requêtes pour cette session
+
+        /**************************************/
+
+        try {
+
+            for(int from = 0; from < size; from += batchSize) {
+
+                chunkWriter.write(from, Math.min(from + batchSize, size)); // Écrit le lot en cours
+                entityManager.clear(); // Détache les entités du lot écrit
+            }
+
+        } finally { session.setJdbcBatchSize(previousBatchSize); } // Rétablit la taille des lots JDBC de la session
+    }
+
+    /********************************************************************************************/
+
+    /**
+     * Écriture d'un lot d'une écriture groupée (voir {@link #writeInBatches(EntityManager, int, int, BatchWriter)}).
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+
+        /**
+         * Écrit un lot.
+         *
+         * @param from L'Indice de début (inclus) du lot.
+         * @param to L'Indice de fin (exclu) du lot.
+         */
+        void write(int from, int to);
+    }
+}
@@ -0,0 +1,121 @@
+package fr.thesakyo.portfolioapi.helpers;
+
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
+import fr.thesakyo.portfolioapi.models.SerializableResponseEntity;
+import fr.thesakyo.portfolioapi.models.entities.BaseEntity;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public abstract class ETagHelper {
+
+    /*****************************************************************************************/
+    /*************   ⬇️    MÉTHODES UTILES EN RAPPORT AVEC LES 'ETAG'S  ⬇️   ***************/
+    /****************************************************************************************/
+
+    /**
+     * Calcule l''ETag' d'une réponse depuis les {@link BaseEntity#getVersion() version}s des entités qu'elle contient
+     * (l'entité demandée et les associations converties dans son 'DTO'), sans charger ces entités.
+     * Toute modification d'une de ces entités incrémente sa version, et change donc l''ETag'.
+     *
+     * @param type Le type de la réponse (ex : la région du cache correspondante).
+     * @param key La clé de la réponse (ex : l'identifiant de l'entité, ou le curseur de la page).
+     * @param shape La {@link ResponseShape forme de réponse} demandée (une autre forme donne un autre 'ETag').
+     * @param versions Les lignes 'identifiant, version' des entités contenues dans la réponse.
+     *
+     * @return L''ETag' de la réponse, ou 'null' si aucune entité n'a été trouvée.
+     */
+    public static String toETag(String type, Object key, ResponseShape shape, List<Object[]> versions) {
+
+        if(versions.isEmpty()) return null; // Si aucune entité n'a été trouvée, il n'y a pas d''ETag'
+
+        /**************************************/
+
+        // Les lignes sont triées : l'ordre renvoyé par la base de données n'est pas garanti
+        String versionsKey = versions.stream().map(Arrays::toString).sorted().collect(Collectors.joining(";"));
+        String value = type + ":" + shape.cacheKey(key) + ":" + versionsKey;
+
+        return "\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\""; // Renvoie l''ETag' entre guillemets
+    }
+
+    /**
+     * Vérifie si l'en-tête 'If-None-Match' de la requête http en cours correspond à l''ETag' donné
+     * (le client possède déjà la réponse : elle n'a donc pas besoin d'être construite, ni renvoyée).
+     *
+     * @param eTag L''ETag' actuel de la réponse.
+     *
+     * @return Une valeur booléenne ('true' ou 'false').
+     */
+    public static boolean isNotModified(String eTag) {
+
+        if(eTag == null) return false; // S'il n'y a pas d''ETag', la réponse doit être construite
+
+        // Récupère la requête http en cours, si elle existe
+        HttpServletRequest request = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes ? attributes.getRequest() : null;
+        if(request == null) return false;
+
+        /**************************************/
+
+        // Compare chaque 'ETag' de l'en-tête (comparaison faible : le préfixe 'W/' est ignoré)
+        for(String header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+
+            for(String requestETag : header.split(",")) {
+
+                String value = requestETag.trim();
+                if(value.equals("*") || stripWeak(value).equals(stripWeak(eTag))) return true;
+            }
+        }
+
+        return false; // Aucun 'ETag' ne correspond
+    }
+
+    /**
+     * Construit les en-têtes http d'une réponse ayant un 'ETag' : le client peut la conserver, mais doit la revalider à chaque utilisation.
+     *
+     * @param eTag L''ETag' de la réponse (si nécessaire).
+     *
+     * @return Les {@link HttpHeaders en-têtes http} de la réponse.
+     */
+    public static HttpHeaders headers(String eTag) {
+
+        HttpHeaders headers = new HttpHeaders();
+        if(eTag == null) return headers; // S'il n'y a pas d''ETag', aucun en-tête n'est ajouté
+
+        headers.setETag(eTag);
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+
+        return headers; // Renvoie les en-têtes
+    }
+
+    /**
+     * Construit une {@link SerializableResponseEntity réponse http} '304 Not Modified', sans corps.
+     *
+     * @param eTag L''ETag' de la réponse.
+     *
+     * @return Une {@link SerializableResponseEntity réponse http} '304 Not Modified'.
+     */
+    public static SerializableResponseEntity<?> notModified(String eTag) { return new SerializableResponseEntity<>(headers(eTag), HttpStatus.NOT_MODIFIED); }
+
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+
+    /**
+     * Retire le préfixe d'un 'ETag' faible ('W/').
+     *
+     * @param eTag L''ETag' en question.
+     *
+     * @return L''ETag' sans son préfixe.
+     */
+    private static String stripWeak(String eTag) { return eTag.startsWith("W/") ? eTag.substring(2) : eTag; }
+}
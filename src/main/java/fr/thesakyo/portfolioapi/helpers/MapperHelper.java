@@ -2,13 +2,39 @@ package fr.thesakyo.portfolioapi.helpers;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.hibernate.Hibernate;
+
+import java.util.StringJoiner;
 
 public abstract class MapperHelper {
 
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    /**
+     * Convertisseur JSON partagé, configuré une seule fois (la recherche des modules parcourt le 'classpath').
+     * Un {@link ObjectMapper} configuré est utilisable par plusieurs 'threads' en même temps.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    /**
+     * Écrivain JSON partagé, avec des retours à la ligne pour une meilleure lisibilité (immuable, donc utilisable par plusieurs 'threads').
+     */
+    private static final ObjectWriter PRETTY_WRITER = OBJECT_MAPPER.writerWithDefaultPrettyPrinter();
+
     /************************************************************************************/
     /*************   ⬇️    MÉTHODES UTILES POUR LES MAPPAGE/CONVERSION  ⬇️   ***********/
     /***********************************************************************************/
 
+    /**
+     * Récupère le convertisseur JSON partagé de l'application (à utiliser plutôt que de créer un nouvel {@link ObjectMapper}).
+     *
+     * @return L'{@link ObjectMapper} partagé.
+     */
+    public static ObjectMapper getObjectMapper() { return OBJECT_MAPPER; }
+
     /**
      * Permet de récupérer un {@link Object objet} pour la convertir en {@link String chaîne de caractère} avec un format JSON.
      * <>*****<>*****<>*****<>*****<>*****<><>*****<>
@@ -21,21 +47,11 @@ public abstract class MapperHelper {
      */
     public static String readJsonFromObjectAsString(Object object) {
 
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        /******************************/
-
-        // Cherche et enregistre les modules pour mapper l'objet en une chaîne de caractère de format JSON
-        objectMapper.findAndRegisterModules();
-
-        /*******************************/
-        /******************************/
-
         /**
          * On essaie de mapper l'entité récupérée en paramètre en une chaîne de caractère de format JSON
          * tout en effectuant des retours à la ligne pour une meilleure lisibilité
          */
-        try { return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(object); }
+        try { return PRETTY_WRITER.writeValueAsString(object); }
 
         // En cas d'erreur survenue, on renvoie tous simplement le nom de classe (l'entité n'a pas pû être sérialisé)
         catch(JsonProcessingException ex) {
@@ -44,4 +60,22 @@ public abstract class MapperHelper {
             return "Alternative result : " + object.getClass().getName() + " Object";
         }
     }
+
+    /**
+     * Convertit une entité en une courte {@link String chaîne de caractère} (ex : 'Project[id=1, title=Portfolio]'), sans format JSON.
+     * Seules les propriétés demandées sont écrites : aucune association n'est parcourue (ni chargée depuis la base de données).
+     *
+     * @param entity L'{@link Object entité} à convertir.
+     * @param properties Les propriétés à écrire, par paires nom → valeur (ex : "id", 1L, "title", "Portfolio").
+     *
+     * @return Une courte {@link String chaîne de caractère} de l'entité.
+     */
+    public static String toShortString(Object entity, Object... properties) {
+
+        // Récupère la classe réelle de l'entité, sans initialiser un éventuel 'proxy' Hibernate
+        StringJoiner joiner = new StringJoiner(", ", Hibernate.getClassLazy(entity).getSimpleName() + "[", "]");
+        for(int i = 0; i + 1 < properties.length; i += 2) joiner.add(properties[i] + "=" + properties[i + 1]);
+
+        return joiner.toString();
+    }
 }
@@ -0,0 +1,37 @@
+package fr.thesakyo.portfolioapi.helpers;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public abstract class ModificationHelper {
+
+    /***************************************************************************************************/
+    /*************   ⬇️    MÉTHODES UTILES EN RAPPORT AVEC LES MODIFICATIONS D'ENTITÉS  ⬇️   ***********/
+    /**************************************************************************************************/
+
+    /**
+     * En-tête de la réponse http indiquant si la requête de modification a réellement modifié l'entité ('true' ou 'false').
+     * Avec 'false', l'entité renvoyée est celle déjà enregistrée : rien n'a été écrit en base de données, ni invalidé dans le cache.
+     */
+    public static final String MODIFIED_HEADER = "X-Entity-Modified";
+
+    /********************************************************************************************/
+
+    /**
+     * Indique dans la réponse http en cours si l'entité demandée a réellement été modifiée (voir {@link #MODIFIED_HEADER}).
+     * Si aucune requête http n'est en cours, la méthode ne fait rien.
+     *
+     * @param isModified L'Entité a-t-elle été modifiée ?
+     *
+     * @return La valeur 'isModified' (pour pouvoir l'utiliser directement dans une condition).
+     */
+    public static boolean setModified(boolean isModified) {
+
+        // Récupère la réponse http en cours, si elle existe
+        HttpServletResponse response = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes ? attributes.getResponse() : null;
+
+        if(response != null) response.setHeader(MODIFIED_HEADER, String.valueOf(isModified));
+        return isModified;
+    }
+}
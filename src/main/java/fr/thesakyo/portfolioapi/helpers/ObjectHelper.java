@@ -1,15 +1,35 @@
 package fr.thesakyo.portfolioapi.helpers;
 
+import fr.thesakyo.portfolioapi.interfaces.IBaseEntity;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Objects;
-import java.util.Set;
+import java.lang.reflect.Modifier;
+import java.util.*;
 
 public abstract class ObjectHelper {
 
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    /**
+     * Accesseurs des attributs de chaque classe (attributs des classes parentes compris), construits une seule fois par classe.
+     */
+    private static final ClassValue<FieldAccessor[]> FIELD_ACCESSORS = new ClassValue<>() {
+
+        @Override
+        protected FieldAccessor[] computeValue(Class<?> type) { return createAccessors(type); }
+    };
+
+    /****************************************************************************************/
+    /*************   ⬇️    MÉTHODES UTILES EN RAPPORT AVEC LES OBJETS  ⬇️   ***************/
+    /***************************************************************************************/
+
     /**
-     * Compare deux objets pour voir s'ils ont les mêmes valeurs pour tous les attributs.
+     * Compare deux objets pour voir s'ils ont les mêmes valeurs pour tous les attributs (attributs des classes parentes compris).
+     * Les entités associées sont comparées par {@link Long identifiant}, et les collections d'entités par leurs {@link Long identifiant}s.
      *
      * @param obj1 Le premier objet.
      * @param obj2 Le deuxième objet.
@@ -19,9 +39,6 @@ public abstract class ObjectHelper {
      */
     public static boolean areObjectsIdentical(Object obj1, Object obj2, String ...fieldsToExclude) {
 
-        // On a converti les noms des champs à exclure en HashSet
-        Set<String> excludeFields = new HashSet<>(List.of(fieldsToExclude));
-
         // Si les deux objets sont null, ils sont identiques
         if(obj1 == null || obj2 == null) return obj1 == obj2;
 
@@ -30,36 +47,162 @@ public abstract class ObjectHelper {
 
         /***************************************************/
 
-        // On essaie de comparer les valeurs des attributs
-        try {
+        /**
+         * Pour chaque attribut de l'objet 1, on compare sa valeur avec celle de l'objet 2
+         */
+        for(FieldAccessor accessor : FIELD_ACCESSORS.get(obj1.getClass())) {
 
-            Field[] fields = obj1.getClass().getDeclaredFields(); // On récupère tous les attributs de l'objet 1
+            // Si le nom de l'attribut est dans la liste des champs à exclure, on passe au suivant
+            if(isExcluded(accessor.name(), fieldsToExclude)) continue;
 
-            /**
-             * Pour chaque attribut de l'objet 1, on compare sa valeur avec celle de l'objet 2
-             */
-            for(Field field : fields) {
+            // Les valeurs des attributs doivent être identiques, sinon on renvoie 'faux'
+            if(!Objects.equals(normalize(accessor.get(obj1)), normalize(accessor.get(obj2)))) return false;
+        }
 
-                // Si le nom de l'attribut est dans la liste des champs à exclure, on passe au suivant
-                if(!excludeFields.isEmpty() && excludeFields.contains(field.getName())) continue;
+        /***************************************************/
 
-                field.setAccessible(true); // On autorise l'accès à l'attribut
-                Object value1 = field.get(obj1); // On obtient la valeur de l'attribut de l'objet 1
-                Object value2 = field.get(obj2); // On obtient la valeur de l'attribut de l'objet 2
+        return true; // Renvoie 'vrai'
+    }
 
-                // Les valeurs des attributs doivent être identiques, sinon on renvoie 'faux'
-                if(!Objects.equals(value1, value2)) return false;
-            }
+    /**
+     * Compare deux valeurs d'attributs : les entités enregistrées sont comparées par {@link Long identifiant},
+     * et les collections d'entités par leurs {@link Long identifiant}s.
+     *
+     * @param value1 La première valeur.
+     * @param value2 La deuxième valeur.
+     *
+     * @return 'vrai' si les valeurs sont identiques, sinon 'faux'.
+     */
+    public static boolean areValuesEqual(Object value1, Object value2) { return Objects.equals(normalize(value1), normalize(value2)); }
 
-       // On capture l'exception en cas d'erreur
-        } catch(IllegalAccessException e) {
+    /**
+     * Prend un instantané des valeurs des attributs d'un objet, afin de savoir plus tard s'il a été modifié (voir {@link #hasChanged(Object, Object[], String...)}).
+     * Les collections sont copiées : une modification de la collection d'origine ne modifie donc pas l'instantané.
+     *
+     * @param object L'Objet cible.
+     * @param fieldsToExclude Les noms des champs à exclure de l'instantané (ex : les collections non chargées à ne pas charger).
+     *
+     * @return L'Instantané des valeurs des attributs de l'objet.
+     */
+    public static Object[] snapshot(Object object, String ...fieldsToExclude) {
+
+        FieldAccessor[] accessors = FIELD_ACCESSORS.get(object.getClass()); // Récupère les accesseurs des attributs de l'objet
+        Object[] values = new Object[accessors.length]; // Valeurs des attributs de l'objet
+
+        for(int i = 0; i < accessors.length; i++) if(!isExcluded(accessors[i].name(), fieldsToExclude)) values[i] = normalize(accessors[i].get(object));
+        return values; // Renvoie l'instantané
+    }
+
+    /**
+     * Vérifie si un objet a été modifié depuis un instantané de ses valeurs (voir {@link #snapshot(Object, String...)}).
+     *
+     * @param object L'Objet cible.
+     * @param snapshot L'Instantané des valeurs des attributs de l'objet.
+     * @param fieldsToExclude Les noms des champs à exclure de la comparaison (les mêmes que pour l'instantané).
+     *
+     * @return 'vrai' si au moins un attribut a été modifié depuis l'instantané, sinon 'faux'.
+     */
+    public static boolean hasChanged(Object object, Object[] snapshot, String ...fieldsToExclude) {
 
-            e.printStackTrace(System.err); // Renvoie une exception en cas d'erreur
-            return false; // Renvoie 'faux'
+        FieldAccessor[] accessors = FIELD_ACCESSORS.get(object.getClass()); // Récupère les accesseurs des attributs de l'objet
+
+        for(int i = 0; i < accessors.length; i++) {
+
+            // Si le nom de l'attribut est dans la liste des champs à exclure, on passe au suivant
+            if(isExcluded(accessors[i].name(), fieldsToExclude)) continue;
+
+            // Si la valeur de l'attribut est différente de celle de l'instantané, l'objet a été modifié
+            if(!Objects.equals(snapshot[i], normalize(accessors[i].get(object)))) return true;
         }
 
-        /***************************************************/
+        return false; // Renvoie 'faux'
+    }
 
-        return true; // Renvoie 'vrai'
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+
+    /**
+     * Construit les accesseurs de tous les attributs (non statiques et non transitoires) d'une classe et de ses classes parentes.
+     *
+     * @param type La {@link Class classe} cible.
+     *
+     * @return Les accesseurs des attributs de la classe.
+     */
+    private static FieldAccessor[] createAccessors(Class<?> type) {
+
+        List<FieldAccessor> accessors = new ArrayList<>();
+
+        for(Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+
+            try {
+
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup()); // Accès aux attributs privés de la classe
+
+                for(Field field : clazz.getDeclaredFields()) {
+
+                    // Ignore les constantes, les attributs générés et les attributs transitoires (ex : ceux ajoutés par l'amélioration du 'bytecode' Hibernate)
+                    if(Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) continue;
+                    accessors.add(new FieldAccessor(field.getName(), lookup.unreflectVarHandle(field)));
+                }
+
+            } catch(IllegalAccessException e) { throw new IllegalStateException("Impossible d'accéder aux attributs de " + clazz.getName(), e); }
+        }
+
+        return accessors.toArray(FieldAccessor[]::new);
     }
+
+    /**
+     * Vérifie si un nom de champ fait partie des champs à exclure.
+     *
+     * @param name Le nom du champ.
+     * @param fieldsToExclude Les noms des champs à exclure.
+     *
+     * @return 'vrai' si le champ est à exclure, sinon 'faux'.
+     */
+    private static boolean isExcluded(String name, String[] fieldsToExclude) {
+
+        for(String fieldToExclude : fieldsToExclude) if(fieldToExclude.equals(name)) return true;
+        return false;
+    }
+
+    /**
+     * Normalise une valeur pour la comparaison : une entité enregistrée devient une référence ({@link Long identifiant}),
+     * et une collection devient une copie de ses valeurs normalisées.
+     *
+     * @param value La valeur à normaliser.
+     *
+     * @return La valeur normalisée.
+     */
+    private static Object normalize(Object value) {
+
+        if(value instanceof IBaseEntity entity) return entity.getId() != null ? new EntityReference(entity.getId()) : entity; // Une entité non enregistrée est comparée par instance
+        if(value instanceof List<?> list) return list.stream().map(ObjectHelper::normalize).toList();
+        if(value instanceof Collection<?> collection) { Set<Object> set = new HashSet<>(); collection.forEach(element -> set.add(normalize(element))); return set; }
+
+        return value;
+    }
+
+    /*********************************************************************/
+
+    /**
+     * Accesseur d'un attribut.
+     *
+     * @param name Le nom de l'attribut.
+     * @param handle Le {@link VarHandle} de l'attribut.
+     */
+    private record FieldAccessor(String name, VarHandle handle) {
+
+        /**
+         * Récupère la valeur de l'attribut d'un objet.
+         */
+        private Object get(Object object) { return handle.get(object); }
+    }
+
+    /**
+     * Référence à une entité, comparée par {@link Long identifiant}.
+     *
+     * @param id L'{@link Long identifiant} de l'entité.
+     */
+    private record EntityReference(Long id) {}
 }
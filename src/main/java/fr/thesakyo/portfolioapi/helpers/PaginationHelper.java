@@ -0,0 +1,101 @@
+package fr.thesakyo.portfolioapi.helpers;
+
+import fr.thesakyo.portfolioapi.models.entities.BaseEntity;
+import fr.thesakyo.portfolioapi.payloads.responses.PageResponse;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.Function;
+
+public abstract class PaginationHelper {
+
+    /**************************************************************************************/
+    /*************   ⬇️    MÉTHODES UTILES EN RAPPORT AVEC LA PAGINATION  ⬇️   ***********/
+    /*************************************************************************************/
+
+    /**
+     * Nombre d'éléments renvoyé par défaut dans une page.
+     */
+    public static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * Nombre maximal d'éléments pouvant être demandé dans une page.
+     */
+    public static final int MAX_LIMIT = 100;
+
+    /********************************************************************************************/
+
+    /**
+     * Récupère le nombre d'éléments à renvoyer dans une page, borné entre 1 et {@link #MAX_LIMIT}.
+     *
+     * @param limit Le nombre d'éléments demandé (si nécessaire).
+     *
+     * @return Le nombre d'éléments à renvoyer dans la page.
+     */
+    public static int getLimit(Integer limit) {
+
+        if(limit == null || limit <= 0) return DEFAULT_LIMIT; // Si aucune limite valide n'est demandée, on renvoie la limite par défaut
+        return Math.min(limit, MAX_LIMIT); // Sinon, on renvoie la limite demandée sans dépasser la limite maximale
+    }
+
+    /**
+     * Récupère le curseur à partir duquel les éléments doivent être récupérés.
+     *
+     * @param after L'{@link Long identifiant} du dernier élément déjà récupéré (si nécessaire).
+     *
+     * @return Le {@link Long curseur} à utiliser dans la requête ('0' pour la première page).
+     */
+    public static Long getCursor(Long after) { return after == null || after < 0 ? 0L : after; }
+
+    /**
+     * Récupère la {@link Limit limite} à passer au référentiel pour une page.
+     * Un élément supplémentaire est demandé afin de savoir s'il existe une page suivante, sans requête de comptage.
+     *
+     * @param limit Le nombre d'éléments à renvoyer dans la page.
+     *
+     * @return La {@link Limit limite} à passer au référentiel.
+     */
+    public static Limit getQueryLimit(int limit) { return Limit.of(limit + 1); }
+
+    /**
+     * Construit une {@link PageResponse page} à partir des {@link BaseEntity entité}s récupérées par une requête de curseur.
+     *
+     * @param entities La {@link List liste} des {@link BaseEntity entité}s récupérées (triées par identifiant, avec un élément supplémentaire au maximum).
+     * @param limit Le nombre d'éléments à renvoyer dans la page.
+     * @param converter La fonction de conversion des {@link BaseEntity entité}s de la page.
+     *
+     * @param <E> Spécifie le type des {@link BaseEntity entité}s.
+     * @param <T> Spécifie le type des éléments de la page.
+     *
+     * @return Une {@link PageResponse page} avec le curseur de la page suivante.
+     */
+    public static <E extends BaseEntity, T> PageResponse<T> toPage(List<E> entities, int limit, Function<List<E>, List<T>> converter) {
+
+        return toPage(entities, limit, BaseEntity::getId, converter);
+    }
+
+    /**
+     * Construit une {@link PageResponse page} à partir des éléments récupérés par une requête de curseur (ex : une projection).
+     *
+     * @param elements La {@link List liste} des éléments récupérés (triés par identifiant, avec un élément supplémentaire au maximum).
+     * @param limit Le nombre d'éléments à renvoyer dans la page.
+     * @param idGetter La fonction de récupération de l'{@link Long identifiant} d'un élément.
+     * @param converter La fonction de conversion des éléments de la page.
+     *
+     * @param <E> Spécifie le type des éléments récupérés.
+     * @param <T> Spécifie le type des éléments de la page.
+     *
+     * @return Une {@link PageResponse page} avec le curseur de la page suivante.
+     */
+    public static <E, T> PageResponse<T> toPage(List<E> elements, int limit, Function<E, Long> idGetter, Function<List<E>, List<T>> converter) {
+
+        boolean hasNext = elements.size() > limit; // Vérifie si un élément supplémentaire a été récupéré
+        List<E> pageEntities = hasNext ? elements.subList(0, limit) : elements; // Récupère uniquement les éléments de la page
+
+        /**************************************/
+
+        // Récupère le curseur de la page suivante (l'identifiant du dernier élément de la page), s'il y en a une
+        Long nextCursor = hasNext ? idGetter.apply(pageEntities.getLast()) : null;
+        return new PageResponse<>(converter.apply(pageEntities), nextCursor, limit); // Renvoie la page
+    }
+}
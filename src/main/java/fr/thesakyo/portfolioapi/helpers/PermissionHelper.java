@@ -6,9 +6,13 @@ import fr.thesakyo.portfolioapi.models.entities.User;
 import fr.thesakyo.portfolioapi.models.entities.Project;
 
 import fr.thesakyo.portfolioapi.enums.ERole;
-import fr.thesakyo.portfolioapi.repositories.UserRepository;
+import fr.thesakyo.portfolioapi.security.LoggedUser;
 import fr.thesakyo.portfolioapi.security.UserConnection;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 public abstract class PermissionHelper {
 
     /****************************************************************************************/
@@ -25,6 +29,7 @@ public abstract class PermissionHelper {
     /**
      * Vérifie si l'{@link User utilisateur} connecté à le {@link Role rôle} dont il est question.
      * Si l'utilisateur n'est pas vérifié, la fonction renvoie 'faux'.
+     * La vérification se fait sur le masque des rôles de l'utilisateur authentifié, sans accès à la base de données.
      *
      * @param targetRole Le {@link Role rôle} à vérifier.
      *
@@ -32,13 +37,13 @@ public abstract class PermissionHelper {
      */
     public static boolean userHasRole(ERole targetRole) {
 
-        if(UserConnection.getUserLogged() == null) return false;
-        return UserConnection.getUserLogged().getVerificationEnabled() &&
-                UserConnection.getUserLogged().getRoles().stream().anyMatch(role -> role.getName().equals(targetRole));
+        LoggedUser loggedUser = UserConnection.getLoggedUser(); // Récupère l'utilisateur connecté à la requête http en cours
+        return loggedUser != null && loggedUser.isVerified() && loggedUser.hasRole(targetRole);
     }
 
     /**
      * Vérifie si l'{@link User utilisateur} connecté à le {@link Project projet} dont il est question.
+     * La vérification se fait par une requête d'existence (une seule fois par projet et par requête http), sans charger ses projets.
      *
      * @param targetProject Le {@link Project projet} à vérifier.
      *
@@ -46,21 +51,52 @@ public abstract class PermissionHelper {
      */
     public static boolean userHasProjectPermission(Project targetProject) {
 
-        if(UserConnection.getUserLogged() == null) return false;
-        return UserConnection.getUserLogged().getProjects().contains(targetProject) || userHasRole(ERole.ROLE_SUPERADMIN);
+        LoggedUser loggedUser = UserConnection.getLoggedUser(); // Récupère l'utilisateur connecté à la requête http en cours
+        if(loggedUser == null) return false;
+
+        return userHasRole(ERole.ROLE_SUPERADMIN) || loggedUser.ownsProject(targetProject.getId());
+    }
+
+    /**
+     * Filtre les {@link Project projet}s dont l'{@link User utilisateur} connecté a la permission.
+     * Les identifiants des projets de l'utilisateur sont chargés en une seule requête, quel que soit le nombre de projets à filtrer.
+     *
+     * @param targetProjects Les {@link Project projet}s à filtrer.
+     *
+     * @return Une {@link Set liste} des {@link Project projet}s dont l'{@link User utilisateur} connecté a la permission.
+     */
+    public static Set<Project> filterProjectsWithPermission(Collection<Project> targetProjects) {
+
+        LoggedUser loggedUser = UserConnection.getLoggedUser(); // Récupère l'utilisateur connecté à la requête http en cours
+        if(loggedUser == null) return Set.of();
+
+        if(!userHasRole(ERole.ROLE_SUPERADMIN) && targetProjects.size() > 1) loggedUser.preloadOwnedProjects(); // Une requête pour tous les projets
+        return targetProjects.stream().filter(PermissionHelper::userHasProjectPermission).collect(Collectors.toSet());
     }
 
     /**
      * Vérifie si l'{@link User utilisateur} connecté à le {@link Language langage} dont il est question dans ses {@link Project projet}s associés.
+     * La vérification se fait par une requête d'existence (une seule fois par langage et par requête http).
      *
      * @param targetLanguage Le {@link Language langage} à vérifier.
-     * @param userRepository Le {@link UserRepository référentiel de l'utilisateur} pour rechercher en base de données les correspondances.
      *
      * @return Une valeur booléenne vérifiant si l'{@link User utilisateur} connecté à le {@link Language langage} demandé dans ses {@link Project projet}s associés.
      */
-    public static boolean userHasLanguageInProjetsPermission(Language targetLanguage, UserRepository userRepository) {
+    public static boolean userHasLanguageInProjetsPermission(Language targetLanguage) {
+
+        LoggedUser loggedUser = UserConnection.getLoggedUser(); // Récupère l'utilisateur connecté à la requête http en cours
+        if(loggedUser == null) return false;
+
+        return userHasRole(ERole.ROLE_SUPERADMIN) || loggedUser.ownsLanguage(targetLanguage.getId());
+    }
+
+    /**
+     * Oublie les permissions de possession déjà vérifiées pour l'{@link User utilisateur} connecté au cours de la requête http
+     * (à appeler après avoir modifié les associations entre {@link Project projet}s et {@link Language langage}s).
+     */
+    public static void forgetOwnershipPermissions() {
 
-        if(UserConnection.getUserLogged() == null) return false;
-        return userRepository.existsByIdAndLanguageIdInProjects(UserConnection.getUserLogged().getId(), targetLanguage.getId()) || userHasRole(ERole.ROLE_SUPERADMIN);
+        LoggedUser loggedUser = UserConnection.getLoggedUser(); // Récupère l'utilisateur connecté à la requête http en cours
+        if(loggedUser != null) loggedUser.forgetOwnerships();
     }
 }
@@ -1,6 +1,10 @@
 package fr.thesakyo.portfolioapi.helpers;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 public abstract class StrHelper {
@@ -47,4 +51,67 @@ public abstract class StrHelper {
 
         return combinedArray; // Renvoie le tableau combiné.
     }
+
+    /**
+     * Lit un enregistrement CSV (champs séparés par des virgules, éventuellement entre guillemets doubles) depuis un {@link BufferedReader lecteur}.
+     * Un champ entre guillemets peut contenir des virgules, des retours à la ligne et des guillemets doublés ('""').
+     * Seul l'enregistrement en cours est gardé en mémoire, et sa taille est bornée : un guillemet jamais fermé ne peut donc pas
+     * faire lire le reste du flux dans un seul enregistrement. Si la taille maximale est dépassée, la lecture reprend à la ligne suivante.
+     *
+     * @param reader Le {@link BufferedReader lecteur} cible.
+     * @param maxLength Le nombre maximal de caractères de l'enregistrement (toutes lignes confondues).
+     *
+     * @return Une {@link List liste} des {@link String champ}s de l'enregistrement, ou 'null' si la fin du flux est atteinte.
+     *
+     * @throws IOException Si une erreur de lecture survient.
+     * @throws IllegalArgumentException Si l'enregistrement dépasse la taille maximale.
+     */
+    public static List<String> readCsvRecord(BufferedReader reader, int maxLength) throws IOException {
+
+        String line = reader.readLine(); // Lit la première ligne de l'enregistrement
+        if(line == null) return null; // Si la fin du flux est atteinte, il n'y a plus d'enregistrement
+
+        /********************/
+
+        List<String> fields = new ArrayList<>(); // Champs de l'enregistrement
+        StringBuilder field = new StringBuilder(); // Champ en cours de lecture
+        boolean isQuoted = false; // Le champ en cours est-il entre guillemets ?
+        int length = 0; // Nombre de caractères déjà lus pour l'enregistrement
+
+        while(true) {
+
+            // Si l'enregistrement est trop long (ex : un guillemet jamais fermé), on arrête sa lecture
+            length += line.length();
+            if(length > maxLength) throw new IllegalArgumentException("Enregistrement CSV trop long (plus de " + maxLength + " caractères) : un guillemet n'est peut-être pas fermé.");
+
+            for(int i = 0; i < line.length(); i++) {
+
+                char character = line.charAt(i);
+
+                if(isQuoted) {
+
+                    // Un guillemet doublé est un guillemet littéral, sinon il ferme le champ
+                    if(character == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') { field.append('"'); i++; }
+                    else if(character == '"') isQuoted = false;
+                    else field.append(character);
+
+                } else if(character == '"') isQuoted = true;
+                else if(character == ',') { fields.add(field.toString()); field.setLength(0); }
+                else field.append(character);
+            }
+
+            if(!isQuoted) break; // Si aucun champ n'est ouvert, l'enregistrement est terminé
+
+            // Sinon, le champ entre guillemets continue sur la ligne suivante
+            line = reader.readLine();
+            if(line == null) break;
+
+            field.append('\n');
+        }
+
+        /********************/
+
+        fields.add(field.toString()); // Ajoute le dernier champ
+        return fields; // Renvoie les champs de l'enregistrement
+    }
 }
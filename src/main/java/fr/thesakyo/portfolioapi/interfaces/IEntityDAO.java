@@ -1,5 +1,7 @@
 package fr.thesakyo.portfolioapi.interfaces;
 
+import fr.thesakyo.portfolioapi.models.DTO.ConversionContext;
+
 public interface IEntityDAO<E extends IBaseEntity, DTO extends IEntityDAO<E, DTO>> {
 
     /**
@@ -19,4 +21,15 @@ public interface IEntityDAO<E extends IBaseEntity, DTO extends IEntityDAO<E, DTO
      * @return Un {@link IEntityDAO objet DAO} converti en fonction de son {@link IBaseEntity entité} concerné.
      */
     DTO convert(E entity);
+
+    /**
+     * Converti une {@link IBaseEntity entité} en son {@link IEntityDAO objet DAO} concerné, au sein d'un {@link ConversionContext contexte de conversion}
+     * (chaque entité n'est convertie qu'une seule fois et la profondeur des associations est limitée).
+     *
+     * @param entity L'{@link IBaseEntity Entité} en question.
+     * @param context Le {@link ConversionContext contexte de conversion} en cours.
+     *
+     * @return Un {@link IEntityDAO objet DAO} converti en fonction de son {@link IBaseEntity entité} concerné.
+     */
+    DTO convert(E entity, ConversionContext context);
 }
@@ -47,8 +47,14 @@ public abstract class BaseEntityDTO<E extends BaseEntity, DTO extends BaseEntity
     /**************   ⬇️    AUTRES MÉTHODES    ⬇️   **************/
     /*************************************************************/
 
+    @Override
+    @JsonIgnore
+    @SuppressWarnings("unchecked")
+    public DTO convert(E entity) { return new ConversionContext().convert((DTO)this, entity); }
+
+    @Override
     @JsonIgnore
-    public abstract DTO convert(E entity);
+    public abstract DTO convert(E entity, ConversionContext context);
 
     /******************************************************************************************************************/
     /******************************************************************************************************************/
@@ -0,0 +1,271 @@
+package fr.thesakyo.portfolioapi.models.DTO;
+
+import fr.thesakyo.portfolioapi.interfaces.IBaseEntity;
+import fr.thesakyo.portfolioapi.interfaces.IEntityDAO;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+public class ConversionContext {
+
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    public static final int DEFAULT_MAX_DEPTH = 1; // Profondeur maximale par défaut (les associations de l'entité convertie, sans leurs propres associations).
+
+    /*******************************/
+
+    private final int maxDepth; // Nombre maximal d'associations successives à convertir depuis l'entité d'origine.
+
+    private int depth = 0; // Profondeur actuelle de la conversion.
+
+    private final ResponseShape shape; // Forme de réponse demandée pour les entités d'origine (champs et associations).
+
+    private boolean isShaping = false; // L'entité en cours de conversion est-elle une entité d'origine à mettre en forme ?
+
+    private boolean isLoadingLazyFields = false; // Les champs chargés à la demande (ex : le détail d'un projet) sont-ils convertis pour l'entité d'origine ?
+
+    private final Map<IBaseEntity, ConvertedEntry> convertedEntities = new IdentityHashMap<>(); // Entités déjà converties (par identité) → 'DTO' correspondant.
+
+    private final Set<IBaseEntity> entitiesInProgress = Collections.newSetFromMap(new IdentityHashMap<>()); // Entités en cours de conversion (permet de détecter les cycles).
+
+    /*****************************************************************/
+    /*****************    ⬇️   CONSTRUCTEUR    ⬇️   *****************/
+    /****************************************************************/
+
+    /**
+     * Construit un nouveau {@link ConversionContext contexte de conversion} avec la profondeur maximale par défaut.
+     */
+    public ConversionContext() { this(DEFAULT_MAX_DEPTH); }
+
+    /**
+     * Construit un nouveau {@link ConversionContext contexte de conversion}.
+     *
+     * @param maxDepth Nombre maximal d'associations successives à convertir depuis l'entité d'origine.
+     */
+    public ConversionContext(int maxDepth) { this(maxDepth, ResponseShape.FULL); }
+
+    /**
+     * Construit un nouveau {@link ConversionContext contexte de conversion}.
+     *
+     * @param maxDepth Nombre maximal d'associations successives à convertir depuis l'entité d'origine.
+     * @param shape La {@link ResponseShape forme de réponse} demandée pour les entités d'origine.
+     */
+    public ConversionContext(int maxDepth, ResponseShape shape) {
+
+        this.maxDepth = Math.max(0, maxDepth);
+        this.shape = shape == null ? ResponseShape.FULL : shape;
+    }
+
+    /**
+     * Active la conversion des champs chargés à la demande (ex : le détail d'un projet) pour l'entité d'origine.
+     * À n'utiliser que pour la conversion d'une seule entité : chaque champ lu nécessite une requête supplémentaire.
+     *
+     * @return Ce {@link ConversionContext contexte de conversion}.
+     */
+    public ConversionContext withLazyFields() {
+
+        this.isLoadingLazyFields = true;
+        return this;
+    }
+
+    /********************************************************************/
+    /**************   ⬇️    MÉTHODES DE CONVERSION   ⬇️   **************/
+    /*******************************************************************/
+
+    /**
+     * Converti une {@link IBaseEntity entité} en un '{@link IEntityDAO DTO}', en réutilisant le '{@link IEntityDAO DTO}'
+     * déjà construit si l'{@link IBaseEntity entité} a déjà été convertie dans ce contexte.
+     *
+     * @param dto Une instance de {@link IEntityDAO} pour la conversion.
+     *            (Utiliser une instance correspondante à l'entité à convertir)
+     * @param entity L'{@link IBaseEntity entité} à convertir.
+     *
+     * @param <E> Spécifie le type de l'{@link IBaseEntity entité}.
+     * @param <DTO> Spécifie le type du {@link IEntityDAO DTO}.
+     *
+     * @return Le '{@link IEntityDAO DTO}' de l'{@link IBaseEntity entité}, ou 'null' si l'{@link IBaseEntity entité} est 'null'.
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends IBaseEntity, DTO extends IEntityDAO<E, DTO>> DTO convert(DTO dto, E entity) {
+
+        if(entity == null) return null; // Si l'entité est 'null', il n'y a rien à convertir
+
+        boolean isCycle = entitiesInProgress.contains(entity); // Vérifie si l'entité est déjà en cours de conversion plus haut dans le graphe
+        boolean isExpanded = !isCycle && depth < maxDepth; // Vérifie si les associations de l'entité seront converties
+        boolean isShaped = depth == 0 && !shape.isFull(); // Vérifie si l'entité d'origine doit être mise en forme (champs et associations demandés)
+
+        /**************************************/
+
+        // Si l'entité a déjà été convertie avec au moins autant d'associations (et la même forme), on renvoie directement son 'DTO'
+        ConvertedEntry convertedEntry = convertedEntities.get(entity);
+        if(convertedEntry != null && convertedEntry.isShaped() == isShaped && (convertedEntry.isExpanded() || !isExpanded)) return (DTO)convertedEntry.dto();
+
+        /**************************************/
+
+        int previousDepth = depth; // Sauvegarde la profondeur actuelle
+        boolean previousShaping = isShaping; // Sauvegarde la mise en forme actuelle
+
+        isShaping = isShaped; // Seule l'entité d'origine est mise en forme, jamais ses associations
+
+        // Si l'entité forme un cycle, on la convertit sans ses associations (profondeur maximale dépassée)
+        depth = isCycle ? maxDepth + 1 : depth + 1;
+        if(!isCycle) entitiesInProgress.add(entity); // Marque l'entité comme étant en cours de conversion
+
+        DTO convertedDTO;
+
+        try { convertedDTO = dto.convert(entity, this); } // Convertit l'entité
+
+        finally {
+
+            depth = previousDepth; // Restaure la profondeur précédente
+            isShaping = previousShaping; // Restaure la mise en forme précédente
+            if(!isCycle) entitiesInProgress.remove(entity); // L'Entité n'est plus en cours de conversion
+        }
+
+        /**************************************/
+
+        // Mémorise le 'DTO' converti pour les prochaines occurrences de l'entité (hors cycle)
+        if(!isCycle) convertedEntities.put(entity, new ConvertedEntry(convertedDTO, isExpanded, isShaped));
+        return convertedDTO; // Renvoie le 'DTO' converti
+    }
+
+    /**
+     * Converti une association d'une {@link IBaseEntity entité} en un '{@link IEntityDAO DTO}', si la profondeur maximale le permet.
+     *
+     * @param dto Une instance de {@link IEntityDAO} pour la conversion.
+     * @param entity L'{@link IBaseEntity entité} associée à convertir.
+     *
+     * @param <E> Spécifie le type de l'{@link IBaseEntity entité}.
+     * @param <DTO> Spécifie le type du {@link IEntityDAO DTO}.
+     *
+     * @return Le '{@link IEntityDAO DTO}' de l'{@link IBaseEntity entité} associée, ou 'null' si la profondeur maximale est atteinte.
+     */
+    public <E extends IBaseEntity, DTO extends IEntityDAO<E, DTO>> DTO convertAssociation(DTO dto, E entity) {
+
+        return canExpand() ? convert(dto, entity) : null;
+    }
+
+    /**
+     * Converti une {@link Collection liste} d'associations d'une {@link IBaseEntity entité} en '{@link IEntityDAO DTO}'s,
+     * si la profondeur maximale le permet.
+     *
+     * @param dto Une instance de {@link IEntityDAO} pour la conversion.
+     * @param entities La {@link Collection liste} d'{@link IBaseEntity entité}s associées à convertir.
+     *
+     * @param <E> Spécifie le type des {@link IBaseEntity entité}s.
+     * @param <DTO> Spécifie le type du {@link IEntityDAO DTO}.
+     *
+     * @return Une {@link Set liste} des '{@link IEntityDAO DTO}'s (vide si la profondeur maximale est atteinte).
+     */
+    public <E extends IBaseEntity, DTO extends IEntityDAO<E, DTO>> Set<DTO> convertAssociations(DTO dto, Collection<E> entities) {
+
+        if(!canExpand()) return new HashSet<>(); // Si la profondeur maximale est atteinte, les associations ne sont pas converties
+        return convertAll(dto, entities); // Sinon, on convertit les associations
+    }
+
+    /**
+     * Converti une {@link Collection liste} d'{@link IBaseEntity entité}s en '{@link IEntityDAO DTO}'s, quelle que soit la profondeur.
+     * À utiliser pour les entités racines ou les entités sans association (ex : les rôles).
+     *
+     * @param dto Une instance de {@link IEntityDAO} pour la conversion.
+     * @param entities La {@link Collection liste} d'{@link IBaseEntity entité}s à convertir.
+     *
+     * @param <E> Spécifie le type des {@link IBaseEntity entité}s.
+     * @param <DTO> Spécifie le type du {@link IEntityDAO DTO}.
+     *
+     * @return Une {@link Set liste} des '{@link IEntityDAO DTO}'s.
+     */
+    public <E extends IBaseEntity, DTO extends IEntityDAO<E, DTO>> Set<DTO> convertAll(DTO dto, Collection<E> entities) {
+
+        Set<DTO> convertedDTOs = new HashSet<>(); // Liste des 'DTO's convertis
+        if(entities == null || entities.isEmpty()) return convertedDTOs; // S'il n'y a aucune entité, on renvoie une liste vide
+
+        /**************************************/
+
+        for(E entity : entities) {
+
+            DTO convertedDTO = convert(dto, entity); // Convertit l'entité
+            if(convertedDTO != null) convertedDTOs.add(convertedDTO); // Ajoute le 'DTO' à la liste, s'il existe
+        }
+
+        return convertedDTOs; // Renvoie la liste des 'DTO's convertis
+    }
+
+    /*********************************************************************/
+
+    /**
+     * Vérifie si les associations de l'{@link IBaseEntity entité} en cours de conversion peuvent être converties.
+     *
+     * @return Une valeur booléenne ('true' ou 'false').
+     */
+    public boolean canExpand() { return depth <= maxDepth; }
+
+    /**
+     * Vérifie si un champ de l'{@link IBaseEntity entité} en cours de conversion est demandé
+     * (toujours vrai, sauf pour une entité d'origine mise en forme par une {@link ResponseShape forme de réponse}).
+     *
+     * @param field Le nom du champ.
+     *
+     * @return Une valeur booléenne ('true' ou 'false').
+     */
+    public boolean isRequested(String field) { return !isShaping || shape.includes(field); }
+
+    /**
+     * Vérifie si une association de l'{@link IBaseEntity entité} en cours de conversion est demandée
+     * (toujours vrai, sauf pour une entité d'origine mise en forme par une {@link ResponseShape forme de réponse}).
+     *
+     * @param association Le nom de l'association.
+     *
+     * @return Une valeur booléenne ('true' ou 'false').
+     */
+    public boolean isExpandRequested(String association) { return !isShaping || shape.expands(association); }
+
+    /**
+     * Récupère la valeur d'un champ de l'{@link IBaseEntity entité} en cours de conversion, uniquement s'il est demandé
+     * (la valeur n'est donc jamais lue pour un champ non demandé).
+     *
+     * @param field Le nom du champ.
+     * @param getter La fonction de récupération de la valeur du champ.
+     *
+     * @param <T> Spécifie le type de la valeur.
+     *
+     * @return La valeur du champ, ou 'null' s'il n'est pas demandé.
+     */
+    public <T> T ifRequested(String field, Supplier<T> getter) { return isRequested(field) ? getter.get() : null; }
+
+    /**
+     * Récupère la valeur d'un champ chargé à la demande (ex : le détail d'un projet), uniquement pour l'entité d'origine,
+     * si le {@link ConversionContext contexte} le permet (voir {@link #withLazyFields()}) et si le champ est demandé.
+     * Le champ n'est donc jamais chargé pour une liste d'entités, ni pour les entités associées.
+     *
+     * @param field Le nom du champ.
+     * @param getter La fonction de récupération de la valeur du champ.
+     *
+     * @param <T> Spécifie le type de la valeur.
+     *
+     * @return La valeur du champ, ou 'null' s'il n'est pas chargé.
+     */
+    public <T> T ifLazyRequested(String field, Supplier<T> getter) { return isLoadingLazyFields && depth == 1 ? ifRequested(field, getter) : null; }
+
+    /**
+     * Récupère le nombre maximal d'associations successives à convertir depuis l'entité d'origine.
+     *
+     * @return Le nombre maximal d'associations successives à convertir.
+     */
+    public int getMaxDepth() { return maxDepth; }
+
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+
+    /**
+     * '{@link IEntityDAO DTO}' déjà converti dans le contexte.
+     *
+     * @param dto Le '{@link IEntityDAO DTO}' converti.
+     * @param isExpanded Les associations de l'{@link IBaseEntity entité} ont-elles été converties ?
+     * @param isShaped L'{@link IBaseEntity entité} a-t-elle été mise en forme par une {@link ResponseShape forme de réponse} ?
+     */
+    private record ConvertedEntry(Object dto, boolean isExpanded, boolean isShaped) {}
+}
@@ -5,15 +5,12 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import fr.thesakyo.portfolioapi.enums.EStack;
 import fr.thesakyo.portfolioapi.helpers.MapperHelper;
 import fr.thesakyo.portfolioapi.models.entities.Language;
-import fr.thesakyo.portfolioapi.models.entities.Project;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 
 import java.io.Serializable;
-import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class LanguageDTO extends BaseEntityDTO<Language, LanguageDTO> implements Serializable {
 
@@ -86,18 +83,14 @@ public class LanguageDTO extends BaseEntityDTO<Language, LanguageDTO> implements
 
     @Override
     @JsonIgnore
-    public LanguageDTO convert(Language language) {
+    public LanguageDTO convert(Language language, ConversionContext context) {
 
-        Set<Project> projectsLanguage = language.getProjects();
-        Set<ProjectDTO> projectsDTO = new HashSet<>();
+        // Convertit les projets associés au langage (s'ils sont demandés et si la profondeur de conversion le permet)
+        Set<ProjectDTO> projectsDTO = context.isExpandRequested("projects") ? context.convertAssociations(new ProjectDTO(), language.getProjects()) : null;
 
         /****************************************************************/
 
-        if(projectsLanguage != null && !projectsLanguage.isEmpty()) projectsDTO = projectsLanguage.stream().map(new ProjectDTO()::convert).collect(Collectors.toSet());
-
-        /****************************************************************/
-
-        return new LanguageDTO(language.getId(), language.getLabel(), language.getStack(), projectsDTO);
+        return new LanguageDTO(language.getId(), context.ifRequested("label", language::getLabel), context.ifRequested("stack", language::getStack), projectsDTO);
     }
 
 
@@ -3,15 +3,12 @@ package fr.thesakyo.portfolioapi.models.DTO;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import fr.thesakyo.portfolioapi.helpers.MapperHelper;
-import fr.thesakyo.portfolioapi.models.entities.Language;
 import fr.thesakyo.portfolioapi.models.entities.Project;
 import fr.thesakyo.portfolioapi.models.entities.User;
 import jakarta.annotation.Nullable;
 
 import java.io.Serializable;
-import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class ProjectDTO extends BaseEntityDTO<Project, ProjectDTO> implements Serializable {
 
@@ -106,27 +103,28 @@ public class ProjectDTO extends BaseEntityDTO<Project, ProjectDTO> implements Se
 
     @Override
     @JsonIgnore
-    public ProjectDTO convert(Project project) {
+    public ProjectDTO convert(Project project, ConversionContext context) {
 
-        Set<Language> languagesProject = project.getLanguages();
-
-        Set<LanguageDTO> languagesDTO = new HashSet<>();
-        UserDTO userDTO = null;
-
-        /****************************************************************/
-
-
-        if(project.getUser() != null) userDTO = new UserDTO().convert(project.getUser());
-        if(languagesProject != null && !languagesProject.isEmpty()) {
-
-            languagesDTO = languagesProject.stream().map(new LanguageDTO()::convert).collect(Collectors.toSet());
-        }
+        // Convertit l'utilisateur et les langages associés au projet (s'ils sont demandés et si la profondeur de conversion le permet)
+        UserDTO userDTO = context.isExpandRequested("user") ? context.convertAssociation(new UserDTO(), project.getUser()) : null;
+        Set<LanguageDTO> languagesDTO = context.isExpandRequested("languages") ? context.convertAssociations(new LanguageDTO(), project.getLanguages()) : null;
 
         /****************************************************************/
 
-        return new ProjectDTO(project.getId(), project.getTitle(), project.getDetail(), project.getLink(), userDTO, languagesDTO);
+        return new ProjectDTO(project.getId(), context.ifRequested("title", project::getTitle), context.ifLazyRequested("detail", project::getDetail),
+                context.ifRequested("link", project::getLink), userDTO, languagesDTO);
     }
 
+    /**
+     * Construit une copie du '{@link ProjectDTO projet}' avec le détail demandé
+     * (le détail étant chargé à la demande, il est récupéré à part pour une liste de projets).
+     *
+     * @param detail Le {@link String détail} du {@link ProjectDTO projet}.
+     *
+     * @return Une copie du '{@link ProjectDTO projet}' avec son détail.
+     */
+    public ProjectDTO withDetail(String detail) { return new ProjectDTO(getId(), title, detail, link, user, languages); }
+
     /************************************************************************************/
     /************************************************************************************/
 
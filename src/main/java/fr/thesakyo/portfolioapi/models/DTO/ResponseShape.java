@@ -0,0 +1,149 @@
+package fr.thesakyo.portfolioapi.models.DTO;
+
+import org.apache.logging.log4j.util.Strings;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class ResponseShape {
+
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    public static final ResponseShape FULL = new ResponseShape(null, null); // Forme complète (tous les champs, toutes les associations).
+
+    public static final String ID_FIELD = "id"; // Champ toujours renvoyé, quelle que soit la forme demandée.
+
+    /*******************************/
+
+    private final Set<String> fields; // Champs demandés pour l'entité d'origine ('null' : tous les champs).
+
+    private final Set<String> expand; // Associations demandées pour l'entité d'origine ('null' : celles des champs demandés).
+
+    /*****************************************************************/
+    /*****************    ⬇️   CONSTRUCTEUR    ⬇️   *****************/
+    /****************************************************************/
+
+    /**
+     * Construit une nouvelle {@link ResponseShape forme de réponse}.
+     *
+     * @param fields Les champs demandés pour l'entité d'origine ('null' : tous les champs).
+     * @param expand Les associations demandées pour l'entité d'origine ('null' : celles des champs demandés).
+     */
+    private ResponseShape(Set<String> fields, Set<String> expand) {
+
+        this.fields = fields == null ? null : Collections.unmodifiableSet(fields);
+        this.expand = expand == null ? null : Collections.unmodifiableSet(expand);
+    }
+
+    /**
+     * Construit une {@link ResponseShape forme de réponse} depuis les paramètres de requête '?fields=' et '?expand='
+     * (ex : '?fields=id,title,link&expand=languages').
+     *
+     * @param fields Les champs demandés, séparés par une virgule (si nécessaire).
+     * @param expand Les associations demandées, séparées par une virgule (si nécessaire).
+     *
+     * @return La {@link ResponseShape forme de réponse} demandée, ou {@link #FULL} si aucun paramètre n'est défini.
+     */
+    public static ResponseShape of(String fields, String expand) {
+
+        Set<String> requestedFields = parse(fields); // Récupère les champs demandés
+        Set<String> requestedExpand = parse(expand); // Récupère les associations demandées
+
+        /**************************************/
+
+        // Si aucun champ ni aucune association n'est demandé, la forme complète est renvoyée
+        if(requestedFields == null && requestedExpand == null) return FULL;
+        return new ResponseShape(requestedFields, requestedExpand);
+    }
+
+    /**************************************************************/
+    /**************   ⬇️    AUTRES MÉTHODES    ⬇️   **************/
+    /*************************************************************/
+
+    /**
+     * Vérifie si un champ de l'entité d'origine est demandé (l'{@link Long identifiant} l'est toujours).
+     *
+     * @param field Le nom du champ.
+     *
+     * @return Une valeur booléenne ('true' ou 'false').
+     */
+    public boolean includes(String field) { return fields == null || ID_FIELD.equals(field) || fields.contains(field); }
+
+    /**
+     * Vérifie si un champ de l'entité d'origine est explicitement demandé par '?fields=' (ex : un champ chargé à la demande pour une liste).
+     *
+     * @param field Le nom du champ.
+     *
+     * @return Une valeur booléenne ('true' ou 'false').
+     */
+    public boolean requests(String field) { return fields != null && fields.contains(field); }
+
+    /**
+     * Vérifie si une association de l'entité d'origine est demandée : soit par '?expand=', soit par '?fields=',
+     * soit par défaut si aucun des deux n'est défini.
+     *
+     * @param association Le nom de l'association.
+     *
+     * @return Une valeur booléenne ('true' ou 'false').
+     */
+    public boolean expands(String association) {
+
+        if(expand != null && expand.contains(association)) return true; // L'association est demandée explicitement
+        return fields != null ? fields.contains(association) : expand == null; // Sinon, on vérifie les champs demandés
+    }
+
+    /**
+     * Vérifie si au moins une des associations de l'entité d'origine est demandée.
+     *
+     * @param associations Les noms des associations.
+     *
+     * @return Une valeur booléenne ('true' ou 'false').
+     */
+    public boolean expandsAny(String... associations) { return Arrays.stream(associations).anyMatch(this::expands); }
+
+    /**
+     * Vérifie s'il s'agit de la forme complète (aucun champ ni aucune association filtré).
+     *
+     * @return Une valeur booléenne ('true' ou 'false').
+     */
+    public boolean isFull() { return fields == null && expand == null; }
+
+    /**
+     * Récupère la clé de cache correspondant à cette forme de réponse : la clé d'origine pour la forme complète,
+     * sinon la clé d'origine suivie des champs et associations demandés (triés, pour qu'un même ensemble donne une même clé).
+     *
+     * @param key La clé d'origine (ex : l'identifiant de l'entité).
+     *
+     * @return La clé de cache de cette forme de réponse.
+     */
+    public Object cacheKey(Object key) {
+
+        if(isFull()) return key; // La forme complète garde la clé d'origine
+        return key + "?fields=" + (fields == null ? "*" : String.join(",", fields)) + "&expand=" + (expand == null ? "*" : String.join(",", expand));
+    }
+
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+
+    /**
+     * Récupère une {@link Set liste} triée de noms depuis un paramètre de requête dont les valeurs sont séparées par une virgule.
+     *
+     * @param value Le paramètre de requête.
+     *
+     * @return Une {@link Set liste} triée des noms, ou 'null' si le paramètre n'est pas défini.
+     */
+    private static Set<String> parse(String value) {
+
+        if(Strings.isBlank(value)) return null; // Si le paramètre n'est pas défini, on renvoie 'null'
+
+        Set<String> names = new TreeSet<>(); // Liste triée des noms
+
+        for(String name : value.split(",")) if(!name.isBlank()) names.add(name.trim());
+        return names; // Renvoie la liste des noms
+    }
+}
@@ -80,7 +80,7 @@ public class RoleDTO extends BaseEntityDTO<Role, RoleDTO> implements Serializabl
 
     @Override
     @JsonIgnore
-    public RoleDTO convert(Role role) { return new RoleDTO(role.getId(), role.getName(), role.getSeverity(), role.getDescription()); }
+    public RoleDTO convert(Role role, ConversionContext context) { return new RoleDTO(role.getId(), role.getName(), role.getSeverity(), role.getDescription()); }
 
 
     /************************************************************************************/
@@ -3,15 +3,11 @@ package fr.thesakyo.portfolioapi.models.DTO;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import fr.thesakyo.portfolioapi.helpers.MapperHelper;
 import fr.thesakyo.portfolioapi.models.entities.User;
-import fr.thesakyo.portfolioapi.models.entities.Role;
-import fr.thesakyo.portfolioapi.models.entities.Project;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.annotation.Nullable;
 
 import java.io.Serializable;
-import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class UserDTO extends BaseEntityDTO<User, UserDTO> implements Serializable {
 
@@ -94,22 +90,17 @@ public class UserDTO extends BaseEntityDTO<User, UserDTO> implements Serializabl
 
     @Override
     @JsonIgnore
-    public UserDTO convert(User user) {
+    public UserDTO convert(User user, ConversionContext context) {
 
-        Set<Role> rolesUser = user.getRoles();
-        Set<Project> projectsUser = user.getProjects();
+        // Convertit les projets associés à l'utilisateur (s'ils sont demandés et si la profondeur de conversion le permet)
+        Set<ProjectDTO> projectsDTO = context.isExpandRequested("projects") ? context.convertAssociations(new ProjectDTO(), user.getProjects()) : null;
 
-        Set<ProjectDTO> projectsDTO = new HashSet<>();
-        Set<RoleDTO> rolesDTO = new HashSet<>();
+        // Convertit les rôles de l'utilisateur, s'ils sont demandés (les rôles n'ont aucune association, ils sont donc toujours convertis)
+        Set<RoleDTO> rolesDTO = context.isExpandRequested("roles") ? context.convertAll(new RoleDTO(), user.getRoles()) : null;
 
         /****************************************************************/
 
-        if(projectsUser != null && !projectsUser.isEmpty()) projectsDTO = projectsUser.stream().map(new ProjectDTO()::convert).collect(Collectors.toSet());
-        if(rolesUser != null && !rolesUser.isEmpty()) rolesDTO = rolesUser.stream().map(new RoleDTO()::convert).collect(Collectors.toSet());
-
-        /****************************************************************/
-
-        return new UserDTO(user.getId(), user.getName(), user.getEmail(), projectsDTO, rolesDTO);
+        return new UserDTO(user.getId(), context.ifRequested("name", user::getName), context.ifRequested("email", user::getEmail), projectsDTO, rolesDTO);
     }
 
     /************************************************************************************/
@@ -1,11 +1,15 @@
 package fr.thesakyo.portfolioapi.models.entities;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import fr.thesakyo.portfolioapi.PersistenceConfig;
 import fr.thesakyo.portfolioapi.helpers.MapperHelper;
 import fr.thesakyo.portfolioapi.interfaces.IBaseEntity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 
 import java.io.Serializable;
 
@@ -17,8 +21,14 @@ public abstract class BaseEntity implements IBaseEntity, Serializable {
     /*********************************************************/
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // Identifiant de l'entité.
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = PersistenceConfig.ID_GENERATOR)
+    @TableGenerator(name = PersistenceConfig.ID_GENERATOR, table = PersistenceConfig.ID_GENERATOR_TABLE, pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = PersistenceConfig.ID_GENERATOR_SEGMENT, allocationSize = PersistenceConfig.ID_ALLOCATION_SIZE)
+    private Long id; // Identifiant de l'entité (réservé par blocs pour permettre le regroupement des insertions).
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version; // Version de l'entité (incrémentée à chaque modification : verrouillage optimiste et 'ETag's des réponses http), jamais lue depuis une requête.
 
     /****************************************************************/
     /**************   ⬇️    GETTERS & SETTERS    ⬇️   **************/
@@ -40,15 +50,23 @@ public abstract class BaseEntity implements IBaseEntity, Serializable {
     @Override
     public void setId(Long id) { this.id = id; }
 
+    /**
+     * Récupère la version de l'{@link BaseEntity entité}, incrémentée à chaque modification.
+     *
+     * @return La version de l'{@link BaseEntity entité}.
+     */
+    public long getVersion() { return version; }
+
     /******************************************************************************************************************/
     /******************************************************************************************************************/
     /******************************************************************************************************************/
 
     /**
-     * Convertit l'{@link Object objet} de l'{@link BaseEntity entité} en {@link String chaîne de caractère}.
+     * Convertit l'{@link Object objet} de l'{@link BaseEntity entité} en courte {@link String chaîne de caractère}
+     * (sans format JSON : ses associations ne sont ni parcourues, ni chargées, utile pour les journaux et messages d'erreur).
      *
-     * @return Une {@link String chaîne de caractère} de notre {@link BaseEntity entité}.
+     * @return Une courte {@link String chaîne de caractère} de notre {@link BaseEntity entité}.
      */
     @Override
-    public String toString() { return MapperHelper.readJsonFromObjectAsString(this); }
+    public String toString() { return MapperHelper.toShortString(this, "id", getId()); }
 }
@@ -5,18 +5,24 @@ import fr.thesakyo.portfolioapi.enums.EStack;
 import fr.thesakyo.portfolioapi.helpers.MapperHelper;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
 import java.util.Set;
 
 @Entity
 @Table(name = "languages", uniqueConstraints = { @UniqueConstraint(columnNames = "label") })
+@NamedEntityGraph(name = Language.DTO_GRAPH, attributeNodes = @NamedAttributeNode("projects"))
 public class Language extends BaseEntity implements Serializable {
 
     /**********************************************************/
     /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
     /*********************************************************/
 
+    public static final String DTO_GRAPH = "Language.dto"; // Plan de chargement correspondant au 'DTO' du langage (projets).
+
+    /*******************************/
+
     @NotBlank
     private String label; // Libellé du langage.
 
@@ -27,6 +33,7 @@ public class Language extends BaseEntity implements Serializable {
     @ManyToMany(mappedBy = "languages")
     @JsonIgnoreProperties({"languages"})
     @OrderBy("id DESC")
+    @BatchSize(size = 100)
     private Set<Project> projects; // Liste des projets associés au langage.
 
     /***********************************************************/
@@ -109,10 +116,11 @@ public class Language extends BaseEntity implements Serializable {
     /******************************************************************************************************************/
 
     /**
-     * Convertit l'{@link Object objet} de l'{@link Language entité} en {@link String chaîne de caractère}.
+     * Convertit l'{@link Object objet} de l'{@link Language entité} en courte {@link String chaîne de caractère}
+     * (sans format JSON : ses associations ne sont ni parcourues, ni chargées, utile pour les journaux et messages d'erreur).
      *
-     * @return Une {@link String chaîne de caractère} de notre {@link Language entité}.
+     * @return Une courte {@link String chaîne de caractère} de notre {@link Language entité}.
      */
     @Override
-    public String toString() { return MapperHelper.readJsonFromObjectAsString(this); }
+    public String toString() { return MapperHelper.toShortString(this, "id", getId(), "label", label); }
 }
@@ -5,6 +5,7 @@ import fr.thesakyo.portfolioapi.helpers.MapperHelper;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.validator.constraints.URL;
 
 import java.io.Serializable;
@@ -12,18 +13,30 @@ import java.util.Set;
 
 @Entity
 @Table(name = "projects")
+@NamedEntityGraph(
+        name = Project.DTO_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "user"),
+                @NamedAttributeNode("languages")
+        },
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("roles")))
 public class Project extends BaseEntity implements Serializable {
 
     /**********************************************************/
     /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
     /*********************************************************/
 
+    public static final String DTO_GRAPH = "Project.dto"; // Plan de chargement correspondant au 'DTO' du projet (utilisateur, rôles et langages).
+
+    /*******************************/
+
     @NotBlank
     private String title; // Titre du projet.
 
     @Lob
     @NotBlank
-    private String detail; // Détail du projet.
+    @Basic(fetch = FetchType.LAZY)
+    private String detail; // Détail du projet (chargé à la demande, uniquement lorsqu'il est lu : voir l'amélioration du 'bytecode' Hibernate).
 
     @NotBlank
     @URL(regexp = "^(http|https)://.*$", message = "Format d'URL Invalide")
@@ -42,6 +55,7 @@ public class Project extends BaseEntity implements Serializable {
             inverseJoinColumns = @JoinColumn(name = "language_id"))
     @JsonIgnoreProperties({"projects"})
     @OrderBy("id DESC")
+    @BatchSize(size = 100)
     private Set<Language> languages; // Liste des langages associés au projet.
 
     //private Image image
@@ -156,10 +170,11 @@ public class Project extends BaseEntity implements Serializable {
     /******************************************************************************************************************/
 
     /**
-     * Convertit l'{@link Object objet} de l'{@link Project entité} en {@link String chaîne de caractère}.
+     * Convertit l'{@link Object objet} de l'{@link Project entité} en courte {@link String chaîne de caractère}
+     * (sans format JSON : ses associations ne sont ni parcourues, ni chargées, utile pour les journaux et messages d'erreur).
      *
-     * @return Une {@link String chaîne de caractère} de notre {@link Project entité}.
+     * @return Une courte {@link String chaîne de caractère} de notre {@link Project entité}.
      */
     @Override
-    public String toString() { return MapperHelper.readJsonFromObjectAsString(this); }
+    public String toString() { return MapperHelper.toShortString(this, "id", getId(), "title", title); }
 }
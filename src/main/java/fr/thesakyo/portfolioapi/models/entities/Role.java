@@ -104,10 +104,11 @@ public class Role extends BaseEntity implements Serializable  {
     /******************************************************************************************************************/
 
     /**
-     * Convertit l'{@link Object objet} de l'{@link Role entité} en {@link String chaîne de caractère}.
+     * Convertit l'{@link Object objet} de l'{@link Role entité} en courte {@link String chaîne de caractère}
+     * (sans format JSON : ses associations ne sont ni parcourues, ni chargées, utile pour les journaux et messages d'erreur).
      *
-     * @return Une {@link String chaîne de caractère} de notre {@link Role entité}.
+     * @return Une courte {@link String chaîne de caractère} de notre {@link Role entité}.
      */
     @Override
-    public String toString() { return MapperHelper.readJsonFromObjectAsString(this); }
+    public String toString() { return MapperHelper.toShortString(this, "id", getId(), "name", name); }
 }
@@ -5,18 +5,25 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import fr.thesakyo.portfolioapi.helpers.MapperHelper;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
 import java.util.Set;
 
 @Entity
 @Table(name = "users", uniqueConstraints = { @UniqueConstraint(columnNames = "email") })
+@NamedEntityGraph(name = User.DTO_GRAPH, attributeNodes = { @NamedAttributeNode("projects"), @NamedAttributeNode("roles") })
+@BatchSize(size = 100)
 public class User extends BaseEntity implements Serializable {
 
     /*********************************************************/
     /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
     /********************************************************/
 
+    public static final String DTO_GRAPH = "User.dto"; // Plan de chargement correspondant au 'DTO' de l'utilisateur (projets et rôles).
+
+    /*******************************/
+
     @NotBlank
     private String name; // Nom de l'utilisateur.
 
@@ -36,6 +43,7 @@ public class User extends BaseEntity implements Serializable {
     @OneToMany(mappedBy = "user")
     @JsonIgnoreProperties({"user"})
     @OrderBy("id DESC")
+    @BatchSize(size = 100)
     private Set<Project> projects; // Liste des projets associés à l'utilisateur.
 
     @ManyToMany(fetch = FetchType.EAGER)
@@ -43,6 +51,7 @@ public class User extends BaseEntity implements Serializable {
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"))
     @OrderBy("id ASC")
+    @BatchSize(size = 100)
     @NotNull
     @NotEmpty
     private Set<Role> roles; // Liste des rôles associés à l'utilisateur.
@@ -178,10 +187,11 @@ public class User extends BaseEntity implements Serializable {
     /******************************************************************************************************************/
 
     /**
-     * Convertit l'{@link Object objet} de l'{@link Role entité} en {@link String chaîne de caractère}.
+     * Convertit l'{@link Object objet} de l'{@link User entité} en courte {@link String chaîne de caractère}
+     * (sans format JSON : ses associations ne sont ni parcourues, ni chargées, utile pour les journaux et messages d'erreur).
      *
-     * @return Une {@link String chaîne de caractère} de notre {@link Role entité}.
+     * @return Une courte {@link String chaîne de caractère} de notre {@link User entité}.
      */
     @Override
-    public String toString() { return MapperHelper.readJsonFromObjectAsString(this); }
+    public String toString() { return MapperHelper.toShortString(this, "id", getId(), "name", name); }
 }
@@ -0,0 +1,11 @@
+package fr.thesakyo.portfolioapi.models.projections;
+
+import fr.thesakyo.portfolioapi.models.entities.Project;
+
+/**
+ * Détail d'un {@link Project projet} : seule la colonne du détail (volumineuse, chargée à la demande) est sélectionnée en base de données.
+ *
+ * @param id L'{@link Long identifiant} du {@link Project projet}.
+ * @param detail Le {@link String détail} du {@link Project projet}.
+ */
+public record ProjectDetail(Long id, String detail) {}
@@ -0,0 +1,28 @@
+package fr.thesakyo.portfolioapi.models.projections;
+
+import fr.thesakyo.portfolioapi.models.DTO.ProjectDTO;
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
+import fr.thesakyo.portfolioapi.models.entities.Project;
+
+/**
+ * Résumé d'un {@link Project projet} : seules les colonnes nécessaires aux listes sont sélectionnées en base de données
+ * (ni le détail du projet, ni ses associations).
+ *
+ * @param id L'{@link Long identifiant} du {@link Project projet}.
+ * @param title Le {@link String titre} du {@link Project projet}.
+ * @param link Le {@link String lien} du {@link Project projet}.
+ */
+public record ProjectSummary(Long id, String title, String link) {
+
+    /**
+     * Convertit le résumé du {@link Project projet} en '{@link ProjectDTO DTO}', avec uniquement les champs demandés.
+     *
+     * @param shape La {@link ResponseShape forme de réponse} demandée.
+     *
+     * @return Le '{@link ProjectDTO DTO}' du {@link Project projet}.
+     */
+    public ProjectDTO toDTO(ResponseShape shape) {
+
+        return new ProjectDTO(id, shape.includes("title") ? title : null, null, shape.includes("link") ? link : null, null, null);
+    }
+}
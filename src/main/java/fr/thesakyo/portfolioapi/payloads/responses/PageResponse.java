@@ -0,0 +1,108 @@
+package fr.thesakyo.portfolioapi.payloads.responses;
+
+import fr.thesakyo.portfolioapi.models.entities.BaseEntity;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PageResponse<T> {
+
+	/**********************************************************/
+	/**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+	/*********************************************************/
+
+	private List<T> entities = new ArrayList<>(); // Les éléments de la page en question.
+
+	private Long nextCursor; // Le curseur (identifiant du dernier élément) à renvoyer pour récupérer la page suivante.
+
+	private int limit; // Le nombre maximal d'éléments demandé pour la page.
+
+	private boolean hasNext; // Y a-t-il une page suivante ?
+
+	/*****************************************************************/
+	/*****************    ⬇️   CONSTRUCTEUR    ⬇️   *****************/
+	/****************************************************************/
+
+	/**
+	 * Construit une page de {@link ResponseEntity réponse http}.
+	 */
+	public PageResponse() {}
+
+	/**
+	 * Construit une page de {@link ResponseEntity réponse http}.
+	 *
+	 * @param entities La {@link List liste} des éléments de la page.
+	 * @param nextCursor Le {@link Long curseur} permettant de récupérer la page suivante ('null' s'il n'y en a pas).
+	 * @param limit Le nombre maximal d'éléments demandé pour la page.
+	 */
+	public PageResponse(List<T> entities, Long nextCursor, int limit) {
+
+		this.entities = entities;
+		this.nextCursor = nextCursor;
+		this.limit = limit;
+		this.hasNext = nextCursor != null;
+	}
+
+	/****************************************************************/
+	/**************   ⬇️    GETTERS & SETTERS    ⬇️   **************/
+	/***************************************************************/
+
+	/**
+	 * Récupère la {@link List liste} des éléments de la page.
+	 *
+	 * @return La {@link List liste} des éléments de la page.
+	 */
+	public List<T> getEntities() { return entities; }
+
+	/**
+	 * Récupère le {@link Long curseur} permettant de récupérer la page suivante.
+	 *
+	 * @return L'{@link Long identifiant} du dernier {@link BaseEntity élément} de la page, ou 'null' s'il n'y a pas de page suivante.
+	 */
+	public Long getNextCursor() { return nextCursor; }
+
+	/**
+	 * Récupère le nombre maximal d'éléments demandé pour la page.
+	 *
+	 * @return Le nombre maximal d'éléments demandé pour la page.
+	 */
+	public int getLimit() { return limit; }
+
+	/**
+	 * Vérifie s'il existe une page suivante.
+	 *
+	 * @return Une valeur booléenne ('true' ou 'false').
+	 */
+	public boolean getHasNext() { return hasNext; }
+
+	/*********************************************************/
+
+	/**
+	 * Définit la {@link List liste} des éléments de la page.
+	 *
+	 * @param entities La {@link List liste} des éléments de la page.
+	 */
+	public void setEntities(List<T> entities) { this.entities = entities; }
+
+	/**
+	 * Définit le {@link Long curseur} permettant de récupérer la page suivante.
+	 *
+	 * @param nextCursor L'{@link Long identifiant} du dernier {@link BaseEntity élément} de la page, ou 'null' s'il n'y a pas de page suivante.
+	 */
+	public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+
+	/**
+	 * Définit le nombre maximal d'éléments demandé pour la page.
+	 *
+	 * @param limit Le nombre maximal d'éléments demandé pour la page.
+	 */
+	public void setLimit(int limit) { this.limit = limit; }
+
+	/**
+	 * Définit s'il existe une page suivante.
+	 *
+	 * @param hasNext Une valeur booléenne ('true' ou 'false').
+	 */
+	public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+}
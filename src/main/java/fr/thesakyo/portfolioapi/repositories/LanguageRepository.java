@@ -1,9 +1,18 @@
 package fr.thesakyo.portfolioapi.repositories;
 
 import fr.thesakyo.portfolioapi.models.entities.Language;
+import fr.thesakyo.portfolioapi.models.entities.Project;
+import fr.thesakyo.portfolioapi.models.entities.User;
+import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface LanguageRepository extends JpaRepository<Language, Long> {
 
@@ -16,6 +25,17 @@ public interface LanguageRepository extends JpaRepository<Language, Long> {
      */
     Optional<Language> findByLabel(String label);
 
+    /**
+     * Récupère un {@link Language langage} par son {@link Long identifiant}, avec ses {@link Project projet}s
+     * (nécessaires à sa conversion en 'DTO') chargés en une seule requête.
+     *
+     * @param id L'{@link Long identifiant} du {@link Language langage}.
+     *
+     * @return Le {@link Language langage} avec ses {@link Project projet}s chargés.
+     */
+    @EntityGraph(Language.DTO_GRAPH)
+    Optional<Language> findDetailedById(Long id);
+
     /**
      * Vérifie un {@link Language langage} par son {@link String libellé}.
      *
@@ -24,4 +44,94 @@ public interface LanguageRepository extends JpaRepository<Language, Long> {
      * @return Une {@link Boolean valeur booléenne}.
      */
     Boolean existsByLabel(String label);
+
+    /**
+     * Vérifie si un {@link User utilisateur} spécifique a des {@link Project projet}s contenant le {@link Language langage} demandé
+     * (requête d'existence : s'arrête à la première correspondance, sans charger d'entité).
+     *
+     * @param id L'{@link Long identifiant} du {@link Language langage}.
+     * @param userId L'{@link Long identifiant} du {@link User utilisateur}.
+     *
+     * @return Une {@link Boolean valeur booléenne}.
+     */
+    Boolean existsByIdAndProjectsUserId(Long id, Long userId);
+
+    /***************************************************/
+    /***************************************************/
+
+    /**
+     * Récupère une {@link Set liste} des {@link Language langage}s associés au {@link Project projet} demandé.
+     *
+     * @param projectId L'{@link Long identifiant} du {@link Project projet}.
+     *
+     * @return Une {@link Set liste} des {@link Language langage}s associés au {@link Project projet} demandé.
+     */
+    @EntityGraph(Language.DTO_GRAPH)
+    @Query("SELECT DISTINCT l FROM Language l JOIN l.projects p WHERE p.id = :projectId")
+    Set<Language> findAllByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Récupère une {@link Set liste} des {@link Language langage}s utilisés dans au moins un des {@link Project projet}s
+     * de l'{@link User utilisateur} demandé.
+     *
+     * @param userId L'{@link Long identifiant} de l'{@link User utilisateur}.
+     *
+     * @return Une {@link Set liste} des {@link Language langage}s utilisés dans au moins un des {@link Project projet}s
+     *         de l'{@link User utilisateur} demandé.
+     */
+    @EntityGraph(Language.DTO_GRAPH)
+    @Query("SELECT DISTINCT l FROM Language l JOIN l.projects p WHERE p.user.id = :userId")
+    Set<Language> findAllByUserIdInProjects(@Param("userId") Long userId);
+
+    /***************************************************/
+    /***************************************************/
+
+    /**
+     * Récupère une {@link List liste} des {@link Language langage}s dont l'{@link Long identifiant} est supérieur au curseur demandé,
+     * triée par {@link Long identifiant} (pagination par curseur).
+     *
+     * @param after L'{@link Long identifiant} du dernier {@link Language langage} déjà récupéré.
+     * @param limit La {@link Limit limite} du nombre de {@link Language langage}s à récupérer.
+     *
+     * @return Une {@link List liste} des {@link Language langage}s suivant le curseur demandé.
+     */
+    @Query("SELECT l FROM Language l WHERE l.id > :after ORDER BY l.id ASC")
+    List<Language> findAllAfter(@Param("after") Long after, Limit limit);
+
+    /***************************************************/
+    /***************************************************/
+
+    /**
+     * Récupère les versions d'un {@link Language langage} et des associations converties dans son 'DTO' (lignes 'identifiant, version'),
+     * sans charger les entités elles-mêmes (utile pour calculer l''ETag' de la réponse http).
+     *
+     * @param id L'{@link Long identifiant} du {@link Language langage}.
+     *
+     * @return Une {@link List liste} des lignes 'identifiant, version', vide si le {@link Language langage} n'existe pas.
+     */
+    @Query("SELECT l.id, l.version, p.id, p.version FROM Language l LEFT JOIN l.projects p WHERE l.id = :id")
+    List<Object[]> findVersionsById(@Param("id") Long id);
+
+    /**
+     * Récupère les versions de plusieurs {@link Language langage}s et des associations converties dans leur 'DTO' (lignes 'identifiant, version'),
+     * sans charger les entités elles-mêmes (utile pour calculer l''ETag' d'une page).
+     *
+     * @param ids Les {@link Long identifiant}s des {@link Language langage}s.
+     *
+     * @return Une {@link List liste} des lignes 'identifiant, version'.
+     */
+    @Query("SELECT l.id, l.version, p.id, p.version FROM Language l LEFT JOIN l.projects p WHERE l.id IN :ids")
+    List<Object[]> findVersionsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Récupère une {@link List liste} des {@link Long identifiant}s des {@link Language langage}s suivant le curseur demandé,
+     * triée par {@link Long identifiant} (pagination par curseur, sans charger les entités elles-mêmes).
+     *
+     * @param after L'{@link Long identifiant} du dernier {@link Language langage} déjà récupéré.
+     * @param limit La {@link Limit limite} du nombre d'{@link Long identifiant}s à récupérer.
+     *
+     * @return Une {@link List liste} des {@link Long identifiant}s suivant le curseur demandé.
+     */
+    @Query("SELECT l.id FROM Language l WHERE l.id > :after ORDER BY l.id ASC")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
 }
@@ -1,6 +1,178 @@
 package fr.thesakyo.portfolioapi.repositories;
 
+import fr.thesakyo.portfolioapi.models.entities.Language;
 import fr.thesakyo.portfolioapi.models.entities.Project;
+import fr.thesakyo.portfolioapi.models.entities.User;
+import fr.thesakyo.portfolioapi.models.projections.ProjectDetail;
+import fr.thesakyo.portfolioapi.models.projections.ProjectSummary;
+import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface ProjectRepository extends JpaRepository<Project, Long> {}
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    /**
+     * Récupère un {@link Project projet} par son {@link Long identifiant}, avec les associations nécessaires à sa conversion en 'DTO'
+     * (son {@link User utilisateur}, les rôles de celui-ci et ses {@link Language langage}s) chargées en une seule requête.
+     *
+     * @param id L'{@link Long identifiant} du {@link Project projet}.
+     *
+     * @return Le {@link Project projet} avec ses associations chargées.
+     */
+    @EntityGraph(Project.DTO_GRAPH)
+    Optional<Project> findDetailedById(Long id);
+
+    /**
+     * Vérifie si un {@link Project projet} appartient à l'{@link User utilisateur} demandé
+     * (requête d'existence : s'arrête à la première correspondance, sans charger d'entité).
+     *
+     * @param id L'{@link Long identifiant} du {@link Project projet}.
+     * @param userId L'{@link Long identifiant} de l'{@link User utilisateur}.
+     *
+     * @return Une {@link Boolean valeur booléenne}.
+     */
+    Boolean existsByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Récupère le {@link ProjectDetail détail} d'un {@link Project projet} par son {@link Long identifiant}
+     * (seule la colonne du détail est sélectionnée, sans charger le projet lui-même).
+     *
+     * @param id L'{@link Long identifiant} du {@link Project projet}.
+     *
+     * @return Le {@link ProjectDetail détail} du {@link Project projet}.
+     */
+    @Query("SELECT new fr.thesakyo.portfolioapi.models.projections.ProjectDetail(p.id, p.detail) FROM Project p WHERE p.id = :id")
+    Optional<ProjectDetail> findDetailById(@Param("id") Long id);
+
+    /**
+     * Récupère les {@link ProjectDetail détail}s de plusieurs {@link Project projet}s en une seule requête
+     * (seule la colonne du détail est sélectionnée, sans charger les projets eux-mêmes).
+     *
+     * @param ids Les {@link Long identifiant}s des {@link Project projet}s.
+     *
+     * @return Une {@link List liste} des {@link ProjectDetail détail}s des {@link Project projet}s demandés.
+     */
+    @Query("SELECT new fr.thesakyo.portfolioapi.models.projections.ProjectDetail(p.id, p.detail) FROM Project p WHERE p.id IN :ids")
+    List<ProjectDetail> findDetailsByIds(@Param("ids") Collection<Long> ids);
+
+    /***************************************************/
+    /***************************************************/
+
+    /**
+     * Récupère une {@link List liste} de {@link Project projet}s par leurs {@link Long identifiant}s, avec leur détail et les associations
+     * nécessaires à leur conversion en 'DTO' chargés en une seule requête (utile pour les mises à jour groupées : un projet dont le détail
+     * n'est pas chargé est mis à jour par une requête dynamique, qu'Hibernate ne regroupe jamais dans un lot).
+     *
+     * @param ids Les {@link Long identifiant}s des {@link Project projet}s.
+     *
+     * @return Une {@link List liste} des {@link Project projet}s demandés, avec leur détail et leurs associations chargés.
+     */
+    @EntityGraph(attributePaths = { "detail", "user", "user.roles", "languages" })
+    @Query("SELECT p FROM Project p WHERE p.id IN :ids")
+    List<Project> findAllForUpdateByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Récupère une {@link Set liste} des {@link Project projet}s appartenant à l'{@link User utilisateur} demandé.
+     *
+     * @param userId L'{@link Long identifiant} de l'{@link User utilisateur}.
+     *
+     * @return Une {@link Set liste} des {@link Project projet}s appartenant à l'{@link User utilisateur} demandé.
+     */
+    @EntityGraph(Project.DTO_GRAPH)
+    @Query("SELECT p FROM Project p WHERE p.user.id = :userId")
+    Set<Project> findAllByUserId(@Param("userId") Long userId);
+
+    /**
+     * Récupère une {@link List liste} triée des {@link Long identifiant}s des {@link Project projet}s appartenant à l'{@link User utilisateur} demandé
+     * (sans charger les projets eux-mêmes).
+     *
+     * @param userId L'{@link Long identifiant} de l'{@link User utilisateur}.
+     *
+     * @return Une {@link List liste} triée des {@link Long identifiant}s des {@link Project projet}s appartenant à l'{@link User utilisateur} demandé.
+     */
+    @Query("SELECT p.id FROM Project p WHERE p.user.id = :userId ORDER BY p.id ASC")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Récupère une {@link Set liste} des {@link Project projet}s contenant l'{@link Long identifiant} du {@link Language langage} demandé.
+     *
+     * @param languageId L'{@link Long identifiant} du {@link Language langage}.
+     *
+     * @return Une {@link Set liste} des {@link Project projet}s contenant l'{@link Long identifiant} du {@link Language langage} demandé.
+     */
+    @EntityGraph(Project.DTO_GRAPH)
+    @Query("SELECT DISTINCT p FROM Project p JOIN p.languages l WHERE l.id = :languageId")
+    Set<Project> findAllByLanguageId(@Param("languageId") Long languageId);
+
+    /***************************************************/
+    /***************************************************/
+
+    /**
+     * Récupère une {@link List liste} des {@link Project projet}s dont l'{@link Long identifiant} est supérieur au curseur demandé,
+     * triée par {@link Long identifiant} (pagination par curseur).
+     *
+     * @param after L'{@link Long identifiant} du dernier {@link Project projet} déjà récupéré.
+     * @param limit La {@link Limit limite} du nombre de {@link Project projet}s à récupérer.
+     *
+     * @return Une {@link List liste} des {@link Project projet}s suivant le curseur demandé.
+     */
+    @Query("SELECT p FROM Project p WHERE p.id > :after ORDER BY p.id ASC")
+    List<Project> findAllAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Récupère une {@link List liste} des {@link ProjectSummary résumé}s des {@link Project projet}s dont l'{@link Long identifiant}
+     * est supérieur au curseur demandé, triée par {@link Long identifiant} (pagination par curseur).
+     * Seules les colonnes du {@link ProjectSummary résumé} sont sélectionnées (ni le détail, ni les associations).
+     *
+     * @param after L'{@link Long identifiant} du dernier {@link Project projet} déjà récupéré.
+     * @param limit La {@link Limit limite} du nombre de {@link Project projet}s à récupérer.
+     *
+     * @return Une {@link List liste} des {@link ProjectSummary résumé}s des {@link Project projet}s suivant le curseur demandé.
+     */
+    @Query("SELECT new fr.thesakyo.portfolioapi.models.projections.ProjectSummary(p.id, p.title, p.link) FROM Project p WHERE p.id > :after ORDER BY p.id ASC")
+    List<ProjectSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
+
+    /***************************************************/
+    /***************************************************/
+
+    /**
+     * Récupère les versions d'un {@link Project projet} et des associations converties dans son 'DTO' (lignes 'identifiant, version'),
+     * sans charger les entités elles-mêmes (utile pour calculer l''ETag' de la réponse http).
+     *
+     * @param id L'{@link Long identifiant} du {@link Project projet}.
+     *
+     * @return Une {@link List liste} des lignes 'identifiant, version', vide si le {@link Project projet} n'existe pas.
+     */
+    @Query("SELECT p.id, p.version, u.id, u.version, l.id, l.version FROM Project p LEFT JOIN p.user u LEFT JOIN p.languages l WHERE p.id = :id")
+    List<Object[]> findVersionsById(@Param("id") Long id);
+
+    /**
+     * Récupère les versions de plusieurs {@link Project projet}s et des associations converties dans leur 'DTO' (lignes 'identifiant, version'),
+     * sans charger les entités elles-mêmes (utile pour calculer l''ETag' d'une page).
+     *
+     * @param ids Les {@link Long identifiant}s des {@link Project projet}s.
+     *
+     * @return Une {@link List liste} des lignes 'identifiant, version'.
+     */
+    @Query("SELECT p.id, p.version, u.id, u.version, l.id, l.version FROM Project p LEFT JOIN p.user u LEFT JOIN p.languages l WHERE p.id IN :ids")
+    List<Object[]> findVersionsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Récupère une {@link List liste} des {@link Long identifiant}s des {@link Project projet}s suivant le curseur demandé,
+     * triée par {@link Long identifiant} (pagination par curseur, sans charger les entités elles-mêmes).
+     *
+     * @param after L'{@link Long identifiant} du dernier {@link Project projet} déjà récupéré.
+     * @param limit La {@link Limit limite} du nombre d'{@link Long identifiant}s à récupérer.
+     *
+     * @return Une {@link List liste} des {@link Long identifiant}s suivant le curseur demandé.
+     */
+    @Query("SELECT p.id FROM Project p WHERE p.id > :after ORDER BY p.id ASC")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+}
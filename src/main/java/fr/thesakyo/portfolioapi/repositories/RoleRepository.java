@@ -2,9 +2,12 @@ package fr.thesakyo.portfolioapi.repositories;
 
 import fr.thesakyo.portfolioapi.models.entities.Role;
 import fr.thesakyo.portfolioapi.enums.ERole;
+import io.lettuce.core.dynamic.annotation.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -27,4 +30,15 @@ public interface RoleRepository extends JpaRepository<Role, Long>  {
      * @return Une {@link Boolean valeur booléenne}.
      */
     Boolean existsByName(ERole name);
+
+    /**
+     * Récupère la version d'un {@link Role rôle} (ligne 'identifiant, version'), sans charger le rôle lui-même
+     * (utile pour calculer l''ETag' de la réponse http).
+     *
+     * @param id L'{@link Long identifiant} du {@link Role rôle}.
+     *
+     * @return Une {@link List liste} de la ligne 'identifiant, version', vide si le {@link Role rôle} n'existe pas.
+     */
+    @Query("SELECT r.id, r.version FROM Role r WHERE r.id = :id")
+    List<Object[]> findVersionsById(@Param("id") Long id);
 }
@@ -4,10 +4,14 @@ import fr.thesakyo.portfolioapi.models.entities.Language;
 import fr.thesakyo.portfolioapi.models.entities.Project;
 import fr.thesakyo.portfolioapi.models.entities.User;
 import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -23,6 +27,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Récupère un {@link User utilisateur} par son {@link Long identifiant}, avec ses {@link Project projet}s et ses rôles
+     * (nécessaires à sa conversion en 'DTO') chargés en une seule requête.
+     *
+     * @param id L'{@link Long identifiant} de l'{@link User utilisateur}.
+     *
+     * @return L'{@link User utilisateur} avec ses {@link Project projet}s et ses rôles chargés.
+     */
+    @EntityGraph(User.DTO_GRAPH)
+    Optional<User> findDetailedById(Long id);
+
     /**
      * Vérifie si un {@link User utilisateur} existe par son {@link String adresse e-mail}.
      *
@@ -44,7 +59,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Une {@link Set liste} des {@link User utilisateur}s ayants des {@link Project projet}s
      *         contenant l'{@link Long identifiant} du {@link Language langage} demandé.
      */
-    @Query("SELECT DISTINCT p.user FROM Language l JOIN l.projects p WHERE l.id = :languageId")
+    @EntityGraph(User.DTO_GRAPH)
+    @Query("SELECT DISTINCT u FROM User u JOIN u.projects p JOIN p.languages l WHERE l.id = :languageId")
     Optional<Set<User>> findAllByLanguageIdInProjets(@Param("languageId") Long languageId);
 
     /**
@@ -60,15 +76,65 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<Set<User>> findAllByLanguageLabelInProjets(@Param("languageLabel") String languageLabel);
 
     /**
-     * Vérifie si un {@link User utilisateur} spécifique a des {@link Project projet}s
-     * contenant l'{@link Long identifiant} du {@link Language langage} demandé.
+     * Récupère une {@link Set liste} des {@link User utilisateur}s possédant le {@link Project projet} demandé.
      *
-     * @param languageId L'{@link Long identifiant} du {@link Language langage}.
-     * @param userId L'{@link Long identifiant} du {@link User utilisateur}.
+     * @param projectId L'{@link Long identifiant} du {@link Project projet}.
+     *
+     * @return Une {@link Set liste} des {@link User utilisateur}s possédant le {@link Project projet} demandé.
+     */
+    @EntityGraph(User.DTO_GRAPH)
+    @Query("SELECT DISTINCT u FROM User u JOIN u.projects p WHERE p.id = :projectId")
+    Optional<Set<User>> findAllByProjectId(@Param("projectId") Long projectId);
+
+    /***************************************************/
+    /***************************************************/
+
+    /**
+     * Récupère une {@link List liste} des {@link User utilisateur}s dont l'{@link Long identifiant} est supérieur au curseur demandé,
+     * triée par {@link Long identifiant} (pagination par curseur).
+     *
+     * @param after L'{@link Long identifiant} du dernier {@link User utilisateur} déjà récupéré.
+     * @param limit La {@link Limit limite} du nombre d'{@link User utilisateur}s à récupérer.
+     *
+     * @return Une {@link List liste} des {@link User utilisateur}s suivant le curseur demandé.
+     */
+    @Query("SELECT u FROM User u WHERE u.id > :after ORDER BY u.id ASC")
+    List<User> findAllAfter(@Param("after") Long after, Limit limit);
+
+    /***************************************************/
+    /***************************************************/
+
+    /**
+     * Récupère les versions d'un {@link User utilisateur} et des associations converties dans son 'DTO' (lignes 'identifiant, version'),
+     * sans charger les entités elles-mêmes (utile pour calculer l''ETag' de la réponse http).
+     *
+     * @param id L'{@link Long identifiant} de l'{@link User utilisateur}.
+     *
+     * @return Une {@link List liste} des lignes 'identifiant, version', vide si l'{@link User utilisateur} n'existe pas.
+     */
+    @Query("SELECT u.id, u.version, p.id, p.version, r.id, r.version FROM User u LEFT JOIN u.projects p LEFT JOIN u.roles r WHERE u.id = :id")
+    List<Object[]> findVersionsById(@Param("id") Long id);
+
+    /**
+     * Récupère les versions de plusieurs {@link User utilisateur}s et des associations converties dans leur 'DTO' (lignes 'identifiant, version'),
+     * sans charger les entités elles-mêmes (utile pour calculer l''ETag' d'une page).
+     *
+     * @param ids Les {@link Long identifiant}s des {@link User utilisateur}s.
+     *
+     * @return Une {@link List liste} des lignes 'identifiant, version'.
+     */
+    @Query("SELECT u.id, u.version, p.id, p.version, r.id, r.version FROM User u LEFT JOIN u.projects p LEFT JOIN u.roles r WHERE u.id IN :ids")
+    List<Object[]> findVersionsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Récupère une {@link List liste} des {@link Long identifiant}s des {@link User utilisateur}s suivant le curseur demandé,
+     * triée par {@link Long identifiant} (pagination par curseur, sans charger les entités elles-mêmes).
+     *
+     * @param after L'{@link Long identifiant} du dernier {@link User utilisateur} déjà récupéré.
+     * @param limit La {@link Limit limite} du nombre d'{@link Long identifiant}s à récupérer.
      *
-     * @return {@code true} si l'{@link User utilisateur} a des {@link Project projet}s
-     *         contenant l'{@link Long identifiant} du {@link Language langage} demandé, sinon {@code false}.
+     * @return Une {@link List liste} des {@link Long identifiant}s suivant le curseur demandé.
      */
-    @Query("SELECT COUNT(p) > 0 FROM Language l JOIN l.projects p WHERE l.id = :languageId AND p.user.id = :userId")
-    Boolean existsByIdAndLanguageIdInProjects(@Param("languageId") Long languageId, @Param("userId") Long userId);
+    @Query("SELECT u.id FROM User u WHERE u.id > :after ORDER BY u.id ASC")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
 }
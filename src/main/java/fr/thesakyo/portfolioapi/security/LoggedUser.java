@@ -0,0 +1,200 @@
+package fr.thesakyo.portfolioapi.security;
+
+import fr.thesakyo.portfolioapi.enums.ERole;
+import fr.thesakyo.portfolioapi.interfaces.IConnection;
+import fr.thesakyo.portfolioapi.models.entities.Language;
+import fr.thesakyo.portfolioapi.models.entities.Project;
+import fr.thesakyo.portfolioapi.models.entities.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+public class LoggedUser implements IConnection {
+
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    private final Long id; // L'Identifiant de l'utilisateur connecté.
+
+    private final String username; // Le nom d'utilisateur de l'utilisateur connecté.
+
+    private final Function<Long, User> userLoader; // Fonction de chargement du modèle de l'utilisateur connecté depuis la base de données.
+
+    private final Function<Long, long[]> projectIdsLoader; // Fonction de chargement des identifiants (triés) des projets de l'utilisateur connecté.
+
+    private final BiPredicate<Long, Long> projectOwnershipLoader; // Fonction vérifiant en base de données si un projet appartient à un utilisateur (projet, utilisateur).
+
+    private final BiPredicate<Long, Long> languageOwnershipLoader; // Fonction vérifiant en base de données si un langage est dans les projets d'un utilisateur (langage, utilisateur).
+
+    /*******************************/
+
+    private int roleMask = 0; // Masque binaire des rôles de l'utilisateur authentifié (voir 'ERole.getMask()').
+
+    private boolean isVerified = false; // L'Utilisateur authentifié est-il vérifié ?
+
+    private long[] projectIds; // Identifiants triés des projets de l'utilisateur connecté (chargés uniquement pour les vérifications groupées).
+
+    private final Map<Long, Boolean> ownedProjects = new HashMap<>(); // Réponses déjà obtenues pour la possession d'un projet (par identifiant de projet).
+
+    private final Map<Long, Boolean> ownedLanguages = new HashMap<>(); // Réponses déjà obtenues pour la possession d'un langage (par identifiant de langage).
+
+    private User userModel; // Le modèle entier de l'utilisateur connecté (chargé lors de sa première utilisation).
+
+    private boolean isLoaded = false; // Le modèle de l'utilisateur connecté a-t-il déjà été chargé ?
+
+    /*****************************************************************/
+    /*****************    ⬇️   CONSTRUCTEUR    ⬇️   *****************/
+    /****************************************************************/
+
+    /**
+     * Construit l'utilisateur connecté pour la requête http en cours.
+     *
+     * @param id L'{@link Long identifiant} de l'utilisateur connecté.
+     * @param username Le {@link String nom d'utilisateur} de l'utilisateur connecté.
+     * @param userLoader La fonction de chargement du modèle de l'{@link User utilisateur} connecté depuis son identifiant.
+     * @param projectIdsLoader La fonction de chargement des identifiants triés des {@link Project projet}s de l'{@link User utilisateur} connecté.
+     * @param projectOwnershipLoader La fonction vérifiant si un {@link Project projet} appartient à un {@link User utilisateur} (projet, utilisateur).
+     * @param languageOwnershipLoader La fonction vérifiant si un {@link Language langage} est dans les {@link Project projet}s d'un {@link User utilisateur} (langage, utilisateur).
+     */
+    public LoggedUser(Long id, String username, Function<Long, User> userLoader, Function<Long, long[]> projectIdsLoader,
+                      BiPredicate<Long, Long> projectOwnershipLoader, BiPredicate<Long, Long> languageOwnershipLoader) {
+
+        this.id = id;
+        this.username = username;
+        this.userLoader = userLoader;
+        this.projectIdsLoader = projectIdsLoader;
+        this.projectOwnershipLoader = projectOwnershipLoader;
+        this.languageOwnershipLoader = languageOwnershipLoader;
+    }
+
+    /*******************************************************************/
+    /**************   ⬇️    MÉTHODES DE PERMISSION    ⬇️   **************/
+    /******************************************************************/
+
+    /**
+     * Définit les autorisations de l'utilisateur connecté à partir de l'{@link UserDetails utilisateur authentifié} (rôles et vérification).
+     *
+     * @param userDetails L'{@link UserDetails utilisateur authentifié} de la requête http en cours.
+     */
+    public void authenticate(UserDetails userDetails) {
+
+        int mask = 0; // Masque binaire des rôles de l'utilisateur
+
+        for(GrantedAuthority authority : userDetails.getAuthorities()) {
+
+            // Ajoute au masque le bit du rôle correspondant, s'il existe
+            for(ERole role : ERole.values()) if(role.name().equals(authority.getAuthority())) mask |= role.getMask();
+        }
+
+        this.roleMask = mask;
+        this.isVerified = userDetails.isEnabled();
+    }
+
+    /**
+     * Vérifie si l'utilisateur connecté a le {@link ERole rôle} demandé (sans accès à la base de données).
+     *
+     * @param role Le {@link ERole rôle} à vérifier.
+     *
+     * @return Une valeur booléenne vérifiant si l'utilisateur connecté a le {@link ERole rôle} demandé.
+     */
+    public boolean hasRole(ERole role) { return (roleMask & role.getMask()) != 0; }
+
+    /**
+     * Vérifie si l'utilisateur connecté possède le {@link Project projet} demandé.
+     * Si les identifiants de ses projets ont déjà été chargés, on fait une recherche dichotomique dedans ;
+     * sinon, une requête d'existence est envoyée une seule fois par projet et par requête http.
+     *
+     * @param projectId L'{@link Long identifiant} du {@link Project projet}.
+     *
+     * @return Une valeur booléenne vérifiant si l'utilisateur connecté possède le {@link Project projet} demandé.
+     */
+    public boolean ownsProject(Long projectId) {
+
+        if(projectId == null) return false; // Un projet sans identifiant (pas encore créé) n'appartient à personne
+        if(projectIds != null) return Arrays.binarySearch(projectIds, projectId) >= 0; // Identifiants déjà chargés : aucune requête
+
+        return ownedProjects.computeIfAbsent(projectId, key -> projectOwnershipLoader.test(key, id));
+    }
+
+    /**
+     * Charge, une seule fois par requête http, les identifiants triés des {@link Project projet}s de l'utilisateur connecté.
+     * Utile avant de vérifier la possession de plusieurs projets : une seule requête remplace alors une requête par projet.
+     */
+    public void preloadOwnedProjects() { if(projectIds == null) projectIds = projectIdsLoader.apply(id); }
+
+    /**
+     * Vérifie si le {@link Language langage} demandé est dans l'un des {@link Project projet}s de l'utilisateur connecté
+     * (une requête d'existence est envoyée une seule fois par langage et par requête http).
+     *
+     * @param languageId L'{@link Long identifiant} du {@link Language langage}.
+     *
+     * @return Une valeur booléenne vérifiant si le {@link Language langage} demandé est dans l'un des {@link Project projet}s de l'utilisateur connecté.
+     */
+    public boolean ownsLanguage(Long languageId) {
+
+        if(languageId == null) return false; // Un langage sans identifiant (pas encore créé) n'est dans aucun projet
+        return ownedLanguages.computeIfAbsent(languageId, key -> languageOwnershipLoader.test(key, id));
+    }
+
+    /**
+     * Oublie les réponses déjà obtenues pour la possession des {@link Project projet}s et {@link Language langage}s
+     * (à appeler après une modification de ces associations au cours de la requête http).
+     */
+    public void forgetOwnerships() {
+
+        projectIds = null;
+        ownedProjects.clear();
+        ownedLanguages.clear();
+    }
+
+    /****************************************************************/
+    /**************   ⬇️    GETTERS & SETTERS    ⬇️   **************/
+    /***************************************************************/
+
+    /**
+     * Récupère l'{@link Long identifiant} de l'utilisateur connecté.
+     *
+     * @return L'{@link Long Identifiant} de l'utilisateur actuellement connecté.
+     */
+    @Override
+    public Long getId() { return id; }
+
+    /**
+     * Récupère le {@link String nom d'utilisateur} de l'utilisateur connecté.
+     *
+     * @return Le {@link String nom d'utilisateur} de l'utilisateur actuellement connecté.
+     */
+    @Override
+    public String getUsername() { return username; }
+
+    /**
+     * Vérifie si l'utilisateur connecté est vérifié.
+     *
+     * @return Une {@link Boolean valeur booléenne}.
+     */
+    public boolean isVerified() { return isVerified; }
+
+    /**
+     * Récupère le modèle entier de l'{@link User utilisateur} connecté, chargé depuis la base de données lors du premier appel
+     * (au sein de la transaction ou de la session de l'appelant, ses associations peuvent donc être chargées à la demande).
+     *
+     * @return Le modèle entier de l'{@link User utilisateur} connecté, ou 'null' s'il n'existe plus.
+     */
+    public User getUser() {
+
+        // Si le modèle de l'utilisateur n'a pas encore été chargé, on le charge
+        if(!isLoaded) {
+
+            userModel = userLoader.apply(id);
+            isLoaded = true;
+        }
+
+        return userModel; // Renvoie le modèle de l'utilisateur
+    }
+}
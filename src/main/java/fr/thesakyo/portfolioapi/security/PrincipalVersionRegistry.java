@@ -0,0 +1,60 @@
+package fr.thesakyo.portfolioapi.security;
+
+import fr.thesakyo.portfolioapi.models.entities.User;
+import fr.thesakyo.portfolioapi.security.jwt.JwtUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class PrincipalVersionRegistry {
+
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>(); // Version actuelle des informations d'authentification de chaque utilisateur.
+
+    /*******************************************************************/
+    /**************   ⬇️    MÉTHODES DE VERSION   ⬇️   **************/
+    /******************************************************************/
+
+    /**
+     * Récupère la version actuelle des informations d'authentification (rôles, vérification, nom) d'un {@link User utilisateur}.
+     * Cette version est signée dans les jetons (token) générés par {@link JwtUtils}.
+     *
+     * @param userId L'{@link Long identifiant} de l'{@link User utilisateur}.
+     *
+     * @return La version actuelle des informations d'authentification de l'{@link User utilisateur}.
+     */
+    public long getVersion(Long userId) { return userId == null ? 0L : versions.getOrDefault(userId, 0L); }
+
+    /**
+     * Incrémente la version des informations d'authentification d'un {@link User utilisateur}, ce qui invalide les revendications
+     * de ses jetons (token) actuels : ses informations sont alors rechargées depuis la base de données.
+     * Si une transaction est en cours, la version est incrémentée après sa validation.
+     *
+     * @param userId L'{@link Long identifiant} de l'{@link User utilisateur}.
+     */
+    public void bump(Long userId) {
+
+        if(userId == null) return; // Si l'identifiant est 'null', il n'y a rien à incrémenter
+
+        // Si aucune transaction n'est en cours, on incrémente directement la version
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            versions.merge(userId, 1L, Long::sum);
+            return;
+        }
+
+        // Sinon, on incrémente la version une fois la transaction validée
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() { versions.merge(userId, 1L, Long::sum); }
+        });
+    }
+}
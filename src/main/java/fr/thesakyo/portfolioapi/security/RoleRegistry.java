@@ -0,0 +1,141 @@
+package fr.thesakyo.portfolioapi.security;
+
+import fr.thesakyo.portfolioapi.enums.ERole;
+import fr.thesakyo.portfolioapi.models.entities.Role;
+import fr.thesakyo.portfolioapi.repositories.RoleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+@Component
+public class RoleRegistry {
+
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    @Autowired
+    private RoleRepository roleRepository; // Référentiel faisant référence aux rôles de la base de données.
+
+    /*******************************/
+
+    private volatile Snapshot snapshot; // Instantané immuable des rôles de la base de données (chargé lors de sa première utilisation).
+
+    /****************************************************************/
+    /**************   ⬇️    MÉTHODES DU REGISTRE    ⬇️   **************/
+    /***************************************************************/
+
+    /**
+     * Récupère le {@link Role rôle} correspondant à son {@link ERole nom}.
+     *
+     * @param name Le {@link ERole nom} du {@link Role rôle}.
+     *
+     * @return Le {@link Role rôle} correspondant, ou 'null' s'il n'existe pas en base de données.
+     */
+    public Role getRole(ERole name) {
+
+        Role role = getSnapshot().roles().get(name); // Récupère le rôle depuis l'instantané
+        return role != null ? role : refresh().roles().get(name); // Si le rôle est introuvable, on recharge l'instantané (rôle ajouté entre-temps)
+    }
+
+    /**
+     * Récupère le {@link Role rôle} correspondant à son {@link Long identifiant}.
+     *
+     * @param id L'{@link Long identifiant} du {@link Role rôle}.
+     *
+     * @return Le {@link Role rôle} correspondant, ou 'null' s'il n'existe pas en base de données.
+     */
+    public Role getRoleById(Long id) {
+
+        if(id == null) return null; // Si l'identifiant est 'null', il n'y a aucun rôle
+
+        Role role = getSnapshot().rolesById().get(id); // Récupère le rôle depuis l'instantané
+        return role != null ? role : refresh().rolesById().get(id); // Si le rôle est introuvable, on recharge l'instantané (rôle ajouté entre-temps)
+    }
+
+    /**
+     * Récupère le {@link Role rôle} demandé ainsi que tous les {@link Role rôle}s qu'il implique (les rôles inférieurs de la hiérarchie).
+     * La hiérarchie suit l'ordre de l'{@link ERole énumération} : chaque rôle implique les rôles déclarés après lui.
+     *
+     * @param name Le {@link ERole nom} du {@link Role rôle}.
+     *
+     * @return Une {@link Set liste} immuable du {@link Role rôle} et des {@link Role rôle}s qu'il implique.
+     */
+    public Set<Role> getRoleWithImplied(ERole name) {
+
+        Set<Role> roles = getSnapshot().closures().get(name); // Récupère la fermeture du rôle depuis l'instantané
+        return roles != null ? roles : refresh().closures().getOrDefault(name, Set.of());
+    }
+
+    /**
+     * Précharge l'instantané des {@link Role rôle}s au démarrage de l'application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() { refresh(); }
+
+    /**
+     * Recharge l'instantané des {@link Role rôle}s depuis la base de données (à appeler après une modification des rôles).
+     *
+     * @return Le nouvel instantané des {@link Role rôle}s.
+     */
+    public Snapshot refresh() {
+
+        Map<ERole, Role> roles = new EnumMap<>(ERole.class); // Rôles par nom
+        Map<Long, Role> rolesById = new HashMap<>(); // Rôles par identifiant
+
+        for(Role loadedRole : roleRepository.findAll()) {
+
+            // Copie le rôle : l'instantané est partagé entre les requêtes, il ne doit donc être attaché à aucune session
+            Role role = new Role(loadedRole.getName(), loadedRole.getSeverity(), loadedRole.getDescription());
+            role.setId(loadedRole.getId());
+
+            roles.put(role.getName(), role);
+            rolesById.put(role.getId(), role);
+        }
+
+        /**************************************/
+
+        // Calcule la fermeture de chaque rôle (le rôle et les rôles déclarés après lui dans l'énumération)
+        Map<ERole, Set<Role>> closures = new EnumMap<>(ERole.class);
+
+        for(ERole name : ERole.values()) {
+
+            Set<Role> closure = new HashSet<>();
+            for(ERole implied : ERole.values()) if(implied.ordinal() >= name.ordinal() && roles.containsKey(implied)) closure.add(roles.get(implied));
+
+            closures.put(name, Collections.unmodifiableSet(closure));
+        }
+
+        /**************************************/
+
+        snapshot = new Snapshot(Collections.unmodifiableMap(roles), Map.copyOf(rolesById), Collections.unmodifiableMap(closures));
+        return snapshot; // Renvoie le nouvel instantané
+    }
+
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+
+    /**
+     * Récupère l'instantané actuel des {@link Role rôle}s, en le chargeant s'il n'existe pas encore.
+     *
+     * @return L'Instantané actuel des {@link Role rôle}s.
+     */
+    private Snapshot getSnapshot() {
+
+        Snapshot currentSnapshot = snapshot;
+        return currentSnapshot != null ? currentSnapshot : refresh();
+    }
+
+    /**
+     * Instantané immuable des {@link Role rôle}s de la base de données.
+     *
+     * @param roles Les {@link Role rôle}s par {@link ERole nom}.
+     * @param rolesById Les {@link Role rôle}s par {@link Long identifiant}.
+     * @param closures Les {@link Role rôle}s impliqués par chaque {@link ERole nom} de rôle (lui compris).
+     */
+    public record Snapshot(Map<ERole, Role> roles, Map<Long, Role> rolesById, Map<ERole, Set<Role>> closures) {}
+}
@@ -1,26 +1,37 @@
 package fr.thesakyo.portfolioapi.security;
 
+import fr.thesakyo.portfolioapi.models.entities.Language;
+import fr.thesakyo.portfolioapi.models.entities.Project;
 import fr.thesakyo.portfolioapi.models.entities.User;
-import fr.thesakyo.portfolioapi.interfaces.IConnection;
+import fr.thesakyo.portfolioapi.repositories.LanguageRepository;
+import fr.thesakyo.portfolioapi.repositories.ProjectRepository;
 import fr.thesakyo.portfolioapi.repositories.UserRepository;
 import fr.thesakyo.portfolioapi.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
-public class UserConnection implements IConnection {
+public class UserConnection {
 
-    private static User userLoggedModel; // Permettra de récupérer le modèle entier de l'utilisateur connecté
+    public static final String LOGGED_USER_ATTRIBUTE = UserConnection.class.getName() + ".LOGGED_USER"; // Attribut de la requête http contenant l'utilisateur connecté
 
-    private Long id; // Propriété concordant à l'identifiant de l'utilisateur connectée
-    private String username; // Propriété concordant au nom d'utilisateur de l'utilisateur connectée
+    public static final String CLAIMS_ATTRIBUTE = UserConnection.class.getName() + ".CLAIMS"; // Attribut de la requête http contenant les revendications du jeton validé
 
     /***************************************************/
 
     @Autowired
     private UserRepository userRepository; // Interface référentielle pour concorder à la table des utilisateurs dans la base de données.
 
+    @Autowired
+    private ProjectRepository projectRepository; // Interface référentielle pour concorder à la table des projets dans la base de données.
+
+    @Autowired
+    private LanguageRepository languageRepository; // Interface référentielle pour concorder à la table des langages dans la base de données.
+
     /***************************************************/
 
     // Utilitaire de sécurité JSON Web Token (JWT) permettant de générer un jeton (token) pour l'utilisateur [Utile pour la création de cookie permettant la connexion de l'utilisateur].
@@ -31,80 +42,107 @@ public class UserConnection implements IConnection {
     /****************************************************************************/
 
     /**
-     * Récupère l'{@link Long identifiant} de l'utilisateur connecté.
-     *
-     * @return L'{@link Long Identifiant} de l'utilisateur actuellement connecté.
-     */
-    @Override
-    public Long getId() { return id; }
-
-    /**
-     * Récupère le {@link String nom d'utilisateur} de l'utilisateur connecté.
-     *
-     * @return Le {@link String nom d'utilisateur de l'utilisateur actuellement connecté.
-     */
-    @Override
-    public String getUsername() { return username; }
-
-    /****************************************************************************/
-    /****************************************************************************/
-
-    /**
-     * Initialise la connection de l'utilisateur actuellement authentifié à partir d'une {@link HttpServletRequest requête http} envoyée en récupérant son cookie
+     * Initialise la connection de l'utilisateur actuellement authentifié à partir d'une {@link HttpServletRequest requête http} envoyée en récupérant son cookie.
+     * L'{@link LoggedUser utilisateur connecté} et les {@link Claims revendications} du jeton validé sont gardés dans les attributs de la requête http :
+     * chaque requête a donc les siens, et le jeton n'est validé qu'une seule fois par requête.
      *
      * @param request La {@link HttpServletRequest requête http} envoyée permettant de récupérer le cookie
      *
-     * @return Une instance de l'utilitaire de sécurité concordant à la connexion de l'utilisateur. [{@link UserConnection}]
+     * @return L'{@link LoggedUser utilisateur connecté} à la requête http, ou 'null' si aucun utilisateur n'est authentifié.
      */
-    public UserConnection initConnection(HttpServletRequest request) {
+    public LoggedUser initConnection(HttpServletRequest request) {
 
         String jwt = parseJwt(request); // On récupère le cookie en chaîne de caractère depuis la requête récupérée.
+        Claims claims = jwtUtils.getValidatedClaims(jwt); // On récupère les revendications du jeton validé (analysé une seule fois)
 
         /***************************************/
 
-        /**
-         * Si le cookie récupère n'est pas 'null' et bien valide, on essaie de récupérer
-         * l'utilisateur lié au cookie en récupérant son identifiant et son nom d'utilisateur
-         */
-        if(jwt != null && jwtUtils.validateJwtToken(jwt)) {
+        // Si le cookie récupère n'est pas 'null' et bien valide, on récupère l'identifiant et le nom d'utilisateur de l'utilisateur lié au cookie
+        LoggedUser loggedUser = claims != null ? new LoggedUser(Long.valueOf(claims.getId()), claims.getSubject(), this::findUser, this::findProjectIds, this::isProjectOwner, this::isLanguageOwner) : null;
 
-            this.id = Long.valueOf(jwtUtils.getIdFromJwtToken(jwt)); // Définit l'identifiant de l'utilisateur authentifié à partir du jeton du cookie
-            this.username = jwtUtils.getUserNameFromJwtToken(jwt); // Définit le nom d'utilisateur de l'utilisateur authentifié à partir du jeton du cookie
+        /***************************************/
 
-            /**********************************/
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims); // On garde les revendications du jeton validé pour la requête http en cours
+        request.setAttribute(LOGGED_USER_ATTRIBUTE, loggedUser); // On définit l'utilisateur connecté pour la requête http en cours
+        return loggedUser; // On renvoie l'utilisateur connecté
+    }
 
-            userRepository.findById(this.id).ifPresent(UserConnection::setUserLoggedModel); // On définit le modèle de l'utilisateur connecté en base de données
+    /************************************************************************/
+
+    /**
+     * Récupère les {@link Claims revendications} du jeton validé lors de l'{@link #initConnection(HttpServletRequest) initialisation de la connexion}.
+     *
+     * @param request La {@link HttpServletRequest requête http} cible.
+     *
+     * @return Les {@link Claims revendications} du jeton validé de la requête http, ou 'null' si aucun utilisateur n'est authentifié.
+     */
+    public static Claims getClaims(HttpServletRequest request) { return (Claims)request.getAttribute(CLAIMS_ATTRIBUTE); }
 
-            /**********************************/
+    /**
+     * Récupère l'{@link LoggedUser utilisateur connecté} à la requête http en cours.
+     *
+     * @return L'{@link LoggedUser utilisateur connecté} à la requête http en cours, ou 'null' si aucun utilisateur n'est authentifié.
+     */
+    public static LoggedUser getLoggedUser() {
 
-            return this; // On renvoie l'instance de la connexion de l'utilisateur.
-        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes(); // Récupère les attributs de la requête http en cours
+        if(requestAttributes == null) return null; // Si aucune requête http n'est en cours, aucun utilisateur n'est authentifié
 
-        /***************************************/
+        return (LoggedUser)requestAttributes.getAttribute(LOGGED_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
 
-        this.id = null; // L'Identifiant n'a pû être trouvée ('null')
-        this.username = null; // Le nom d'utilisateur n'a pû être trouvée ('null')
+    /**
+     * Récupère l'instance de l'{@link User utilisateur} connecté à la requête http en cours depuis la base de données
+     * (chargée une seule fois par requête, lors du premier appel).
+     *
+     * @return L'Instance de l'{@link User utilisateur} connecté depuis la base de données.
+     */
+    public static User getUserLogged() {
 
-        return null; // On renvoie 'null'.
+        LoggedUser loggedUser = getLoggedUser(); // Récupère l'utilisateur connecté à la requête http en cours
+        return loggedUser != null ? loggedUser.getUser() : null;
     }
 
     /************************************************************************/
 
     /**
-     * Récupère l'instance de l'{@link User utilisateur} connecté depuis la base de données.
+     * Récupère le modèle entier d'un {@link User utilisateur} depuis la base de données.
      *
-     * @return L'Instance de l'{@link User utilisateur} connecté depuis la base de données.
+     * @param id L'{@link Long identifiant} de l'{@link User utilisateur}.
+     *
+     * @return Le modèle entier de l'{@link User utilisateur}, ou 'null' s'il n'existe pas.
      */
-    public static User getUserLogged() { return userLoggedModel; }
+    private User findUser(Long id) { return userRepository.findById(id).orElse(null); }
 
-    /************************************************************************/
+    /**
+     * Récupère les {@link Long identifiant}s triés des {@link Project projet}s d'un {@link User utilisateur} depuis la base de données
+     * (seuls les identifiants sont chargés, pas les projets).
+     *
+     * @param id L'{@link Long identifiant} de l'{@link User utilisateur}.
+     *
+     * @return Un tableau trié des {@link Long identifiant}s des {@link Project projet}s de l'{@link User utilisateur}.
+     */
+    private long[] findProjectIds(Long id) { return projectRepository.findIdsByUserId(id).stream().mapToLong(Long::longValue).toArray(); }
 
     /**
-     * Définit le modèle entier de l'{@link User utilisateur} connecté depuis la base de données.
+     * Vérifie en base de données si un {@link Project projet} appartient à un {@link User utilisateur}.
+     *
+     * @param projectId L'{@link Long identifiant} du {@link Project projet}.
+     * @param userId L'{@link Long identifiant} de l'{@link User utilisateur}.
+     *
+     * @return Une valeur booléenne vérifiant si le {@link Project projet} appartient à l'{@link User utilisateur}.
+     */
+    private boolean isProjectOwner(Long projectId, Long userId) { return Boolean.TRUE.equals(projectRepository.existsByIdAndUserId(projectId, userId)); }
+
+    /**
+     * Vérifie en base de données si un {@link Language langage} est dans l'un des {@link Project projet}s d'un {@link User utilisateur}.
+     *
+     * @param languageId L'{@link Long identifiant} du {@link Language langage}.
+     * @param userId L'{@link Long identifiant} de l'{@link User utilisateur}.
      *
-     * @param userLoggedModel Le modèle entier de l'{@link User utilisateur} connecté depuis la base de données.
+     * @return Une valeur booléenne vérifiant si le {@link Language langage} est dans l'un des {@link Project projet}s de l'{@link User utilisateur}.
      */
-    private static void setUserLoggedModel(User userLoggedModel) { UserConnection.userLoggedModel = userLoggedModel; }
+    private boolean isLanguageOwner(Long languageId, Long userId) { return Boolean.TRUE.equals(languageRepository.existsByIdAndProjectsUserId(languageId, userId)); }
 
     /**
      * Récupère la {@link String valeur du 'cookie'} JSON Web Token (JWT) à partir d'une {@link HttpServletRequest requête http} donnée.
@@ -1,6 +1,7 @@
 package fr.thesakyo.portfolioapi.security;
 
 import fr.thesakyo.portfolioapi.enums.ERole;
+import fr.thesakyo.portfolioapi.helpers.ModificationHelper;
 import fr.thesakyo.portfolioapi.helpers.StrHelper;
 import fr.thesakyo.portfolioapi.security.jwt.AuthEntryPointJwt;
 import fr.thesakyo.portfolioapi.security.jwt.AuthTokenFilter;
@@ -140,6 +141,8 @@ public class WebSecurityConfig {
                     String[] exposedHeaders = {
                             HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS,
                             HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN,
+                            HttpHeaders.ETAG,
+                            ModificationHelper.MODIFIED_HEADER,
                     };
 
                     cors.applyPermitDefaultValues();
@@ -187,6 +190,12 @@ public class WebSecurityConfig {
                         return path.startsWith("/api/auth/signup");
                     }).permitAll();
 
+                    /**
+                     * Condition spéciale pour '/api/users/all' (La liste des utilisateurs expose leur adresse e-mail) :
+                     * déclarée avant l'accès public aux 'endpoints' en 'GET', la première règle correspondante étant appliquée
+                     */
+                    auth = configureRequestMatchers(auth, HttpMethod.GET, new String[] { "/api/users/all" }, ERole.ROLE_ADMIN, ERole.ROLE_SUPERADMIN);
+
                     /**************************************************/
 
                     // Configure l'accès aux 'endpoints' avec la méthode http 'GET' (Autorisation d'accès pour tous)
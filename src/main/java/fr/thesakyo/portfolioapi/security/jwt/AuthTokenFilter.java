@@ -1,15 +1,19 @@
 package fr.thesakyo.portfolioapi.security.jwt;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.thesakyo.portfolioapi.exceptions.UnauthorizedException;
 import fr.thesakyo.portfolioapi.exceptions.throwables.UserNameNotMatchingCause;
+import fr.thesakyo.portfolioapi.helpers.MapperHelper;
+import fr.thesakyo.portfolioapi.models.entities.authentication.UserDetailsImpl;
+import fr.thesakyo.portfolioapi.security.LoggedUser;
 import fr.thesakyo.portfolioapi.security.UserConnection;
 import fr.thesakyo.portfolioapi.services.authentication.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -31,6 +35,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
       @Autowired
       private UserDetailsServiceImpl userDetailsService; // Service concordant à la connexion/inscription de l'utilisateur.
 
+      @Autowired
+      private JwtUtils jwtUtils; // Utilitaire de sécurité JSON Web Token (JWT) permettant de lire les revendications du jeton (token).
+
       /*******************************************************************/
       /*******************************************************************/
 
@@ -55,7 +62,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
           try {
 
               // On initialise la connexion de l'utilisateur connecté à partir de la requête http
-              UserConnection userLogged = userConnection.initConnection(request);
+              LoggedUser userLogged = userConnection.initConnection(request);
 
               /******************************************/
 
@@ -65,10 +72,27 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                */
               if(userLogged != null) {
 
+                Claims claims = UserConnection.getClaims(request); // Revendications du jeton, déjà validé lors de l'initialisation de la connexion
+
+                // On essaie de construire l'utilisateur authentifié directement depuis les revendications du jeton (mode sans état)
+                UserDetails userDetails = jwtUtils.getPrincipalFromClaims(claims);
+
                /**
-                *  On essaie de recharger et récupéré l'utilisateur authentifié (en cas de soucis, cette méthode peut générer des exceptions, dans ce cas les exceptions seront gérés plus bas)
+                *  Sinon, on essaie de recharger et récupéré l'utilisateur authentifié (en cas de soucis, cette méthode peut générer des exceptions, dans ce cas les exceptions seront gérés plus bas)
                 */
-                UserDetails userDetails = userDetailsService.loadCompletelyUser(userLogged.getId(), userLogged.getUsername());
+                if(userDetails == null) {
+
+                    userDetails = userDetailsService.loadCompletelyUser(userLogged.getId(), userLogged.getUsername());
+
+                    /**
+                     * En mode sans état, on renvoie un nouveau jeton contenant les revendications à jour de l'utilisateur rechargé,
+                     * expirant en même temps que le jeton d'origine (la session n'est jamais prolongée)
+                     */
+                    if(jwtUtils.isStatelessPrincipal() && claims != null && claims.getExpiration() != null && userDetails instanceof UserDetailsImpl userPrincipal)
+                        response.addHeader(HttpHeaders.SET_COOKIE, jwtUtils.refreshJwtCookie(userPrincipal, claims.getExpiration()).toString());
+                }
+
+                userLogged.authenticate(userDetails); // On précalcule les autorisations de l'utilisateur connecté (masque des rôles et vérification)
 
                 /**************************************/
                 /**************************************/
@@ -125,7 +149,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                         /**************************************************/
 
                         Map<String, Object> responseErrorMap = getUsernameErrorJSON(unauthorizedException, initialCause); // Génère le crops de la réponse d'erreur de type JSON a envoyé
-                        response.getWriter().write(new ObjectMapper().writeValueAsString(responseErrorMap)); // On renvoie le dictionnaire 'map' dans l'erreur de la réponse http
+                        response.getWriter().write(MapperHelper.getObjectMapper().writeValueAsString(responseErrorMap)); // On renvoie le dictionnaire 'map' dans l'erreur de la réponse http
                     }
                 }
                 // ⬆️ Si l'exception est une exception de type 'Non Autorisé', on renvoie une erreur personnalisée à partir de l'exception côté 'front' ⬆️ //
@@ -1,42 +1,161 @@
 package fr.thesakyo.portfolioapi.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import fr.thesakyo.portfolioapi.models.entities.authentication.UserDetailsImpl;
+import fr.thesakyo.portfolioapi.security.PrincipalVersionRegistry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
 public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class); // Un enregistreur 'Logger' permettant d'effectuer des messages consoles.
 
+    public static final String NAME_CLAIM = "name"; // Revendication contenant le nom de l'utilisateur.
+    public static final String ROLES_CLAIM = "roles"; // Revendication contenant les noms des rôles de l'utilisateur.
+    public static final String VERIFIED_CLAIM = "verified"; // Revendication disant si l'utilisateur est vérifié.
+    public static final String VERSION_CLAIM = "pv"; // Revendication contenant la version des informations d'authentification de l'utilisateur.
+
     @Value("${d2planapi.app.jwtSecret}")
     private String jwtSecret; // Clé secrète pour cet utilitaire de sécurité permettant de générer un jeton (token).
+    @Value("${d2planapi.app.jwtKeyId:default}")
+    private String jwtKeyId; // Identifiant ('kid') de la clé secrète actuelle, renseigné dans l'en-tête des jetons (token) générés.
+    @Value("${d2planapi.app.jwtPreviousSecrets:}")
+    private String jwtPreviousSecrets; // Anciennes clés secrètes encore acceptées pour la vérification des jetons (format : 'kid:secret,kid:secret').
     @Value("${d2planapi.app.jwtExpirationMs}")
     private int jwtExpirationMs; // Expiration en millisecond pour cet utilitaire de sécurité permettant de générer un jeton (token).
     @Value("${d2planapi.app.jwtCookieName}")
     private String jwtCookie; // nom du 'cookie' qui sera utilisé pour cet utilitaire de sécurité permettant de générer un jeton (token).
+    @Value("${d2planapi.app.jwtClaimsCacheMaxSize:10000}")
+    private long jwtClaimsCacheMaxSize; // Nombre maximal de jetons (token) validés gardés en cache.
+    @Value("${d2planapi.app.jwtStatelessPrincipal:false}")
+    private boolean jwtStatelessPrincipal; // L'Utilisateur authentifié est-il construit depuis les revendications du jeton (token), sans passer par la base de données ?
+    @Value("${d2planapi.app.jwtPrincipalMaxAgeMs:300000}")
+    private long jwtPrincipalMaxAgeMs; // Durée (en millisecondes) pendant laquelle les revendications d'un jeton (token) sont utilisées sans être rechargées.
+
+    @Autowired
+    private PrincipalVersionRegistry principalVersionRegistry; // Registre des versions des informations d'authentification des utilisateurs.
+
+    private Cache<String, CachedClaims> claimsCache; // Cache des revendications des jetons (token) validés, par empreinte du jeton (expire avec le jeton).
+
+    private volatile SigningKeys signingKeys; // Clés actuelles de signature et de vérification (remplacées en entier lors d'une rotation des clés).
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Initialise les clés de signature/vérification, l'analyseur des jetons (token) et le cache borné des revendications des jetons validés.
+     */
+    @PostConstruct
+    private void init() {
+
+        loadKeys(jwtKeyId, jwtSecret, jwtPreviousSecrets); // Construit les clés depuis la configuration
+
+        /**************************************/
+
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(jwtClaimsCacheMaxSize)
+                .expireAfter(new Expiry<String, CachedClaims>() {
+
+                    // Les revendications sont gardées en cache jusqu'à l'expiration du jeton (ni une lecture, ni une mise à jour ne la prolonge)
+                    @Override
+                    public long expireAfterCreate(String digest, CachedClaims cachedClaims, long currentTime) { return getTimeToExpiration(cachedClaims.claims()).toNanos(); }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, CachedClaims cachedClaims, long currentTime, long currentDuration) { return getTimeToExpiration(cachedClaims.claims()).toNanos(); }
+
+                    @Override
+                    public long expireAfterRead(String digest, CachedClaims cachedClaims, long currentTime, long currentDuration) { return currentDuration; }
+                })
+                .build();
+    }
+
+    /**
+     * Charge les clés de signature et de vérification des jetons (token) : au démarrage, puis à chaque rotation des clés (sans redémarrage).
+     * Un jeton déjà en cache dont la clé n'est plus acceptée (identifiant 'kid' retiré, ou clé secrète changée) est de nouveau refusé.
+     *
+     * @param keyId L'{@link String identifiant} ('kid') de la clé secrète actuelle.
+     * @param secret La {@link String clé secrète} actuelle, encodée en base 64.
+     * @param previousSecrets Les anciennes clés secrètes encore acceptées pour la vérification (format : 'kid:secret,kid:secret').
+     */
+    public void loadKeys(String keyId, String secret, String previousSecrets) {
+
+        Key signingKey = key(secret); // Construit la clé actuelle
+
+        // Construit les clés acceptées pour la vérification (la clé actuelle et les anciennes clés)
+        Map<String, Key> keys = new HashMap<>();
+        keys.put(keyId, signingKey);
+
+        for(String previousSecret : previousSecrets.split(",")) {
+
+            if(previousSecret.isBlank()) continue; // Ignore les entrées vides
+
+            String[] entry = previousSecret.trim().split(":", 2); // Sépare l'identifiant et la clé secrète
+            if(entry.length != 2) throw new IllegalStateException("Ancienne clé JSON Web Token (JWT) mal formée, format attendu : 'kid:secret'");
+
+            keys.putIfAbsent(entry[0].trim(), key(entry[1].trim()));
+        }
+
+        Map<String, Key> verificationKeys = Map.copyOf(keys);
+
+        /**************************************/
+
+        // Construit l'analyseur des jetons, la clé de vérification est choisie selon l'identifiant ('kid') de l'en-tête du jeton
+        JwtParser parser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+
+                Key verificationKey = header.getKeyId() == null ? signingKey : verificationKeys.get(header.getKeyId());
+                if(verificationKey == null) throw new SignatureException("Aucune clé ne correspond à l'identifiant '" + header.getKeyId() + "'");
+
+                return verificationKey;
+            }
+
+        }).build();
+
+        signingKeys = new SigningKeys(keyId, signingKey, verificationKeys, parser); // Remplace les clés en une seule fois
+    }
 
     /*******************************************************************/
     /*******************************************************************/
 
     /**
-     * Génère une {@link Key clé} à partir de la clé secrète de la propriété 'jwtSecret' donnée dans la configuration 'application.properties'.
+     * Génère une {@link Key clé} à partir d'une clé secrète (encodée en base 64) donnée dans la configuration 'application.properties'.
      *
-     * @return Une {@link Key clé} à partir de la clé secrète de la propriété 'jwtSecret' donnée dans la configuration 'application.properties'.
+     * @param secret La {@link String clé secrète} encodée en base 64.
+     *
+     * @return Une {@link Key clé} à partir de la clé secrète donnée.
      */
-    private Key key() { return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)); }
+    private static Key key(String secret) { return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)); }
 
     /*******************************************************************/
 
@@ -47,10 +166,27 @@ public class JwtUtils {
      */
     public ResponseCookie generateJwtCookie(UserDetailsImpl userPrincipal) {
 
-      String jwt = generateTokenFromUsername(userPrincipal.getId(), userPrincipal.getUsername());
+      String jwt = generateTokenFromPrincipal(userPrincipal);
       return ResponseCookie.from(jwtCookie, jwt).path("/api").maxAge(24 * 60 * 60).httpOnly(true).build();
     }
 
+    /**
+     * Génère une nouvelle {@link ResponseCookie réponse du 'cookie'} JSON Web Token (JWT) contenant les revendications à jour de l'utilisateur rechargé,
+     * sans prolonger la session : le nouveau jeton garde l'expiration du jeton d'origine (la durée de vie absolue d'une connexion reste inchangée).
+     *
+     * @param userPrincipal Les {@link UserDetailsImpl détails de l'utilisateur} rechargés.
+     * @param expiration La {@link Date date d'expiration} du jeton d'origine.
+     *
+     * @return Une {@link ResponseCookie réponse du 'cookie'} JSON Web Token (JWT) rafraîchie, expirant en même temps que le jeton d'origine.
+     */
+    public ResponseCookie refreshJwtCookie(UserDetailsImpl userPrincipal, Date expiration) {
+
+      long remainingSeconds = Math.max(0L, (expiration.getTime() - System.currentTimeMillis()) / 1000L); // Durée de vie restante du jeton d'origine
+
+      String jwt = generateTokenFromPrincipal(userPrincipal, expiration);
+      return ResponseCookie.from(jwtCookie, jwt).path("/api").maxAge(Math.min(24 * 60 * 60, remainingSeconds)).httpOnly(true).build();
+    }
+
     /**
      * Récupère la {@link String valeur du 'cookie'} JSON Web Token (JWT) à partir de la {@link HttpServletRequest requête http} donnée.
      *
@@ -87,28 +223,85 @@ public class JwtUtils {
      */
     public String generateTokenFromUsername(Long id, String username) {
 
-      return Jwts.builder().setId(String.valueOf(id)).setSubject(username).setIssuedAt(new Date())
+      SigningKeys keys = signingKeys; // Récupère les clés actuelles
+
+      return Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, keys.keyId()).setId(String.valueOf(id)).setSubject(username).setIssuedAt(new Date())
                  .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                 .signWith(key(), SignatureAlgorithm.HS256).compact();
+                 .signWith(keys.signingKey(), SignatureAlgorithm.HS256).compact();
     }
 
     /**
-     * Récupère un {@link String nom d'utilisateur} à partir d'un jeton 'token' du cookie donné depuis JSON Web Token (JWT).
+     * Génère un {@link String jeton 'token'} à partir des {@link UserDetailsImpl détails de l'utilisateur}, en y signant ses rôles,
+     * son nom, sa vérification et la version de ses informations d'authentification (utile pour construire l'utilisateur authentifié sans base de données).
      *
-     * @param token Le {@link String jeton 'token'} du cookie dont il est question.
+     * @param userPrincipal Les {@link UserDetailsImpl détails de l'utilisateur} dont il est question.
      *
-     * @return Un {@link String nom d'utilisateur} à partir d'un {@link String jeton 'token'} du cookie donné depuis JSON Web Token (JWT).
+     * @return Un {@link String jeton 'token'} pour le cookie de l'utilisateur à partir de ses {@link UserDetailsImpl détails}.
      */
-    public String getUserNameFromJwtToken(String token) { return getJwtToken(token).getSubject(); }
+    public String generateTokenFromPrincipal(UserDetailsImpl userPrincipal) { return generateTokenFromPrincipal(userPrincipal, new Date((new Date()).getTime() + jwtExpirationMs)); }
+
+    /**
+     * Génère un {@link String jeton 'token'} à partir des {@link UserDetailsImpl détails de l'utilisateur}, avec une date d'expiration donnée.
+     *
+     * @param userPrincipal Les {@link UserDetailsImpl détails de l'utilisateur} dont il est question.
+     * @param expiration La {@link Date date d'expiration} du jeton.
+     *
+     * @return Un {@link String jeton 'token'} pour le cookie de l'utilisateur à partir de ses {@link UserDetailsImpl détails}.
+     */
+    private String generateTokenFromPrincipal(UserDetailsImpl userPrincipal, Date expiration) {
+
+      List<String> roles = userPrincipal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList(); // Récupère les noms des rôles de l'utilisateur
+      SigningKeys keys = signingKeys; // Récupère les clés actuelles
+
+      return Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, keys.keyId()).setId(String.valueOf(userPrincipal.getId())).setSubject(userPrincipal.getUsername())
+                 .claim(NAME_CLAIM, userPrincipal.getName()).claim(ROLES_CLAIM, roles).claim(VERIFIED_CLAIM, userPrincipal.isEnabled())
+                 .claim(VERSION_CLAIM, principalVersionRegistry.getVersion(userPrincipal.getId())).setIssuedAt(new Date())
+                 .setExpiration(expiration)
+                 .signWith(keys.signingKey(), SignatureAlgorithm.HS256).compact();
+    }
 
     /**
-     * Récupère l'{@link String identifiant} à partir d'un jeton 'token' du cookie donné depuis JSON Web Token (JWT).
+     * Construit les {@link UserDetailsImpl détails de l'utilisateur} authentifié directement depuis les {@link Claims revendications} d'un jeton (token) validé.
+     * Renvoie 'null' si le mode sans état est désactivé, si le jeton ne contient pas les revendications nécessaires, s'il est trop ancien,
+     * ou si les informations d'authentification de l'utilisateur ont changé depuis sa génération : l'utilisateur doit alors être rechargé.
      *
-     * @param token Le {@link String jeton 'token'} du cookie dont il est question.
+     * @param claims Les {@link Claims revendications} du jeton validé.
+     *
+     * @return Les {@link UserDetailsImpl détails de l'utilisateur} authentifié, ou 'null'.
+     */
+    public UserDetailsImpl getPrincipalFromClaims(Claims claims) {
+
+      if(!jwtStatelessPrincipal || claims == null) return null; // Si le mode sans état est désactivé, l'utilisateur doit être rechargé
+
+      List<?> roles = claims.get(ROLES_CLAIM, List.class); // Récupère les noms des rôles de l'utilisateur
+      Number version = claims.get(VERSION_CLAIM, Number.class); // Récupère la version des informations d'authentification
+      Boolean isVerified = claims.get(VERIFIED_CLAIM, Boolean.class); // Récupère la vérification de l'utilisateur
+
+      /**************************************/
+
+      // Si le jeton ne contient pas les revendications nécessaires (jeton généré avant le mode sans état), l'utilisateur doit être rechargé
+      if(roles == null || version == null || isVerified == null || claims.getIssuedAt() == null) return null;
+
+      // Si les revendications du jeton sont trop anciennes, l'utilisateur doit être rechargé
+      if(System.currentTimeMillis() - claims.getIssuedAt().getTime() > jwtPrincipalMaxAgeMs) return null;
+
+      Long id = Long.valueOf(claims.getId()); // Récupère l'identifiant de l'utilisateur
+
+      // Si les informations d'authentification de l'utilisateur ont changé depuis la génération du jeton, l'utilisateur doit être rechargé
+      if(version.longValue() != principalVersionRegistry.getVersion(id)) return null;
+
+      /**************************************/
+
+      List<GrantedAuthority> authorities = roles.stream().map(role -> (GrantedAuthority)new SimpleGrantedAuthority(String.valueOf(role))).toList();
+      return new UserDetailsImpl(id, claims.get(NAME_CLAIM, String.class), claims.getSubject(), null, isVerified, authorities);
+    }
+
+    /**
+     * Vérifie si l'utilisateur authentifié est construit depuis les revendications du jeton (token), sans passer par la base de données.
      *
-     * @return Un {@link String nom d'utilisateur} à partir d'un {@link String jeton 'token'} du cookie donné depuis JSON Web Token (JWT).
+     * @return Une {@link Boolean valeur booléenne}.
      */
-    public String getIdFromJwtToken(String token) { return getJwtToken(token).getId(); }
+    public boolean isStatelessPrincipal() { return jwtStatelessPrincipal; }
 
     /*******************************************************************/
     /*******************************************************************/
@@ -120,30 +313,114 @@ public class JwtUtils {
      *
      * @return Une {@link Boolean valeur booléenne}.
      */
-    public boolean validateJwtToken(String authToken) {
+    public boolean validateJwtToken(String authToken) { return getValidatedClaims(authToken) != null; }
+
+    /**
+     * Récupère les {@link Claims revendications} d'un {@link String jeton 'token'} après avoir vérifié sa signature et son expiration.
+     * Le jeton n'est analysé qu'une seule fois : ses revendications sont ensuite gardées en cache (par empreinte du jeton) jusqu'à son expiration,
+     * avec la clé qui a vérifié sa signature. Après une rotation des clés, un jeton en cache n'est accepté que si cette clé l'est toujours.
+     *
+     * @param authToken Le {@link String jeton 'token'} du cookie authentifié dont il est question.
+     *
+     * @return Les {@link Claims revendications} du jeton, ou 'null' si le jeton est invalide.
+     */
+    public Claims getValidatedClaims(String authToken) {
+
+      if(authToken == null || authToken.isBlank()) return null; // Si le jeton est vide, il est invalide
+
+      String digest = getDigest(authToken); // Récupère l'empreinte du jeton
+      SigningKeys keys = signingKeys; // Récupère les clés actuelles (les mêmes pour toute la validation)
+
+      /**************************************/
+
+      // Si les revendications du jeton sont déjà en cache, on les renvoie directement, si la clé qui a vérifié le jeton est toujours acceptée
+      CachedClaims cachedClaims = claimsCache.getIfPresent(digest);
+
+      if(cachedClaims != null) {
+
+        if(cachedClaims.key() == keys.getVerificationKey(cachedClaims.keyId())) return cachedClaims.claims();
+
+        claimsCache.invalidate(digest); // La clé a été retirée ou changée : le jeton est de nouveau vérifié
+      }
+
+      /**************************************/
 
       try {
 
-        Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-        return true;
+        Jws<Claims> jws = keys.parser().parseClaimsJws(authToken); // Analyse le jeton et vérifie sa signature
+        String keyId = jws.getHeader().getKeyId(); // Identifiant ('kid') de la clé ayant vérifié le jeton
+
+        claimsCache.put(digest, new CachedClaims(keyId, keys.getVerificationKey(keyId), jws.getBody())); // Met en cache les revendications du jeton
+        return jws.getBody();
 
       } catch(MalformedJwtException e) { logger.error("Jeton JSON Web Token (JWT) invalide : {}", e.getMessage()); }
       catch(ExpiredJwtException e) { logger.error("Le jeton JSON Web Token (JWT) a expiré : {}", e.getMessage()); }
       catch(UnsupportedJwtException e) { logger.error("Le jeton JSON Web Token (JWT) n'est pas pris en charge : {}", e.getMessage()); }
       catch(IllegalArgumentException e) { logger.error("La chaîne de revendications JSON Web Token (JWT) est vide : {}", e.getMessage()); }
+      catch(JwtException e) { logger.error("La signature du jeton JSON Web Token (JWT) est invalide : {}", e.getMessage()); }
 
-      return false;
+      return null;
     }
 
     /*******************************************************************/
     /*******************************************************************/
 
     /**
-     * Récupère à partir d'un jeton 'token' du cookie donné le JSON Web Token (JWT).
+     * Calcule l'empreinte (SHA-256) d'un {@link String jeton 'token'}, utilisée comme clé du cache (le jeton lui-même n'est jamais gardé).
+     *
+     * @param token Le {@link String jeton 'token'} dont il est question.
+     *
+     * @return L'empreinte du {@link String jeton 'token'} encodée en base 64.
+     */
+    private static String getDigest(String token) {
+
+      try { return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8))); }
+      catch(NoSuchAlgorithmException e) { throw new IllegalStateException(e); }
+    }
+
+    /**
+     * Calcule la durée restante avant l'expiration des {@link Claims revendications} d'un jeton (durée de vie dans le cache).
      *
-     * @param token Le {@link String jeton 'token'} du cookie dont il est question.
+     * @param claims Les {@link Claims revendications} du jeton.
+     *
+     * @return La {@link Duration durée} restante avant l'expiration du jeton.
+     */
+    private static Duration getTimeToExpiration(Claims claims) {
+
+      if(claims.getExpiration() == null) return Duration.ZERO; // Un jeton sans expiration n'est pas gardé en cache
+      Duration duration = Duration.between(Instant.now(), claims.getExpiration().toInstant());
+      return duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+    /*********************************************************************/
+
+    /**
+     * Clés de signature et de vérification des jetons (token), avec leur analyseur : immuables, elles sont remplacées en entier lors d'une rotation.
+     *
+     * @param keyId L'Identifiant ('kid') de la clé actuelle.
+     * @param signingKey La Clé actuelle, permettant de signer les jetons.
+     * @param verificationKeys Les Clés acceptées pour la vérification des jetons, par identifiant ('kid').
+     * @param parser L'Analyseur des jetons, partagé entre toutes les requêtes (la clé de vérification est choisie selon l'identifiant de l'en-tête du jeton).
+     */
+    private record SigningKeys(String keyId, Key signingKey, Map<String, Key> verificationKeys, JwtParser parser) {
+
+        /**
+         * Récupère la {@link Key clé} de vérification correspondant à l'identifiant ('kid') de l'en-tête d'un jeton (token).
+         * Un jeton sans identifiant (généré avant la rotation des clés) est vérifié avec la clé actuelle.
+         *
+         * @param keyId L'{@link String identifiant} ('kid') de la clé.
+         *
+         * @return La {@link Key clé} de vérification correspondante, ou 'null' si aucune clé ne correspond à l'identifiant.
+         */
+        private Key getVerificationKey(String keyId) { return keyId == null ? signingKey : verificationKeys.get(keyId); }
+    }
+
+    /**
+     * Revendications d'un jeton (token) validé, gardées en cache avec la clé qui a vérifié sa signature.
      *
-     * @return le JSON Web Token (JWT) associée {@link String jeton 'token'} du cookie dont il est question.
+     * @param keyId L'Identifiant ('kid') de l'en-tête du jeton ('null' s'il n'en a pas).
+     * @param key La Clé qui a vérifié la signature du jeton.
+     * @param claims Les Revendications du jeton.
      */
-    private Claims getJwtToken(String token) { return Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody(); }
-}
\ No newline at end of file
+    private record CachedClaims(String keyId, Key key, Claims claims) {}
+}
@@ -0,0 +1,340 @@
+package fr.thesakyo.portfolioapi.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.thesakyo.portfolioapi.interfaces.IEntityDAO;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Service
+public class DTOCacheService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DTOCacheService.class); // Un enregistreur 'Logger' permettant d'effectuer des messages consoles.
+
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    public static final String PROJECTS = "projects"; // Région du cache contenant les 'DTO's des projets.
+
+    public static final String LANGUAGES = "languages"; // Région du cache contenant les 'DTO's des langages.
+
+    public static final String USERS = "users"; // Région du cache contenant les 'DTO's des utilisateurs.
+
+    public static final String ROLES = "roles"; // Région du cache contenant les 'DTO's des rôles.
+
+    public static final String[] PORTFOLIO_REGIONS = { PROJECTS, LANGUAGES, USERS }; // Régions dont les 'DTO's s'incluent les uns les autres.
+
+    public static final String INVALIDATION_CHANNEL = "d2planapi:cache:invalidation"; // Canal Redis sur lequel sont publiées les invalidations.
+
+    /*******************************/
+
+    private static final String REDIS_KEY_PREFIX = "d2planapi:cache:"; // Préfixe des clés Redis des entrées du cache.
+
+    private static final String REDIS_GENERATION_PREFIX = "d2planapi:cache:generation:"; // Préfixe des clés Redis des générations des régions du cache.
+
+    private static final String KEY_SEPARATOR = "::"; // Séparateur entre la région et la clé dans le cache local.
+
+    private static final String GENERATION_SEPARATOR = "@"; // Séparateur entre la région et sa nouvelle génération Redis dans un message d'invalidation.
+
+    /*******************************/
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate; // Modèle Redis partagé par toutes les instances de l'application.
+
+    @Value("${d2planapi.app.cacheLocalMaxSize:10000}")
+    private long cacheLocalMaxSize; // Nombre maximal d'entrées dans le cache local.
+
+    @Value("${d2planapi.app.cacheLocalTtlSeconds:60}")
+    private long cacheLocalTtlSeconds; // Durée de vie (en secondes) d'une entrée dans le cache local.
+
+    @Value("${d2planapi.app.cacheRedisTtlSeconds:600}")
+    private long cacheRedisTtlSeconds; // Durée de vie (en secondes) d'une entrée dans Redis.
+
+    /*******************************/
+
+    private Cache<String, Object> localCache; // Cache local (propre à cette instance de l'application).
+
+    private final Map<String, AtomicLong> regionGenerations = new ConcurrentHashMap<>(); // Génération de chaque région, incrémentée à chaque invalidation.
+
+    private Cache<String, Long> redisGenerations; // Génération Redis connue de chaque région, mise à jour par les messages d'invalidation (relue depuis Redis à son expiration).
+
+    /***********************************************************/
+    /**************   ⬇️    INITIALISATION    ⬇️   **************/
+    /***********************************************************/
+
+    /**
+     * Initialise le cache local borné, et les générations Redis connues des régions.
+     * Une génération connue expire comme les entrées du cache local : si un message d'invalidation est perdu,
+     * une instance ne lit donc pas d'anciennes entrées Redis plus longtemps qu'elle ne garde ses propres entrées locales.
+     */
+    @PostConstruct
+    private void init() {
+
+        localCache = Caffeine.newBuilder()
+                .maximumSize(cacheLocalMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheLocalTtlSeconds))
+                .build();
+
+        redisGenerations = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(cacheLocalTtlSeconds))
+                .build();
+    }
+
+    /**********************************************************************/
+    /**************   ⬇️    MÉTHODES DE MISE EN CACHE   ⬇️   **************/
+    /**********************************************************************/
+
+    /**
+     * Récupère une valeur depuis le cache local, puis depuis Redis, et la charge sinon via la fonction donnée.
+     * Une valeur 'null' (entité introuvable) n'est jamais mise en cache.
+     * Les entrées Redis sont rangées sous la génération Redis de leur région : une valeur chargée pendant une invalidation
+     * (sur cette instance ou une autre) est écrite sous l'ancienne génération, que plus aucune lecture n'utilise.
+     *
+     * @param region La région du cache.
+     * @param key La clé de la valeur dans la région.
+     * @param loader La fonction de chargement de la valeur si elle est absente du cache.
+     *
+     * @param <T> Spécifie le type de la valeur (généralement un '{@link IEntityDAO DTO}').
+     *
+     * @return La valeur en cache, ou la valeur chargée.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String region, Object key, Supplier<T> loader) {
+
+        String localKey = region + KEY_SEPARATOR + key; // Clé de la valeur dans le cache local
+        long generation = getGeneration(region); // Génération de la région avant le chargement
+
+        /**************************************/
+
+        // Si la valeur est présente dans le cache local, on la renvoie directement
+        Object value = localCache.getIfPresent(localKey);
+        if(value != null) return (T)value;
+
+        // Sinon, on essaie de la récupérer depuis Redis (sous la génération actuelle de la région), puis depuis la fonction de chargement
+        Long redisGeneration = getRedisGeneration(region); // 'null' si Redis est indisponible
+        value = redisGeneration != null ? getFromRedis(region, redisGeneration, key) : null;
+
+        if(value == null) {
+
+            value = loader.get(); // Charge la valeur
+            if(value == null) return null; // Si la valeur n'existe pas, on ne la met pas en cache
+
+            // Envoie la valeur dans Redis, uniquement si la région n'a pas été invalidée pendant le chargement
+            if(redisGeneration != null && generation == getGeneration(region)) putInRedis(region, redisGeneration, key, value);
+        }
+
+        /**************************************/
+
+        // On met en cache localement la valeur, uniquement si la région n'a pas été invalidée pendant le chargement
+        if(generation == getGeneration(region)) localCache.put(localKey, value);
+        return (T)value; // Renvoie la valeur
+    }
+
+    /**
+     * Invalide une ou plusieurs régions du cache, localement, dans Redis, et sur les autres instances (publication Redis).
+     * Si une transaction est en cours, l'invalidation est effectuée après sa validation.
+     *
+     * @param regions Les régions du cache à invalider.
+     */
+    public void evict(String... regions) {
+
+        // Si aucune transaction n'est en cours, on invalide directement les régions
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            evictNow(regions);
+            return;
+        }
+
+        // Sinon, on invalide les régions une fois la transaction validée
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() { evictNow(regions); }
+        });
+    }
+
+    /**
+     * Reçoit un message d'invalidation publié par une instance de l'application ('région@génération'), invalide la région du cache local
+     * correspondante et retient sa nouvelle génération Redis (sans la relire depuis Redis).
+     *
+     * @param message Le {@link Message message} Redis reçu.
+     * @param pattern Le modèle du canal (non utilisé).
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+
+        // Récupère la région à invalider, suivie de sa nouvelle génération Redis
+        if(!(redisTemplate.getValueSerializer().deserialize(message.getBody()) instanceof String invalidation)) return;
+
+        int separatorIndex = invalidation.lastIndexOf(GENERATION_SEPARATOR);
+        String region = separatorIndex < 0 ? invalidation : invalidation.substring(0, separatorIndex);
+
+        evictLocal(region); // Invalide la région dans le cache local
+
+        /**************************************/
+
+        // Retient la nouvelle génération de la région ; sans génération (message d'une ancienne version), elle sera relue depuis Redis
+        try { setRedisGeneration(region, Long.parseLong(invalidation.substring(separatorIndex + 1))); }
+        catch(NumberFormatException e) { redisGenerations.invalidate(region); }
+    }
+
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+
+    /**
+     * Invalide immédiatement une ou plusieurs régions du cache.
+     *
+     * @param regions Les régions du cache à invalider.
+     */
+    private void evictNow(String... regions) {
+
+        for(String region : regions) {
+
+            evictLocal(region); // Invalide la région dans le cache local
+
+            try {
+
+                // Passe la région à une nouvelle génération dans Redis (les anciennes entrées expirent d'elles-mêmes)
+                Long generation = redisTemplate.opsForValue().increment(REDIS_GENERATION_PREFIX + region);
+                setRedisGeneration(region, generation);
+
+                redisTemplate.convertAndSend(INVALIDATION_CHANNEL, region + GENERATION_SEPARATOR + generation); // Prévient les autres instances de l'application
+
+            } catch(RuntimeException e) {
+
+                redisGenerations.invalidate(region); // La génération sera relue depuis Redis
+                logger.warn("Impossible d'invalider la région '{}' du cache Redis : {}", region, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Invalide une région du cache local.
+     *
+     * @param region La région du cache à invalider.
+     */
+    private void evictLocal(String region) {
+
+        regionGenerations.computeIfAbsent(region, _ -> new AtomicLong()).incrementAndGet(); // Incrémente la génération de la région
+
+        String prefix = region + KEY_SEPARATOR; // Préfixe des clés de la région
+        localCache.asMap().keySet().removeIf(localKey -> localKey.startsWith(prefix)); // Supprime les entrées de la région
+    }
+
+    /**
+     * Récupère la génération actuelle d'une région du cache.
+     *
+     * @param region La région du cache.
+     *
+     * @return La génération actuelle de la région.
+     */
+    private long getGeneration(String region) { return regionGenerations.computeIfAbsent(region, _ -> new AtomicLong()).get(); }
+
+    /*********************************************************************/
+
+    /**
+     * Récupère la génération actuelle d'une région dans Redis, partagée par toutes les instances de l'application (renvoie 'null' si Redis est indisponible).
+     * La génération connue localement est renvoyée directement : Redis n'est lu que si elle est inconnue ou expirée.
+     *
+     * @param region La région du cache.
+     *
+     * @return La génération Redis de la région, ou 'null'.
+     */
+    private Long getRedisGeneration(String region) {
+
+        // Si la génération de la région est connue localement, on la renvoie directement
+        Long generation = redisGenerations.getIfPresent(region);
+        if(generation != null) return generation;
+
+        /**************************************/
+
+        // Sinon, on lit la génération sans la modifier (la clé est créée à 0 si elle n'existe pas)
+        try {
+
+            generation = redisTemplate.opsForValue().increment(REDIS_GENERATION_PREFIX + region, 0L);
+            return setRedisGeneration(region, generation);
+
+        } catch(RuntimeException e) {
+
+            logger.warn("Impossible de lire la génération de la région '{}' du cache Redis : {}", region, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Retient localement la génération Redis d'une région. Les générations ne font qu'augmenter : une génération plus ancienne
+     * que celle déjà connue (ex : lue depuis Redis juste avant la réception d'une invalidation) est ignorée.
+     *
+     * @param region La région du cache.
+     * @param generation La génération Redis de la région ('null' est ignoré).
+     *
+     * @return La génération Redis connue de la région.
+     */
+    private Long setRedisGeneration(String region, Long generation) {
+
+        if(generation == null) return redisGenerations.getIfPresent(region);
+        return redisGenerations.asMap().merge(region, generation, Math::max);
+    }
+
+    /**
+     * Récupère une valeur depuis Redis (renvoie 'null' si Redis est indisponible).
+     *
+     * @param region La région du cache.
+     * @param generation La génération Redis de la région.
+     * @param key La clé de la valeur dans la région.
+     *
+     * @return La valeur récupérée, ou 'null'.
+     */
+    private Object getFromRedis(String region, long generation, Object key) {
+
+        try { return redisTemplate.opsForValue().get(getRedisKey(region, generation, key)); }
+
+        catch(RuntimeException e) {
+
+            logger.warn("Impossible de lire le cache Redis de la région '{}' : {}", region, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Envoie une valeur dans Redis, avec sa propre durée de vie (ignoré si Redis est indisponible).
+     *
+     * @param region La région du cache.
+     * @param generation La génération Redis de la région.
+     * @param key La clé de la valeur dans la région.
+     * @param value La valeur à mettre en cache.
+     */
+    private void putInRedis(String region, long generation, Object key, Object value) {
+
+        try { redisTemplate.opsForValue().set(getRedisKey(region, generation, key), value, Duration.ofSeconds(cacheRedisTtlSeconds)); }
+        catch(RuntimeException e) { logger.warn("Impossible d'écrire dans le cache Redis de la région '{}' : {}", region, e.getMessage()); }
+    }
+
+    /**
+     * Construit la clé Redis d'une entrée du cache.
+     *
+     * @param region La région du cache.
+     * @param generation La génération Redis de la région.
+     * @param key La clé de la valeur dans la région.
+     *
+     * @return La clé Redis de l'entrée.
+     */
+    private static String getRedisKey(String region, long generation, Object key) { return REDIS_KEY_PREFIX + region + ":" + generation + KEY_SEPARATOR + key; }
+}
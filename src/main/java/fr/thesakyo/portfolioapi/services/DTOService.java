@@ -2,6 +2,9 @@ package fr.thesakyo.portfolioapi.services;
 
 import fr.thesakyo.portfolioapi.interfaces.IBaseEntity;
 import fr.thesakyo.portfolioapi.interfaces.IEntityDAO;
+import fr.thesakyo.portfolioapi.models.DTO.ConversionContext;
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
@@ -11,12 +14,20 @@ import java.util.stream.Collectors;
 @Service
 public class DTOService {
 
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    @Value("${d2planapi.app.dtoMaxDepth:" + ConversionContext.DEFAULT_MAX_DEPTH + "}")
+    private int dtoMaxDepth; // Nombre maximal d'associations successives converties depuis l'entité d'origine.
+
     /********************************************************************/
     /**************   ⬇️    MÉTHODES DE CONVERSION   ⬇️   **************/
     /*******************************************************************/
 
     /**
      * Converti plusieurs {@link IBaseEntity entité} en un '{@link IEntityDAO DTO}'.
+     * Les conversions partagent un même {@link ConversionContext contexte}, chaque entité n'est donc convertie qu'une seule fois.
      *
      * @param dto Une instance de {@link IEntityDAO} pour la conversion
      *            (Utiliser une instance correspondante aux entités à convertir).
@@ -29,8 +40,29 @@ public class DTOService {
      */
     public <E extends IBaseEntity, DTO extends IEntityDAO<E, DTO>> Collection<DTO> convertToDTOs(DTO dto, Collection<E> entities) {
 
+        return convertToDTOs(dto, entities, ResponseShape.FULL);
+    }
+
+    /**
+     * Converti plusieurs {@link IBaseEntity entité} en un '{@link IEntityDAO DTO}', avec uniquement les champs et associations demandés.
+     * Les associations non demandées ne sont pas parcourues (ni chargées depuis la base de données).
+     *
+     * @param dto Une instance de {@link IEntityDAO} pour la conversion
+     *            (Utiliser une instance correspondante aux entités à convertir).
+     * @param entities une {@link Collection liste} d'{@link IBaseEntity entité}s à convertir.
+     * @param shape La {@link ResponseShape forme de réponse} demandée pour chaque entité.
+     *
+     * @param <E> Spécifie le type des {@link IBaseEntity entité}s.
+     * @param <DTO> Spécifie le type du {@link IEntityDAO DTO}.
+     *
+     * @return Le '{@link IEntityDAO DTO}' de l'{@link IBaseEntity entité}.
+     */
+    public <E extends IBaseEntity, DTO extends IEntityDAO<E, DTO>> Collection<DTO> convertToDTOs(DTO dto, Collection<E> entities, ResponseShape shape) {
+
+        ConversionContext context = createContext(shape); // Créer le contexte de conversion partagé par toutes les entités
+
         // On renvoie la liste de DTO(s) et les convertis en leur 'DTO' respectif
-        return entities.stream().map(entity -> convertToDTO(dto, entity)).collect(Collectors.toList());
+        return entities.stream().map(entity -> context.convert(dto, entity)).collect(Collectors.toList());
     }
 
     /**
@@ -45,9 +77,43 @@ public class DTOService {
      *
      * @return Le '{@link IEntityDAO DTO}' de l'{@link IBaseEntity entité}.
      */
-    public <E extends IBaseEntity, DTO extends IEntityDAO<E, DTO>> DTO convertToDTO(DTO dto, E entity) {
+    public <E extends IBaseEntity, DTO extends IEntityDAO<E, DTO>> DTO convertToDTO(DTO dto, E entity) { return convertToDTO(dto, entity, ResponseShape.FULL); }
+
+    /**
+     * Converti une {@link IBaseEntity entité} en un '{@link IEntityDAO DTO}', avec uniquement les champs et associations demandés.
+     * Les champs chargés à la demande (ex : le détail d'un projet) ne sont convertis que pour cette entité, jamais pour ses associations.
+     *
+     * @param dto Une instance de {@link IEntityDAO} pour la conversion.
+     *            (Utiliser une instance correspondante à l'entité à convertir)
+     * @param entity L'{@link IBaseEntity entité} à convertir.
+     * @param shape La {@link ResponseShape forme de réponse} demandée.
+     *
+     * @param <E> Spécifie le type de l'{@link IBaseEntity entité}.
+     * @param <DTO> Spécifie le type du {@link IEntityDAO DTO}.
+     *
+     * @return Le '{@link IEntityDAO DTO}' de l'{@link IBaseEntity entité}.
+     */
+    public <E extends IBaseEntity, DTO extends IEntityDAO<E, DTO>> DTO convertToDTO(DTO dto, E entity, ResponseShape shape) {
 
         // On renvoie le DTO et le converti en son 'DTO' respectif
-        return dto.convert(entity);
+        return createContext(shape).withLazyFields().convert(dto, entity);
     }
+
+    /*********************************************************************/
+
+    /**
+     * Créer un nouveau {@link ConversionContext contexte de conversion} avec la profondeur maximale configurée.
+     *
+     * @return Un nouveau {@link ConversionContext contexte de conversion}.
+     */
+    public ConversionContext createContext() { return createContext(ResponseShape.FULL); }
+
+    /**
+     * Créer un nouveau {@link ConversionContext contexte de conversion} avec la profondeur maximale configurée et la forme de réponse demandée.
+     *
+     * @param shape La {@link ResponseShape forme de réponse} demandée pour les entités d'origine.
+     *
+     * @return Un nouveau {@link ConversionContext contexte de conversion}.
+     */
+    public ConversionContext createContext(ResponseShape shape) { return new ConversionContext(dtoMaxDepth, shape); }
 }
@@ -0,0 +1,193 @@
+package fr.thesakyo.portfolioapi.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import fr.thesakyo.portfolioapi.enums.ERole;
+import fr.thesakyo.portfolioapi.exceptions.UnauthorizedException;
+import fr.thesakyo.portfolioapi.helpers.PaginationHelper;
+import fr.thesakyo.portfolioapi.helpers.PermissionHelper;
+import fr.thesakyo.portfolioapi.interfaces.IEntityDAO;
+import fr.thesakyo.portfolioapi.models.DTO.LanguageDTO;
+import fr.thesakyo.portfolioapi.models.DTO.ProjectDTO;
+import fr.thesakyo.portfolioapi.models.DTO.RoleDTO;
+import fr.thesakyo.portfolioapi.models.DTO.UserDTO;
+import fr.thesakyo.portfolioapi.models.entities.BaseEntity;
+import fr.thesakyo.portfolioapi.repositories.LanguageRepository;
+import fr.thesakyo.portfolioapi.repositories.ProjectRepository;
+import fr.thesakyo.portfolioapi.repositories.RoleRepository;
+import fr.thesakyo.portfolioapi.repositories.UserRepository;
+import fr.thesakyo.portfolioapi.services.entities.ProjectService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+@Service
+public class ExportService {
+
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    @Autowired
+    private UserRepository userRepository; // Référentiel faisant référence aux utilisateurs de la base de données.
+
+    @Autowired
+    private RoleRepository roleRepository; // Référentiel faisant référence aux rôles de la base de données.
+
+    @Autowired
+    private ProjectRepository projectRepository; // Référentiel faisant référence aux projets de la base de données.
+
+    @Autowired
+    private LanguageRepository languageRepository; // Référentiel faisant référence aux langages de la base de données.
+
+    /*******************************/
+
+    @Autowired
+    private DTOService dtoService; // Récupère le service lié au DTO
+
+    @Autowired
+    private ProjectService projectService; // Service concordant à la table des projets (complète les projets exportés avec leur détail).
+
+    @Autowired
+    private ObjectMapper objectMapper; // Convertisseur JSON de l'application.
+
+    @Autowired
+    private PlatformTransactionManager transactionManager; // Gestionnaire des transactions (une transaction en lecture seule par lot exporté).
+
+    @PersistenceContext
+    private EntityManager entityManager; // Gestionnaire des entités (vidé après chaque lot exporté).
+
+    /*******************************/
+
+    @Value("${d2planapi.app.exportChunkSize:500}")
+    private int exportChunkSize; // Nombre d'entités lues et écrites par lot lors de l'export.
+
+    /*****************************************************************/
+    /**************   ⬇️    MÉTHODES D'EXPORT    ⬇️   **************/
+    /****************************************************************/
+
+    /**
+     * Exporte l'ensemble du portfolio (rôles, utilisateurs, langages et projets) au format JSON délimité par des retours à la ligne (NDJSON).
+     * Chaque ligne contient le type de l'entité et son 'DTO'. Les tables sont parcourues par lots triés par identifiant (pagination par curseur),
+     * chaque lot étant lu dans sa propre transaction puis détaché : la mémoire utilisée reste constante quelle que soit la taille des tables.
+     *
+     * @return Le {@link StreamingResponseBody corps de la réponse http}, écrit au fur et à mesure de la lecture des tables.
+     *
+     * @throws UnauthorizedException Si l'utilisateur connecté n'est pas super-administrateur.
+     */
+    public StreamingResponseBody exportPortfolio() throws UnauthorizedException {
+
+        // Vérifie si l'utilisateur connecté a la permission (avant l'écriture, qui se fait hors de la requête http)
+        if(!PermissionHelper.userHasRole(ERole.ROLE_SUPERADMIN)) throw new UnauthorizedException(PermissionHelper.UNAUTHORIZED_MESSAGE);
+
+        /**************************************/
+
+        return outputStream -> {
+
+            ObjectWriter writer = objectMapper.writer(); // Écrivain JSON partagé par toutes les lignes de l'export
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+
+            try {
+
+                // Les rôles sont peu nombreux, ils sont donc exportés en un seul lot
+                transactionTemplate.executeWithoutResult(status -> writeLines(writer, outputStream, "role",
+                        dtoService.convertToDTOs(new RoleDTO(), roleRepository.findAll())));
+
+                exportTable(writer, outputStream, transactionTemplate, "user", new UserDTO(), userRepository::findAllAfter, ArrayList::new);
+                exportTable(writer, outputStream, transactionTemplate, "language", new LanguageDTO(), languageRepository::findAllAfter, ArrayList::new);
+
+                // Le détail des projets (chargé à la demande) est récupéré en une seule requête par lot
+                exportTable(writer, outputStream, transactionTemplate, "project", new ProjectDTO(), projectRepository::findAllAfter, projectService::withDetails);
+
+            } catch(UncheckedIOException e) { throw e.getCause(); } // Rétablit l'erreur d'écriture (ex : client déconnecté)
+
+            finally { entityManager.clear(); }
+        };
+    }
+
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+
+    /**
+     * Exporte une table entière par lots triés par identifiant, chaque lot étant lu dans sa propre transaction puis détaché.
+     *
+     * @param writer L'{@link ObjectWriter écrivain JSON} à utiliser.
+     * @param outputStream Le {@link OutputStream flux} de la réponse http.
+     * @param transactionTemplate Le {@link TransactionTemplate modèle de transaction} en lecture seule.
+     * @param type Le {@link String type} de l'entité écrit sur chaque ligne.
+     * @param dto Une instance de {@link IEntityDAO} pour la conversion.
+     * @param chunkLoader La requête récupérant les entités suivant un curseur, avec une {@link Limit limite}.
+     * @param chunkCompleter La fonction complétant les '{@link IEntityDAO DTO}'s du lot avant leur écriture (ex : avec les champs chargés à la demande).
+     *
+     * @param <E> Spécifie le type des {@link BaseEntity entité}s.
+     * @param <DTO> Spécifie le type du {@link IEntityDAO DTO}.
+     */
+    private <E extends BaseEntity, DTO extends IEntityDAO<E, DTO>> void exportTable(ObjectWriter writer, OutputStream outputStream, TransactionTemplate transactionTemplate,
+                                                                                     String type, DTO dto, BiFunction<Long, Limit, List<E>> chunkLoader,
+                                                                                     Function<Collection<DTO>, List<DTO>> chunkCompleter) {
+
+        Long cursor = PaginationHelper.getCursor(null); // Curseur du lot en cours (identifiant de la dernière entité écrite)
+
+        while(cursor != null) {
+
+            final Long after = cursor;
+
+            // Lit, convertit et écrit le lot suivant le curseur, puis renvoie le curseur du lot suivant ('null' s'il s'agit du dernier lot)
+            cursor = transactionTemplate.execute(status -> {
+
+                List<E> entities = chunkLoader.apply(after, Limit.of(exportChunkSize));
+                writeLines(writer, outputStream, type, chunkCompleter.apply(dtoService.convertToDTOs(dto, entities)));
+
+                return entities.size() < exportChunkSize ? null : entities.getLast().getId();
+            });
+
+            entityManager.clear(); // Détache les entités du lot écrit (si le contexte de persistance est partagé avec la requête http)
+        }
+    }
+
+    /**
+     * Écrit une ligne JSON par '{@link IEntityDAO DTO}', puis envoie les lignes écrites au client.
+     *
+     * @param writer L'{@link ObjectWriter écrivain JSON} à utiliser.
+     * @param outputStream Le {@link OutputStream flux} de la réponse http.
+     * @param type Le {@link String type} de l'entité écrit sur chaque ligne.
+     * @param dtos Les '{@link IEntityDAO DTO}'s à écrire.
+     */
+    private void writeLines(ObjectWriter writer, OutputStream outputStream, String type, Iterable<?> dtos) {
+
+        try {
+
+            for(Object dto : dtos) {
+
+                Map<String, Object> line = new LinkedHashMap<>(); // Ligne de l'export : le type de l'entité, puis son 'DTO'
+                line.put("type", type);
+                line.put("entity", dto);
+
+                outputStream.write(writer.writeValueAsBytes(line));
+                outputStream.write('\n');
+            }
+
+            outputStream.flush(); // Envoie le lot écrit au client
+
+        } catch(IOException e) { throw new UncheckedIOException(e); }
+    }
+}
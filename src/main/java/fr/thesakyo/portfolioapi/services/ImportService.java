@@ -0,0 +1,485 @@
+package fr.thesakyo.portfolioapi.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.thesakyo.portfolioapi.enums.ERole;
+import fr.thesakyo.portfolioapi.enums.EStack;
+import fr.thesakyo.portfolioapi.exceptions.UnauthorizedException;
+import fr.thesakyo.portfolioapi.helpers.BatchHelper;
+import fr.thesakyo.portfolioapi.helpers.PermissionHelper;
+import fr.thesakyo.portfolioapi.helpers.StrHelper;
+import fr.thesakyo.portfolioapi.models.SerializableResponseEntity;
+import fr.thesakyo.portfolioapi.models.entities.Language;
+import fr.thesakyo.portfolioapi.models.entities.Project;
+import fr.thesakyo.portfolioapi.models.entities.User;
+import fr.thesakyo.portfolioapi.repositories.LanguageRepository;
+import fr.thesakyo.portfolioapi.repositories.ProjectRepository;
+import fr.thesakyo.portfolioapi.repositories.UserRepository;
+import fr.thesakyo.portfolioapi.security.LoggedUser;
+import fr.thesakyo.portfolioapi.security.UserConnection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.logging.log4j.util.Strings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@Service
+public class ImportService {
+
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    private static final int MAX_ERRORS_PER_CHUNK = 20; // Nombre maximal d'erreurs détaillées dans le rapport de chaque lot.
+
+    private static final List<String> CSV_COLUMNS = List.of("title", "detail", "link", "languages"); // Colonnes attendues d'un fichier CSV.
+
+    /*******************************/
+
+    @Autowired
+    private ProjectRepository projectRepository; // Référentiel faisant référence aux projets de la base de données.
+
+    @Autowired
+    private LanguageRepository languageRepository; // Référentiel faisant référence aux langages de la base de données.
+
+    @Autowired
+    private UserRepository userRepository; // Référentiel faisant référence aux utilisateurs de la base de données.
+
+    /*******************************/
+
+    @Autowired
+    private DTOCacheService dtoCacheService; // Récupère le service lié au cache des DTO
+
+    @Autowired
+    private ObjectMapper objectMapper; // Convertisseur JSON de l'application.
+
+    @Autowired
+    private PlatformTransactionManager transactionManager; // Gestionnaire des transactions (une transaction par lot importé).
+
+    @PersistenceContext
+    private EntityManager entityManager; // Gestionnaire des entités (vidé après chaque lot importé).
+
+    /*******************************/
+
+    @Value("${d2planapi.app.importChunkSize:500}")
+    private int importChunkSize; // Nombre de projets enregistrés par transaction lors d'un import.
+
+    @Value("${d2planapi.app.bulkBatchSize:50}")
+    private int bulkBatchSize; // Nombre de projets écrits par lot (batch JDBC) dans chaque transaction d'un import.
+
+    @Value("${d2planapi.app.importMaxRecordChars:65536}")
+    private int importMaxRecordChars; // Nombre maximal de caractères d'un enregistrement CSV (un guillemet non fermé ne peut pas lire tout le fichier).
+
+    /*****************************************************************/
+    /**************   ⬇️    MÉTHODES D'IMPORT    ⬇️   **************/
+    /****************************************************************/
+
+    /**
+     * Importe des {@link Project projet}s depuis un fichier NDJSON (un objet JSON par ligne) ou CSV (avec une ligne d'en-tête),
+     * pour l'utilisateur connecté. Chaque projet contient un titre ('title'), une description ('detail'), un lien ('link')
+     * et ses {@link Language langage}s ('languages' : un tableau JSON, ou des valeurs séparées par '|' en CSV).
+     * Un langage s'écrit 'libellé' ou 'libellé:STACK' (la stack n'est utilisée que si le langage doit être créé).
+     * La ligne d'en-tête d'un fichier CSV doit contenir les colonnes 'title', 'detail', 'link' et 'languages', dans cet ordre : sinon, le fichier est refusé.
+     * <>*****<>*****<>*****<>*****<>*****<><>*****<>
+     * Le fichier est lu au fur et à mesure : seuls les projets du lot en cours sont gardés en mémoire.
+     * Chaque lot est enregistré dans sa propre transaction ; un lot en échec est annulé sans empêcher l'import des lots suivants.
+     * Les langages sont dédoublonnés par leur libellé (unique) grâce à un dictionnaire libellé → identifiant partagé par tous les lots.
+     * <>*****<>*****<>*****<>*****<>*****<><>*****<>
+     *
+     * @param file Le {@link MultipartFile fichier} téléversé.
+     * @param format Le format du fichier ('ndjson' ou 'csv'), déduit de l'extension du fichier s'il n'est pas défini.
+     *
+     * @return Une {@link ResponseEntity réponse http} récupérant le rapport de l'import (débit et erreurs de chaque lot),
+     *         ou une erreur '400 Bad Request' si l'en-tête du fichier CSV est invalide.
+     *
+     * @throws UnauthorizedException Si l'utilisateur connecté n'est pas administrateur.
+     */
+    public SerializableResponseEntity<?> importProjects(MultipartFile file, String format) throws UnauthorizedException {
+
+        LoggedUser loggedUser = UserConnection.getLoggedUser(); // Récupère l'utilisateur connecté à la requête http en cours
+        if(loggedUser == null || !PermissionHelper.userHasRole(ERole.ROLE_ADMIN)) throw new UnauthorizedException(PermissionHelper.UNAUTHORIZED_MESSAGE);
+
+        boolean isCsv = Strings.isNotBlank(format) ? format.equalsIgnoreCase("csv") :
+                file.getOriginalFilename() != null && file.getOriginalFilename().toLowerCase().endsWith(".csv");
+
+        /**************************************/
+
+        ImportReport report = new ImportReport(); // Rapport de l'import
+        Map<String, Long> languageIds = new HashMap<>(); // Identifiant de chaque langage déjà rencontré, par libellé
+
+        List<ImportRow> chunk = new ArrayList<>(importChunkSize); // Projets du lot en cours
+        List<Map<String, Object>> chunkErrors = new ArrayList<>(); // Erreurs de lecture du lot en cours
+
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+
+            // Vérifie la ligne d'en-tête du fichier CSV : si ses colonnes sont invalides, aucun projet n'est importé
+            if(isCsv && !isValidCsvHeader(reader)) {
+
+                report.setError("En-tête CSV invalide : colonnes attendues (dans cet ordre) : " + String.join(",", CSV_COLUMNS));
+                return new SerializableResponseEntity<>(report.toMap(), HttpStatus.BAD_REQUEST);
+            }
+
+            int row = 0; // Numéro de l'enregistrement en cours
+
+            while(true) {
+
+                ImportRow importRow;
+
+                // Lit l'enregistrement suivant, en gardant l'erreur dans le rapport du lot si l'enregistrement est invalide
+                try {
+
+                    importRow = isCsv ? readCsvRow(reader) : readJsonRow(reader);
+                    if(importRow == null) break; // Fin du fichier
+
+                    row++;
+                    if(importRow == ImportRow.EMPTY) continue; // Ligne vide
+
+                    chunk.add(importRow.withRow(row));
+
+                } catch(IllegalArgumentException e) { chunkErrors.add(error(++row, e.getMessage())); }
+
+                /**************************/
+
+                // Si le lot est complet (enregistrements valides ou en erreur), on l'enregistre
+                if(chunk.size() + chunkErrors.size() >= importChunkSize) {
+
+                    report.addChunk(importChunk(chunk, chunkErrors, languageIds, loggedUser.getId()));
+                    chunk = new ArrayList<>(importChunkSize);
+                    chunkErrors = new ArrayList<>();
+                }
+            }
+
+            // Enregistre le dernier lot, s'il n'est pas vide
+            if(!chunk.isEmpty() || !chunkErrors.isEmpty()) report.addChunk(importChunk(chunk, chunkErrors, languageIds, loggedUser.getId()));
+
+        } catch(IOException e) { report.setError("Erreur de lecture du fichier : " + e.getMessage()); }
+
+        /**************************************/
+
+        dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's (les lots ont déjà été validés)
+        PermissionHelper.forgetOwnershipPermissions(); // Les projets de l'utilisateur connecté ont changé
+
+        return new SerializableResponseEntity<>(report.toMap(), HttpStatus.OK); // Renvoie la réponse http avec le rapport de l'import
+    }
+
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+
+    /**
+     * Enregistre un lot de {@link Project projet}s dans sa propre transaction, puis vide le contexte de persistance.
+     *
+     * @param chunk Les projets du lot.
+     * @param readErrors Les erreurs de lecture du lot.
+     * @param languageIds Le dictionnaire libellé → identifiant des {@link Language langage}s déjà rencontrés.
+     * @param userId L'{@link Long identifiant} de l'{@link User utilisateur} propriétaire des projets importés.
+     *
+     * @return Le rapport du lot.
+     */
+    private Map<String, Object> importChunk(List<ImportRow> chunk, List<Map<String, Object>> readErrors, Map<String, Long> languageIds, Long userId) {
+
+        Map<String, Object> chunkReport = new LinkedHashMap<>(); // Rapport du lot
+        List<Map<String, Object>> errors = new ArrayList<>(readErrors); // Erreurs du lot
+        Set<String> createdLabels = new HashSet<>(); // Libellés des langages créés par ce lot (à oublier si le lot est annulé)
+
+        long startTime = System.nanoTime();
+        int imported = 0; // Nombre de projets enregistrés
+
+        /**************************************/
+
+        if(!chunk.isEmpty()) {
+
+            try {
+
+                TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+                imported = transactionTemplate.execute(status -> {
+
+                    User user = userRepository.getReferenceById(userId); // Propriétaire des projets importés
+                    List<Project> projects = new ArrayList<>(chunk.size());
+
+                    for(ImportRow importRow : chunk) {
+
+                        Set<Language> languages = new HashSet<>(); // Langages du projet
+
+                        for(String value : importRow.languages()) {
+
+                            Long languageId = resolveLanguageId(value, languageIds, createdLabels);
+                            languages.add(languageRepository.getReferenceById(languageId));
+                        }
+
+                        projects.add(new Project(importRow.title(), importRow.detail(), importRow.link(), user, languages));
+                    }
+
+                    // Sauvegarde les projets du lot par lots JDBC (une requête groupée par lot, comme les créations groupées)
+                    BatchHelper.writeInBatches(entityManager, bulkBatchSize, projects.size(), (from, to) -> {
+
+                        projectRepository.saveAll(projects.subList(from, to));
+                        entityManager.flush(); // Envoie les insertions du lot en une seule requête groupée
+                    });
+
+                    return projects.size();
+                });
+
+            } catch(RuntimeException e) {
+
+                createdLabels.forEach(languageIds::remove); // Les langages créés par le lot annulé n'existent plus
+                errors.add(error(chunk.getFirst().row(), "Lot annulé (lignes " + chunk.getFirst().row() + " à " + chunk.getLast().row() + ") : " + e.getMessage()));
+
+            } finally { entityManager.clear(); } // Détache les entités du lot
+        }
+
+        /**************************************/
+
+        long durationMs = Math.max(1L, (System.nanoTime() - startTime) / 1_000_000L); // Durée de l'enregistrement du lot
+
+        chunkReport.put("imported", imported);
+        chunkReport.put("failed", chunk.size() - imported + readErrors.size());
+        chunkReport.put("durationMs", durationMs);
+        chunkReport.put("rowsPerSecond", imported * 1000L / durationMs);
+        chunkReport.put("errors", errors.size() > MAX_ERRORS_PER_CHUNK ? errors.subList(0, MAX_ERRORS_PER_CHUNK) : errors);
+
+        return chunkReport; // Renvoie le rapport du lot
+    }
+
+    /**
+     * Récupère l'{@link Long identifiant} d'un {@link Language langage} par son libellé, en le créant s'il n'existe pas encore.
+     *
+     * @param value Le langage, sous la forme 'libellé' ou 'libellé:STACK'.
+     * @param languageIds Le dictionnaire libellé → identifiant des {@link Language langage}s déjà rencontrés.
+     * @param createdLabels Les libellés des langages créés par le lot en cours.
+     *
+     * @return L'{@link Long identifiant} du {@link Language langage}.
+     */
+    private Long resolveLanguageId(String value, Map<String, Long> languageIds, Set<String> createdLabels) {
+
+        int separator = value.lastIndexOf(':');
+        String label = (separator > 0 ? value.substring(0, separator) : value).trim(); // Libellé du langage
+
+        /**************************/
+
+        // Si le langage a déjà été rencontré, on renvoie directement son identifiant
+        Long languageId = languageIds.get(label);
+        if(languageId != null) return languageId;
+
+        // Sinon, on le récupère en base de données, ou on le crée s'il n'existe pas encore
+        Language language = languageRepository.findByLabel(label).orElse(null);
+
+        if(language == null) {
+
+            EStack stack = separator > 0 ? EStack.valueOf(value.substring(separator + 1).trim().toUpperCase()) : EStack.FULL_STACK;
+            language = languageRepository.save(new Language(label, stack, new HashSet<>()));
+            createdLabels.add(label);
+        }
+
+        languageIds.put(label, language.getId());
+        return language.getId(); // Renvoie l'identifiant du langage
+    }
+
+    /*********************************************************************/
+
+    /**
+     * Lit et vérifie la ligne d'en-tête d'un fichier CSV : elle doit contenir exactement les colonnes attendues, dans l'ordre (casse ignorée).
+     *
+     * @param reader Le {@link BufferedReader lecteur} du fichier.
+     *
+     * @return Une valeur booléenne ('true' ou 'false').
+     *
+     * @throws IOException Si une erreur de lecture survient.
+     */
+    private boolean isValidCsvHeader(BufferedReader reader) throws IOException {
+
+        List<String> header;
+
+        try { header = StrHelper.readCsvRecord(reader, importMaxRecordChars); }
+        catch(IllegalArgumentException e) { return false; } // En-tête trop long
+
+        if(header == null) return false; // Fichier vide
+
+        /**************************/
+
+        // Ignore l'éventuelle marque d'ordre des octets ('BOM') au début du fichier
+        List<String> columns = header.stream().map(column -> column.replace("\uFEFF", "").trim().toLowerCase()).toList();
+        return columns.equals(CSV_COLUMNS);
+    }
+
+    /**
+     * Lit le projet suivant d'un fichier NDJSON.
+     *
+     * @param reader Le {@link BufferedReader lecteur} du fichier.
+     *
+     * @return Le projet lu, {@link ImportRow#EMPTY} pour une ligne vide, ou 'null' à la fin du fichier.
+     *
+     * @throws IOException Si une erreur de lecture survient.
+     * @throws IllegalArgumentException Si la ligne est invalide.
+     */
+    private ImportRow readJsonRow(BufferedReader reader) throws IOException {
+
+        String line = reader.readLine();
+        if(line == null) return null;
+        if(line.isBlank()) return ImportRow.EMPTY;
+
+        /**************************/
+
+        JsonNode node;
+
+        try { node = objectMapper.readTree(line); }
+        catch(JsonProcessingException e) { throw new IllegalArgumentException("JSON invalide : " + e.getOriginalMessage()); }
+
+        List<String> languages = new ArrayList<>();
+        if(node.path("languages").isArray()) node.get("languages").forEach(language -> languages.add(language.asText()));
+
+        return ImportRow.of(node.path("title").asText(null), node.path("detail").asText(null), node.path("link").asText(null), languages);
+    }
+
+    /**
+     * Lit le projet suivant d'un fichier CSV (colonnes 'title', 'detail', 'link' et 'languages').
+     *
+     * @param reader Le {@link BufferedReader lecteur} du fichier.
+     *
+     * @return Le projet lu, {@link ImportRow#EMPTY} pour une ligne vide, ou 'null' à la fin du fichier.
+     *
+     * @throws IOException Si une erreur de lecture survient.
+     * @throws IllegalArgumentException Si l'enregistrement est invalide, ou trop long.
+     */
+    private ImportRow readCsvRow(BufferedReader reader) throws IOException {
+
+        List<String> fields = StrHelper.readCsvRecord(reader, importMaxRecordChars);
+        if(fields == null) return null;
+        if(fields.size() == 1 && fields.getFirst().isBlank()) return ImportRow.EMPTY;
+
+        if(fields.size() < CSV_COLUMNS.size()) throw new IllegalArgumentException("Colonnes attendues : " + String.join(",", CSV_COLUMNS));
+
+        /**************************/
+
+        List<String> languages = Arrays.stream(fields.get(3).split("\\|")).filter(Strings::isNotBlank).toList();
+        return ImportRow.of(fields.get(0), fields.get(1), fields.get(2), languages);
+    }
+
+    /**
+     * Créer une erreur du rapport d'import.
+     *
+     * @param row Le numéro de l'enregistrement en erreur.
+     * @param message Le {@link String message} de l'erreur.
+     *
+     * @return L'Erreur du rapport d'import.
+     */
+    private static Map<String, Object> error(int row, String message) {
+
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("row", row);
+        error.put("message", message);
+
+        return error;
+    }
+
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+
+    /**
+     * Projet lu depuis le fichier importé.
+     *
+     * @param row Le numéro de l'enregistrement dans le fichier.
+     * @param title Le titre du projet.
+     * @param detail La description du projet.
+     * @param link Le lien du projet.
+     * @param languages Les langages du projet ('libellé' ou 'libellé:STACK').
+     */
+    private record ImportRow(int row, String title, String detail, String link, List<String> languages) {
+
+        private static final ImportRow EMPTY = new ImportRow(0, null, null, null, List.of()); // Ligne vide (ignorée)
+
+        /**
+         * Créer un projet lu, en vérifiant ses champs obligatoires et la stack de ses langages.
+         *
+         * @throws IllegalArgumentException Si un champ obligatoire est vide.
+         */
+        private static ImportRow of(String title, String detail, String link, List<String> languages) {
+
+            if(Strings.isBlank(title) || Strings.isBlank(detail) || Strings.isBlank(link))
+                throw new IllegalArgumentException("Les champs 'title', 'detail' et 'link' sont obligatoires.");
+
+            // Vérifie la stack de chaque langage (si elle est précisée), pour ne pas faire échouer le lot entier lors de son enregistrement
+            for(String language : languages) {
+
+                int separator = language.lastIndexOf(':');
+                if(separator <= 0) continue;
+
+                try { EStack.valueOf(language.substring(separator + 1).trim().toUpperCase()); }
+                catch(IllegalArgumentException e) { throw new IllegalArgumentException("Stack inconnue pour le langage '" + language + "'."); }
+            }
+
+            return new ImportRow(0, title, detail, link, languages);
+        }
+
+        /**
+         * Récupère une copie du projet lu avec son numéro d'enregistrement (le projet lu est immuable).
+         *
+         * @param row Le numéro de l'enregistrement dans le fichier (à partir de 1, lignes vides comprises).
+         *
+         * @return Le projet lu, numéroté.
+         */
+        private ImportRow withRow(int row) { return new ImportRow(row, title, detail, link, languages); }
+    }
+
+    /**
+     * Rapport d'un import : seuls les totaux et le rapport de chaque lot sont gardés.
+     */
+    private static class ImportReport {
+
+        private final List<Map<String, Object>> chunks = new ArrayList<>(); // Rapport de chaque lot
+        private long imported = 0; // Nombre total de projets enregistrés
+        private long failed = 0; // Nombre total d'enregistrements en échec
+        private String error; // Erreur ayant interrompu l'import (si nécessaire)
+
+        /**
+         * Ajoute le rapport d'un lot au rapport de l'import, et l'ajoute à ses totaux.
+         *
+         * @param chunkReport Le rapport du lot (voir {@link ImportService#importChunk}), contenant au moins 'imported' et 'failed'.
+         */
+        private void addChunk(Map<String, Object> chunkReport) {
+
+            chunks.add(chunkReport);
+            imported += (int)chunkReport.get("imported");
+            failed += (int)chunkReport.get("failed");
+        }
+
+        /**
+         * Définit l'erreur ayant interrompu l'import (les lots déjà enregistrés restent enregistrés).
+         *
+         * @param error Le {@link String message} de l'erreur.
+         */
+        private void setError(String error) { this.error = error; }
+
+        /**
+         * Convertit le rapport de l'import en dictionnaire 'map' pour la réponse http.
+         *
+         * @return Un dictionnaire 'map' contenant les totaux ('imported' et 'failed'), le rapport de chaque lot ('chunks') et l'erreur ('error', si nécessaire).
+         */
+        private Map<String, Object> toMap() {
+
+            Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
+
+            responseMap.putIfAbsent("imported", imported);
+            responseMap.putIfAbsent("failed", failed);
+            responseMap.putIfAbsent("chunks", chunks);
+            if(error != null) responseMap.putIfAbsent("error", error);
+
+            return responseMap;
+        }
+    }
+}
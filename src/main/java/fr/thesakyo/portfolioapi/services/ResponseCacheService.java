@@ -0,0 +1,293 @@
+package fr.thesakyo.portfolioapi.services;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.thesakyo.portfolioapi.WireFormatConfig;
+import fr.thesakyo.portfolioapi.helpers.ETagHelper;
+import fr.thesakyo.portfolioapi.models.DTO.LanguageDTO;
+import fr.thesakyo.portfolioapi.models.DTO.ProjectDTO;
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
+import fr.thesakyo.portfolioapi.models.DTO.UserDTO;
+import fr.thesakyo.portfolioapi.models.SerializableResponseEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class ResponseCacheService {
+
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    private static final String GZIP = "gzip"; // Codage de contenu 'gzip'.
+
+    /*******************************/
+
+    @Autowired
+    private ObjectMapper objectMapper; // Convertisseur JSON de l'application (le même que celui des réponses http).
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter; // Convertisseur des réponses http au format 'CBOR'.
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter; // Convertisseur des réponses http au format 'Smile'.
+
+    @Value("${d2planapi.app.responseCacheMaxBytes:16777216}")
+    private long responseCacheMaxBytes; // Nombre maximal d'octets conservés dans le cache des réponses encodées.
+
+    @Value("${d2planapi.app.responseCacheTtlSeconds:600}")
+    private long responseCacheTtlSeconds; // Durée de vie (en secondes) d'une réponse encodée non utilisée.
+
+    @Value("${d2planapi.app.responseCacheGzip:true}")
+    private boolean responseCacheGzip; // Les réponses encodées sont-elles aussi compressées à l'avance ('gzip') ?
+
+    @Value("${d2planapi.app.responseCacheGzipMinBytes:1024}")
+    private int responseCacheGzipMinBytes; // Taille minimale (en octets) d'une réponse pour être compressée.
+
+    /*******************************/
+
+    private Cache<String, EncodedResponse> encodedResponses; // Réponses déjà encodées, par format et par 'ETag' (identifiants et versions des entités, forme de la réponse).
+
+    private final Map<MediaType, ObjectMapper> encoders = new LinkedHashMap<>(); // Convertisseurs de chaque format de réponse (le premier est celui par défaut).
+
+    private final Map<MediaType, ObjectMapper> shapedEncoders = new LinkedHashMap<>(); // Convertisseurs de chaque format pour les réponses filtrées ('?fields=', '?expand=').
+
+    /***********************************************************/
+    /**************   ⬇️    INITIALISATION    ⬇️   **************/
+    /***********************************************************/
+
+    /**
+     * Initialise le cache local des réponses encodées, borné par le nombre d'octets conservés, et les convertisseurs de chaque format de réponse.
+     */
+    @PostConstruct
+    private void init() {
+
+        encoders.put(MediaType.APPLICATION_JSON, objectMapper);
+        encoders.put(MediaType.APPLICATION_CBOR, cborHttpMessageConverter.getObjectMapper());
+        encoders.put(WireFormatConfig.APPLICATION_SMILE, smileHttpMessageConverter.getObjectMapper());
+
+        // Dans une réponse filtrée, les champs non demandés des 'DTO's sont 'null' : ils sont omis (la forme complète garde ses valeurs 'null')
+        encoders.forEach((mediaType, encoder) -> shapedEncoders.put(mediaType, encoder.copy()
+                .addMixIn(ProjectDTO.class, NonNullMixin.class)
+                .addMixIn(UserDTO.class, NonNullMixin.class)
+                .addMixIn(LanguageDTO.class, NonNullMixin.class)));
+
+        encodedResponses = Caffeine.newBuilder()
+                .maximumWeight(responseCacheMaxBytes)
+                .weigher((String _, EncodedResponse encodedResponse) -> encodedResponse.weight())
+                .expireAfterAccess(Duration.ofSeconds(responseCacheTtlSeconds))
+                .build();
+    }
+
+    /**********************************************************************/
+    /**************   ⬇️    MÉTHODES DE MISE EN CACHE   ⬇️   **************/
+    /**********************************************************************/
+
+    /**
+     * Renvoie la réponse http correspondant à un 'ETag' depuis le cache des réponses encodées (JSON en UTF-8, 'CBOR' ou 'Smile' suivant l'en-tête 'Accept',
+     * et leur version compressée), ou l'encode une seule fois depuis la fonction donnée. Les octets en cache sont écrits tels quels : aucune conversion en 'DTO',
+     * ni sérialisation n'est effectuée. Comme l''ETag' change avec la version des entités, aucune invalidation n'est nécessaire.
+     *
+     * @param eTag L''ETag' de la réponse (voir {@link ETagHelper#toETag}), ou 'null' si l'entité n'existe pas (la réponse n'est alors pas mise en cache).
+     * @param bodyLoader La fonction construisant le corps de la réponse, si elle est absente du cache.
+     *
+     * @return Une {@link SerializableResponseEntity réponse http} dont le corps est déjà encodé.
+     */
+    public SerializableResponseEntity<?> respond(String eTag, Supplier<?> bodyLoader) { return respond(eTag, ResponseShape.FULL, bodyLoader); }
+
+    /**
+     * Renvoie la réponse http correspondant à un 'ETag' depuis le cache des réponses encodées (voir {@link #respond(String, Supplier)}).
+     * Si la {@link ResponseShape forme de réponse} n'est pas complète, les champs 'null' des 'DTO's (non demandés) sont omis de la réponse.
+     *
+     * @param eTag L''ETag' de la réponse (voir {@link ETagHelper#toETag}), ou 'null' si l'entité n'existe pas (la réponse n'est alors pas mise en cache).
+     * @param shape La {@link ResponseShape forme de réponse} demandée (déjà comprise dans l''ETag').
+     * @param bodyLoader La fonction construisant le corps de la réponse, si elle est absente du cache.
+     *
+     * @return Une {@link SerializableResponseEntity réponse http} dont le corps est déjà encodé.
+     */
+    public SerializableResponseEntity<?> respond(String eTag, ResponseShape shape, Supplier<?> bodyLoader) {
+
+        // S'il n'y a pas d''ETag', la réponse est construite et sérialisée normalement
+        if(eTag == null) return new SerializableResponseEntity<>(bodyLoader.get(), HttpStatus.OK);
+
+        /**************************************/
+
+        MediaType mediaType = negotiate(); // Récupère le format de réponse demandé par le client
+        String key = mediaType + ":" + eTag; // Clé de la réponse encodée
+
+        // Récupère la réponse encodée depuis le cache, ou l'encode et la met en cache
+        EncodedResponse encodedResponse = encodedResponses.getIfPresent(key);
+
+        if(encodedResponse == null) {
+
+            encodedResponse = encode(bodyLoader.get(), (shape.isFull() ? encoders : shapedEncoders).get(mediaType));
+            encodedResponses.put(key, encodedResponse);
+        }
+
+        /**************************************/
+
+        boolean isGzip = encodedResponse.gzip() != null && acceptsGzip(); // Vérifie si la version compressée peut être renvoyée
+        boolean isWeak = isGzip || !mediaType.equals(MediaType.APPLICATION_JSON); // Vérifie si le contenu diffère de la version JSON
+
+        // Une version compressée ou binaire a un autre contenu que la version JSON : son 'ETag' est donc faible (même réponse, autre codage)
+        HttpHeaders headers = ETagHelper.headers(isWeak ? "W/" + eTag : eTag);
+        headers.setContentType(mediaType);
+        headers.setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+        if(isGzip) headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+
+        return new SerializableResponseEntity<>(isGzip ? encodedResponse.gzip() : encodedResponse.bytes(), headers, HttpStatus.OK);
+    }
+
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+    /******************************************************************************************************************/
+
+    /**
+     * Encode le corps d'une réponse dans un format (JSON en UTF-8, 'CBOR' ou 'Smile'), puis le compresse si nécessaire.
+     *
+     * @param body Le corps de la réponse.
+     * @param encoder Le convertisseur du format de la réponse.
+     *
+     * @return La {@link EncodedResponse réponse encodée}.
+     */
+    private EncodedResponse encode(Object body, ObjectMapper encoder) {
+
+        try {
+
+            byte[] bytes = encoder.writeValueAsBytes(body); // Encode le corps de la réponse
+
+            // Compresse la réponse si elle est assez volumineuse (en dessous, la compression n'apporte presque rien)
+            return new EncodedResponse(bytes, responseCacheGzip && bytes.length >= responseCacheGzipMinBytes ? gzip(bytes) : null);
+
+        } catch(JsonProcessingException e) { throw new IllegalStateException("Impossible d'encoder la réponse", e); }
+    }
+
+    /**
+     * Compresse des octets au format 'gzip'.
+     *
+     * @param bytes Les octets à compresser.
+     *
+     * @return Les octets compressés.
+     */
+    private static byte[] gzip(byte[] bytes) {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 4);
+
+        try(GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream)) { gzipStream.write(bytes); }
+        catch(IOException e) { throw new UncheckedIOException(e); }
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Récupère le format de réponse demandé par le client de la requête http en cours (en-tête 'Accept') parmi ceux pris en charge,
+     * en respectant leur poids. Sans en-tête, ou si aucun format ne correspond, la réponse est renvoyée en JSON.
+     *
+     * @return Le {@link MediaType type de contenu} de la réponse.
+     */
+    private MediaType negotiate() {
+
+        HttpServletRequest request = getRequest(); // Récupère la requête http en cours, si elle existe
+        String accept = request != null ? request.getHeader(HttpHeaders.ACCEPT) : null;
+
+        if(accept == null || accept.isBlank()) return MediaType.APPLICATION_JSON; // Sans en-tête, la réponse est renvoyée en JSON
+
+        /**************************************/
+
+        try {
+
+            // Trie les types de contenu acceptés par poids décroissant (l'ordre de l'en-tête est conservé à poids égal)
+            List<MediaType> acceptedTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            acceptedTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+            // Renvoie le premier format pris en charge (un type générique, ex : '*/*', correspond au JSON)
+            for(MediaType acceptedType : acceptedTypes) {
+
+                if(acceptedType.getQualityValue() == 0) continue; // Le type de contenu est explicitement refusé
+
+                for(MediaType mediaType : encoders.keySet()) if(acceptedType.includes(mediaType)) return mediaType;
+            }
+
+        } catch(InvalidMediaTypeException ignored) {} // En-tête invalide : la réponse est renvoyée en JSON
+
+        return MediaType.APPLICATION_JSON; // Aucun format ne correspond, la réponse est renvoyée en JSON
+    }
+
+    /**
+     * Vérifie si le client de la requête http en cours accepte les réponses compressées ('Accept-Encoding: gzip').
+     *
+     * @return Une valeur booléenne ('true' ou 'false').
+     */
+    private static boolean acceptsGzip() {
+
+        HttpServletRequest request = getRequest(); // Récupère la requête http en cours, si elle existe
+        if(request == null) return false;
+
+        /**************************************/
+
+        for(String header : Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))) {
+
+            for(String encoding : header.split(",")) {
+
+                String[] parts = encoding.trim().split(";"); // Codage, suivi de son éventuel poids (ex : 'gzip;q=0')
+                if(parts[0].trim().equalsIgnoreCase(GZIP)) return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+
+        return false; // Le client n'accepte pas les réponses compressées
+    }
+
+    /**
+     * Récupère la requête http en cours.
+     *
+     * @return La {@link HttpServletRequest requête http} en cours, ou 'null' s'il n'y en a pas.
+     */
+    private static HttpServletRequest getRequest() {
+
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes ? attributes.getRequest() : null;
+    }
+
+    /*********************************************************************/
+
+    /**
+     * Omet les champs 'null' des 'DTO's d'une réponse filtrée (voir {@link #shapedEncoders}).
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private interface NonNullMixin {}
+
+    /**
+     * Réponse encodée.
+     *
+     * @param bytes Le corps de la réponse encodé (JSON en UTF-8, 'CBOR' ou 'Smile').
+     * @param gzip Le corps de la réponse encodé, puis compressé ('null' s'il n'est pas compressé).
+     */
+    private record EncodedResponse(byte[] bytes, byte[] gzip) {
+
+        /**
+         * Récupère le poids de la réponse encodée dans le cache (son nombre d'octets).
+         */
+        private int weight() { return bytes.length + (gzip != null ? gzip.length : 0); }
+    }
+}
@@ -15,9 +15,10 @@ import fr.thesakyo.portfolioapi.payloads.requests.authentication.user.RegisterUs
 import fr.thesakyo.portfolioapi.payloads.requests.authentication.user.UpdateUserRequest;
 import fr.thesakyo.portfolioapi.payloads.responses.MessageResponse;
 import fr.thesakyo.portfolioapi.payloads.responses.authentication.UserInfoResponse;
-import fr.thesakyo.portfolioapi.repositories.RoleRepository;
 import fr.thesakyo.portfolioapi.repositories.UserRepository;
+import fr.thesakyo.portfolioapi.security.RoleRegistry;
 import fr.thesakyo.portfolioapi.security.jwt.JwtUtils;
+import fr.thesakyo.portfolioapi.services.DTOCacheService;
 import fr.thesakyo.portfolioapi.services.DTOService;
 import fr.thesakyo.portfolioapi.services.entities.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,7 +50,7 @@ public class AuthService {
     private UserRepository userRepository; // Référentiel faisant référence aux utilisateurs de la base de données.
 
     @Autowired
-    private RoleRepository roleRepository; // Référentiel faisant référence aux rôles de la base de données.
+    private RoleRegistry roleRegistry; // Registre des rôles de la base de données (préchargés en mémoire).
 
     /*****************************/
 
@@ -59,6 +60,9 @@ public class AuthService {
     @Autowired
     private DTOService dtoService; // Récupère le service lié au DTO
 
+    @Autowired
+    private DTOCacheService dtoCacheService; // Récupère le service lié au cache des DTO
+
     /*****************************/
 
     @Autowired
@@ -92,7 +96,7 @@ public class AuthService {
         /******************************************/
 
         List<String> rolesName = userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
-        List<Role> roles = roleRepository.findAll().stream().filter(role -> rolesName.contains(role.getName().name())).toList();
+        List<Role> roles = rolesName.stream().map(roleName -> roleRegistry.getRole(ERole.valueOf(roleName))).filter(Objects::nonNull).toList();
 
         /******************************************/
 
@@ -155,7 +159,7 @@ public class AuthService {
             /******************************************/
 
             // Récupère le rôle inconnu, s'il existe, sinon, on envoie une erreur
-            Role userRole = roleRepository.findByName(ERole.ROLE_UNKNOWN).orElseThrow(() -> new RuntimeException("Erreur : Le rôle est introuvable."));
+            Role userRole = RoleHelper.checkedRole(ERole.ROLE_UNKNOWN, roleRegistry);
             roles.add(userRole); // Ajour le roles à la liste des rôles de l'utilisateur
 
             /******************************************/
@@ -170,6 +174,7 @@ public class AuthService {
         responseEntity.putIfAbsent("response", new MessageResponse("Création de l'utilisateur établie !")); // Ajoute une réponse dans le dictionnaire
         responseEntity.putIfAbsent("entity", user); // Ajoute l'utilisateur dans le dictionnaire
         userRepository.save(user); // Envoie l'utilisateur enregistré en base de données
+        dtoCacheService.evict(DTOCacheService.USERS); // Invalide le cache des utilisateurs une fois la transaction validée
 
         return new SerializableResponseEntity<>(responseEntity, HttpStatus.OK); // Renvoie une réponse http incluant le dictionnaire stockant des informations utiles
     }
@@ -269,7 +274,7 @@ public class AuthService {
         /****************************************************************/
 
         User user = new User(name, email, password, isEnabled, new HashSet<>(), new HashSet<>()); // Création d'un nouvel objet utilisateur
-        user.setRoles(RoleHelper.checkRolesName(strRoles, roleRepository)); // Ajoute les rôles dont il est question à l'utilisateur
+        user.setRoles(RoleHelper.checkRolesName(strRoles, roleRegistry)); // Ajoute les rôles dont il est question à l'utilisateur
         return new SerializableResponseEntity<>(user, HttpStatus.OK); // Renvoie une réponse de l'utilisateur
     }
 
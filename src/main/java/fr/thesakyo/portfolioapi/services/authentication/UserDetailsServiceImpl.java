@@ -22,8 +22,6 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      @Autowired
      private UserRepository userRepository; // Interface référentielle pour concorder à la table des utilisateurs dans la base de données.
 
-     private String validUsername = ""; // Permettra de récupérer le nom d'utilisateur valide de l'utilisateur authentifié
-
     /*******************************************************************/
     /**************   ⬇️    MÉTHODES DE CONNEXION   ⬇️   **************/
     /******************************************************************/
@@ -41,7 +39,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
       @Transactional
       public UserDetails loadCompletelyUser(Long id, String username) throws UnauthorizedException {
 
-        userRepository.findById(id).ifPresent(user -> this.validUsername = user.getEmail());
+        // Récupère le nom d'utilisateur valide de l'utilisateur authentifié (propre à cet appel, le service étant partagé entre les requêtes)
+        String validUsername = userRepository.findById(id).map(User::getEmail).orElse("");
 
         /*****************************************/
 
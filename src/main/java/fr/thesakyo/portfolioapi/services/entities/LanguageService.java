@@ -2,19 +2,25 @@ package fr.thesakyo.portfolioapi.services.entities;
 
 import fr.thesakyo.portfolioapi.enums.ERole;
 import fr.thesakyo.portfolioapi.exceptions.UnauthorizedException;
+import fr.thesakyo.portfolioapi.helpers.ETagHelper;
 import fr.thesakyo.portfolioapi.helpers.ObjectHelper;
+import fr.thesakyo.portfolioapi.helpers.PaginationHelper;
 import fr.thesakyo.portfolioapi.helpers.PermissionHelper;
 import fr.thesakyo.portfolioapi.models.DTO.LanguageDTO;
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
 import fr.thesakyo.portfolioapi.models.SerializableResponseEntity;
 import fr.thesakyo.portfolioapi.models.entities.BaseEntity;
 import fr.thesakyo.portfolioapi.models.entities.Language;
 import fr.thesakyo.portfolioapi.models.entities.Project;
 import fr.thesakyo.portfolioapi.models.entities.User;
 import fr.thesakyo.portfolioapi.payloads.requests.ProjectsEntityRequest;
+import fr.thesakyo.portfolioapi.payloads.responses.PageResponse;
 import fr.thesakyo.portfolioapi.repositories.LanguageRepository;
 import fr.thesakyo.portfolioapi.repositories.ProjectRepository;
 import fr.thesakyo.portfolioapi.repositories.UserRepository;
+import fr.thesakyo.portfolioapi.services.DTOCacheService;
 import fr.thesakyo.portfolioapi.services.DTOService;
+import fr.thesakyo.portfolioapi.services.ResponseCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,7 +29,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.management.InstanceNotFoundException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class LanguageService {
@@ -46,6 +51,12 @@ public class LanguageService {
     @Autowired
     private DTOService dtoService; // Récupère le service lié au DTO
 
+    @Autowired
+    private DTOCacheService dtoCacheService; // Récupère le service lié au cache des DTO
+
+    @Autowired
+    private ResponseCacheService responseCacheService; // Récupère le service lié au cache des réponses encodées
+
     /***********************************************************/
     /**************   ⬇️    MÉTHODES CRUD   ⬇️   **************/
     /***********************************************************/
@@ -60,14 +71,13 @@ public class LanguageService {
      */
     public <C extends BaseEntity> Set<LanguageDTO> getAllLanguages(Class<C> entityClazz, Long entityId) {
 
-        // Récupère la liste des langages
-        Set<Language> languages = new HashSet<>(languageRepository.findAll());
+        Set<Language> languages = null; // Liste des langages à renvoyer
 
         /************************************************/
 
         /**
          * Si on récupère un identifiant de l'entité et sa class,
-         * on filtre les langages étant associée à l'entité respective
+         * on récupère directement en base de données les langages étant associée à l'entité respective
          */
         if(entityId != null && entityClazz != null) {
 
@@ -75,59 +85,96 @@ public class LanguageService {
 
                 case "user":
 
-                    languages = languages.stream().filter(language -> {
-
-                        Set<User> filteredUsers = userRepository.findAllByLanguageIdInProjets(language.getId()).orElse(new HashSet<>());
-                        return filteredUsers.stream().anyMatch(user -> user.getId().equals(entityId));
-
-                    }).collect(Collectors.toSet());
+                    languages = languageRepository.findAllByUserIdInProjects(entityId);
                     break;
 
                 case "project":
 
-                    languages = languages.stream().filter(language -> language.getProjects()
-                            .stream().anyMatch(project -> project.getId().equals(entityId)))
-                            .collect(Collectors.toSet());
+                    languages = languageRepository.findAllByProjectId(entityId);
                     break;
 
                 default: break;
             }
         }
 
+        // Si aucun filtre n'a été appliqué, on récupère tous les langages en base de données
+        if(languages == null) languages = new HashSet<>(languageRepository.findAll());
+
         // On renvoie la liste de langage(s) et les convertis en leur 'DTO' respectif
         return new HashSet<>(dtoService.convertToDTOs(new LanguageDTO(), languages));
     }
 
+    /**
+     * Récupération d'une page de {@link Language langage}s (pagination par curseur).
+     *
+     * @param after L'{@link Long Identifiant} du dernier {@link Language langage} déjà récupéré (si nécessaire).
+     * @param limit Le nombre maximal de {@link Language langage}s à récupérer (si nécessaire).
+     * @param shape La {@link ResponseShape forme de réponse} demandée pour chaque {@link Language langage}.
+     *
+     * @return Une {@link ResponseEntity réponse http} récupérant une {@link PageResponse page} de {@link LanguageDTO langage}s.
+     */
+    public SerializableResponseEntity<?> getLanguagesPage(Long after, Integer limit, ResponseShape shape) {
+
+        int pageLimit = PaginationHelper.getLimit(limit); // Récupère le nombre de langages à renvoyer dans la page
+        Long cursor = PaginationHelper.getCursor(after); // Récupère le curseur de la page
+        String pageKey = "page:" + cursor + ":" + pageLimit; // Clé de la page
+
+        /************************************************/
+
+        // Calcule l''ETag' de la page depuis les versions de ses langages et de leurs associations (sans charger les langages)
+        List<Long> pageIds = languageRepository.findIdsAfter(cursor, PaginationHelper.getQueryLimit(pageLimit));
+        String eTag = ETagHelper.toETag(DTOCacheService.LANGUAGES, pageKey, shape, pageIds.isEmpty() ? List.of() : languageRepository.findVersionsByIds(pageIds));
+
+        // Si le client possède déjà cette version de la page, on renvoie directement une réponse '304 Not Modified'
+        if(ETagHelper.isNotModified(eTag)) return ETagHelper.notModified(eTag);
+
+        /************************************************/
+
+        // Récupère la réponse encodée de la page depuis son cache, sinon la page depuis le cache des 'DTO', ou la construit en convertissant les langages suivant le curseur demandé en leur 'DTO' respectif
+        return responseCacheService.respond(eTag, shape, () -> dtoCacheService.get(DTOCacheService.LANGUAGES, shape.cacheKey(pageKey) + "@" + eTag, () -> {
+
+            // Récupère les langages suivant le curseur demandé (avec un élément supplémentaire pour savoir s'il existe une page suivante)
+            List<Language> languages = languageRepository.findAllAfter(cursor, PaginationHelper.getQueryLimit(pageLimit));
+            return PaginationHelper.toPage(languages, pageLimit, pageLanguages -> new ArrayList<>(dtoService.convertToDTOs(new LanguageDTO(), pageLanguages, shape)));
+        }));
+    }
+
     /**
      * Récupération d'une seule {@link Language langage}.
      *
      * @param id L'{@link Long Identifiant} de la {@link Language langage}.
      *
+     * @param shape La {@link ResponseShape forme de réponse} demandée.
+     *
      * @return Une {@link ResponseEntity réponse http} permettant de récupérer un objet '{@link LanguageDTO language}'.
      */
-    public SerializableResponseEntity<?> getLanguageById(final Long id) {
+    public SerializableResponseEntity<?> getLanguageById(final Long id, ResponseShape shape) {
 
-        Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
+        // Calcule l''ETag' du langage depuis les versions du langage et de ses associations (sans charger le langage)
+        String eTag = ETagHelper.toETag(DTOCacheService.LANGUAGES, id, shape, languageRepository.findVersionsById(id));
+
+        // Si le client possède déjà cette version du langage, on renvoie directement une réponse '304 Not Modified'
+        if(ETagHelper.isNotModified(eTag)) return ETagHelper.notModified(eTag);
 
         /*******************************************************/
 
-        // On récupère le langage en tant qu'optionnel
-        Optional<Language> languageOptional = languageRepository.findById(id);
+        // Renvoie la réponse encodée du langage depuis son cache, ou la construit depuis le 'DTO' du langage (et son 'ETag')
+        return responseCacheService.respond(eTag, shape, () -> {
 
-        /**
-         * Si le langage optionnel, existe bel et bien,
-         * on renvoie son 'DTO' respectif
-         */
-        if(languageOptional.isPresent()) {
+            Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
 
-            LanguageDTO languageDTO = dtoService.convertToDTO(new LanguageDTO(), languageOptional.orElse(null)); // Convertit le langage en son 'DTO' respectif
-            responseMap.putIfAbsent("entity", languageDTO); // Envoie dans le dictionnaire 'map' le langage en question
-        }
+            /*******************************************************/
 
-        /*******************************************************/
+            // Récupère le 'DTO' du langage en question depuis le cache, ou le charge par son identifiant (avec ses associations, si elles sont demandées)
+            LanguageDTO languageDTO = dtoCacheService.get(DTOCacheService.LANGUAGES, shape.cacheKey(id) + "@" + eTag, () -> (shape.expands("projects") ? languageRepository.findDetailedById(id) : languageRepository.findById(id))
+                    .map(language -> dtoService.convertToDTO(new LanguageDTO(), language, shape)).orElse(null));
 
-        responseMap.putIfAbsent("isAvailable", languageRepository.existsById(id)); // Envoie dans le dictionnaire 'map' une vérification si le langage existe
-        return new SerializableResponseEntity<>(responseMap, HttpStatus.OK); // Renvoie la réponse http avec le dictionnaire 'map'
+            // Si le langage existe bel et bien, on envoie dans le dictionnaire 'map' son 'DTO' respectif
+            if(languageDTO != null) responseMap.putIfAbsent("entity", languageDTO);
+
+            responseMap.putIfAbsent("isAvailable", languageDTO != null); // Envoie dans le dictionnaire 'map' une vérification si le langage existe
+            return responseMap; // Renvoie le dictionnaire 'map'
+        });
     }
 
     /**
@@ -203,11 +250,15 @@ public class LanguageService {
         // Sinon, on met à jour le langage
         else languageRepository.save(existingLanguage);
 
+        PermissionHelper.forgetOwnershipPermissions(); // Les projets du langage ont changé : on oublie les permissions déjà vérifiées
+
+        dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's une fois la transaction validée
+
         /*************************************/
 
         // Définit une clé → valeur : Le langage a-t-il était supprimée ?
         responseMap.putIfAbsent("isDeleted", !languageRepository.existsById(languageId));
-        responseMap.putIfAbsent("isModified", PermissionHelper.userHasLanguageInProjetsPermission(existingLanguage, userRepository));
+        responseMap.putIfAbsent("isModified", PermissionHelper.userHasLanguageInProjetsPermission(existingLanguage));
         return new SerializableResponseEntity<>(responseMap, HttpStatus.OK); // Renvoie la réponse http
     }
 
@@ -253,7 +304,7 @@ public class LanguageService {
         Set<Project> projectsRequest = new HashSet<>(projectRepository.findAllById(languageRequest.getProjectsId()));
 
         // On récupère une liste des projets demandée par l'utilisateur en récupérant uniquement les projets liés à l'utilisateur
-        projectsRequest = projectsRequest.stream().filter(PermissionHelper::userHasProjectPermission).collect(Collectors.toSet());
+        projectsRequest = PermissionHelper.filterProjectsWithPermission(projectsRequest);
 
         // Si la liste des projets demandée par l'utilisateur est vide, on renvoie une erreur de permission dans le cas d'une modification.
         if(isUpdate && projectsRequest.isEmpty()) throw new UnauthorizedException(PermissionHelper.UNAUTHORIZED_MESSAGE);
@@ -276,7 +327,7 @@ public class LanguageService {
              * Si le langage existant est identique au langage modifié/créée par l'utilisateur, on remplace la copie du langage
              * par l'éxistant qui sera donc le langage définitif à envoyer en base de données.
              */
-            if(ObjectHelper.areObjectsIdentical(existingLanguage, finalLanguage[0], "id", "projects")) updatedLanguage[0] = existingLanguage;
+            if(ObjectHelper.areObjectsIdentical(existingLanguage, finalLanguage[0], "id", "version", "projects")) updatedLanguage[0] = existingLanguage;
 
             /***************************/
 
@@ -309,11 +360,17 @@ public class LanguageService {
                 // Sinon, on met à jour directement le langage a envoyé
             } else {
 
+                Object[] snapshot = ObjectHelper.snapshot(existingLanguage); // Valeurs du langage existant avant modification
+
                 // Met à jour le libellé, s'ils ne sont pas égaux dans les deux langages
                 if(!Objects.equals(updatedLanguage[0].getLabel(), existingLanguage.getLabel())) existingLanguage.setLabel(updatedLanguage[0].getLabel());
                 if(!Objects.equals(updatedLanguage[0].getStack(), existingLanguage.getStack())) existingLanguage.setStack(updatedLanguage[0].getStack());
 
                 projectsRequest.forEach(existingLanguage.getProjects()::add); // Ajoute au langage à envoyer les projets correspondants
+
+                // Si aucune valeur n'a été modifiée, on renvoie directement le 'DTO' du langage (sans sauvegarde, ni invalidation du cache)
+                if(!ObjectHelper.hasChanged(existingLanguage, snapshot)) return dtoService.convertToDTO(new LanguageDTO(), existingLanguage);
+
                 finalLanguage[0] = languageRepository.save(existingLanguage); // Sauvegarde le langage existant en tant que langage final
             }
 
@@ -323,12 +380,25 @@ public class LanguageService {
             // Vérifie si l'utilisateur connecté a la permission
             checkPermission(ERole.ROLE_ADMIN, finalLanguage[0], isUpdate);
 
+            /**
+             * En cas de modification, on applique le libellé et la stack demandés au langage existant (chargé par la session),
+             * plutôt que de fusionner le langage de la requête (sa version n'est jamais envoyée par le client)
+             */
+            if(isUpdate) {
+
+                if(!Objects.equals(finalLanguage[0].getLabel(), existingLanguage.getLabel())) existingLanguage.setLabel(finalLanguage[0].getLabel());
+                if(!Objects.equals(finalLanguage[0].getStack(), existingLanguage.getStack())) existingLanguage.setStack(finalLanguage[0].getStack());
+
+                finalLanguage[0] = existingLanguage;
+            }
+
             finalLanguage[0].setProjects(projectsRequest); // Ajoute au langage à envoyer les projets correspondants
             finalLanguage[0] = languageRepository.save(finalLanguage[0]); // Sauvegarde le langage final
         }
 
         /*****************************************************************************/
 
+        dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's une fois la transaction validée
         return dtoService.convertToDTO(new LanguageDTO(), finalLanguage[0]); // Renvoie le 'DTO' du langage final et mis à jour
     }
 
@@ -357,7 +427,7 @@ public class LanguageService {
         /**
          * On vérifie si l'utilisateur à bien de langage associé à l'un de ses projets, sinon, il n'a pas la permission !
          */
-        if(language == null || !PermissionHelper.userHasLanguageInProjetsPermission(language, userRepository)) hasPermission = false;
+        if(language == null || !PermissionHelper.userHasLanguageInProjetsPermission(language)) hasPermission = false;
 
         // S'il s'agit d'une création, il a finalement la permission
         if(!isUpdate) hasPermission = true;
@@ -2,26 +2,41 @@ package fr.thesakyo.portfolioapi.services.entities;
 
 import fr.thesakyo.portfolioapi.enums.ERole;
 import fr.thesakyo.portfolioapi.exceptions.UnauthorizedException;
+import fr.thesakyo.portfolioapi.helpers.BatchHelper;
+import fr.thesakyo.portfolioapi.helpers.ETagHelper;
+import fr.thesakyo.portfolioapi.helpers.ModificationHelper;
+import fr.thesakyo.portfolioapi.helpers.ObjectHelper;
+import fr.thesakyo.portfolioapi.helpers.PaginationHelper;
 import fr.thesakyo.portfolioapi.helpers.PermissionHelper;
 import fr.thesakyo.portfolioapi.models.DTO.ProjectDTO;
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
 import fr.thesakyo.portfolioapi.models.SerializableResponseEntity;
 import fr.thesakyo.portfolioapi.models.entities.BaseEntity;
 import fr.thesakyo.portfolioapi.models.entities.Language;
 import fr.thesakyo.portfolioapi.models.entities.Project;
 import fr.thesakyo.portfolioapi.models.entities.User;
+import fr.thesakyo.portfolioapi.models.projections.ProjectDetail;
+import fr.thesakyo.portfolioapi.models.projections.ProjectSummary;
 import fr.thesakyo.portfolioapi.repositories.LanguageRepository;
 import fr.thesakyo.portfolioapi.repositories.ProjectRepository;
+import fr.thesakyo.portfolioapi.services.DTOCacheService;
 import fr.thesakyo.portfolioapi.services.DTOService;
+import fr.thesakyo.portfolioapi.services.ResponseCacheService;
 import fr.thesakyo.portfolioapi.payloads.requests.LanguagesEntityRequest;
+import fr.thesakyo.portfolioapi.payloads.responses.PageResponse;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import org.apache.logging.log4j.util.Strings;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,6 +57,20 @@ public class ProjectService {
     @Autowired
     private DTOService dtoService; // Récupère le service lié au DTO
 
+    @Autowired
+    private DTOCacheService dtoCacheService; // Récupère le service lié au cache des DTO
+
+    @Autowired
+    private ResponseCacheService responseCacheService; // Récupère le service lié au cache des réponses encodées
+
+    /*******************************/
+
+    @PersistenceContext
+    private EntityManager entityManager; // Gestionnaire des entités de la transaction en cours (utile pour les écritures groupées).
+
+    @Value("${d2planapi.app.bulkBatchSize:50}")
+    private int bulkBatchSize; // Nombre de projets écrits par lot (batch JDBC) lors des créations/mises à jour groupées.
+
     /***********************************************************/
     /**************   ⬇️    MÉTHODES CRUD   ⬇️   **************/
     /***********************************************************/
@@ -56,14 +85,13 @@ public class ProjectService {
      */
     public <C extends BaseEntity> Set<ProjectDTO> getAllProjects(Class<C> entityClazz, Long entityId) {
 
-        // On récupère tous les projets en base de données
-        Set<Project> projectsList = new HashSet<>(projectRepository.findAll());
+        Set<Project> projectsList = null; // Liste des projets à renvoyer
 
         /************************************************/
 
         /**
          * Si on récupère un identifiant de l'entité et sa class,
-         * on filtre les projets étant associée à l'entité respective
+         * on récupère directement en base de données les projets étant associée à l'entité respective
          */
         if(entityId != null && entityClazz != null) {
 
@@ -71,67 +99,165 @@ public class ProjectService {
 
                 case "user":
 
-                    projectsList = projectsList.stream().filter(project -> project.getUser()
-                            .getId().equals(entityId)).collect(Collectors.toSet());
+                    projectsList = projectRepository.findAllByUserId(entityId);
                     break;
 
                 case "language":
 
-                    projectsList = projectsList.stream().filter(project -> project.getLanguages()
-                            .stream().anyMatch(category -> category.getId().equals(entityId)))
-                            .collect(Collectors.toSet());
+                    projectsList = projectRepository.findAllByLanguageId(entityId);
                     break;
 
                 default: break;
             }
         }
 
+        // Si aucun filtre n'a été appliqué, on récupère tous les projets en base de données
+        if(projectsList == null) projectsList = new HashSet<>(projectRepository.findAll());
+
         /************************************************/
 
         // On renvoie la liste de projet(s) et les convertis en leur 'DTO' respectif
         return new HashSet<>(dtoService.convertToDTOs(new ProjectDTO(), projectsList));
     }
 
+    /**
+     * Récupération d'une page de {@link Project projet}s (pagination par curseur).
+     *
+     * @param after L'{@link Long Identifiant} du dernier {@link Project projet} déjà récupéré (si nécessaire).
+     * @param limit Le nombre maximal de {@link Project projet}s à récupérer (si nécessaire).
+     * @param shape La {@link ResponseShape forme de réponse} demandée pour chaque {@link Project projet}.
+     *
+     * @return Une {@link ResponseEntity réponse http} récupérant une {@link PageResponse page} de {@link ProjectDTO projet}s.
+     */
+    public SerializableResponseEntity<?> getProjectsPage(Long after, Integer limit, ResponseShape shape) {
+
+        int pageLimit = PaginationHelper.getLimit(limit); // Récupère le nombre de projets à renvoyer dans la page
+        Long cursor = PaginationHelper.getCursor(after); // Récupère le curseur de la page
+        String pageKey = "page:" + cursor + ":" + pageLimit; // Clé de la page
+
+        /************************************************/
+
+        // Calcule l''ETag' de la page depuis les versions de ses projets et de leurs associations (sans charger les projets)
+        List<Long> pageIds = projectRepository.findIdsAfter(cursor, PaginationHelper.getQueryLimit(pageLimit));
+        String eTag = ETagHelper.toETag(DTOCacheService.PROJECTS, pageKey, shape, pageIds.isEmpty() ? List.of() : projectRepository.findVersionsByIds(pageIds));
+
+        // Si le client possède déjà cette version de la page, on renvoie directement une réponse '304 Not Modified'
+        if(ETagHelper.isNotModified(eTag)) return ETagHelper.notModified(eTag);
+
+        /************************************************/
+
+        // Récupère la réponse encodée de la page depuis son cache, sinon la page depuis le cache des 'DTO', ou la construit en convertissant les projets suivant le curseur demandé en leur 'DTO' respectif
+        return responseCacheService.respond(eTag, shape, () -> dtoCacheService.get(DTOCacheService.PROJECTS, shape.cacheKey(pageKey) + "@" + eTag, () -> {
+
+            /**
+             * Si ni le détail ni les associations ne sont demandés, seules les colonnes du résumé des projets sont sélectionnées
+             * (avec un élément supplémentaire pour savoir s'il existe une page suivante)
+             */
+            if(!shape.requests("detail") && !shape.expandsAny("user", "languages")) {
+
+                List<ProjectSummary> summaries = projectRepository.findSummariesAfter(cursor, PaginationHelper.getQueryLimit(pageLimit));
+                return PaginationHelper.toPage(summaries, pageLimit, ProjectSummary::id, pageSummaries -> pageSummaries.stream().map(summary -> summary.toDTO(shape)).toList());
+            }
+
+            // Sinon, récupère les projets suivant le curseur demandé (avec un élément supplémentaire pour savoir s'il existe une page suivante)
+            List<Project> projects = projectRepository.findAllAfter(cursor, PaginationHelper.getQueryLimit(pageLimit));
+
+            // Le détail (chargé à la demande) n'est renvoyé dans une liste que s'il est explicitement demandé, et récupéré en une seule requête
+            return PaginationHelper.toPage(projects, pageLimit, pageProjects -> {
+
+                List<ProjectDTO> projectsDTO = new ArrayList<>(dtoService.convertToDTOs(new ProjectDTO(), pageProjects, shape));
+                return shape.requests("detail") ? withDetails(projectsDTO) : projectsDTO;
+            });
+        }));
+    }
+
     /**
      * Récupération d'un seul {@link Project projet}.
      *
      * @param id L'{@link Long Identifiant} du {@link Project projet}.
+     * @param shape La {@link ResponseShape forme de réponse} demandée.
      *
      * @return Une {@link ResponseEntity réponse http} permettant de récupérer un objet '{@link ProjectDTO projet}'.
      */
-    public SerializableResponseEntity<?> getProjectById(final Long id) {
+    public SerializableResponseEntity<?> getProjectById(final Long id, ResponseShape shape) {
 
-        Project project = projectRepository.findById(id).orElse(null); // Récupère le projet en question par son identifiant
-        Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
+        // Calcule l''ETag' du projet depuis les versions du projet et de ses associations (sans charger le projet)
+        String eTag = ETagHelper.toETag(DTOCacheService.PROJECTS, id, shape, projectRepository.findVersionsById(id));
+
+        // Si le client possède déjà cette version du projet, on renvoie directement une réponse '304 Not Modified'
+        if(ETagHelper.isNotModified(eTag)) return ETagHelper.notModified(eTag);
 
         /**************************************/
 
-        // Si le projet récupéré est bel et bien existant, on recharge donc les informations nécessaires du client
-        if(project != null) responseMap.putIfAbsent("isAvailable", true); // Envoie dans le dictionnaire 'map' une valeur booléenne disant que le projet existe
+        // Renvoie la réponse encodée du projet depuis son cache, ou la construit depuis le 'DTO' du projet (et son 'ETag')
+        return responseCacheService.respond(eTag, shape, () -> {
 
-        // Sinon, on envoie dans le dictionnaire 'map' une valeur booléenne disant que le projet n'existe pas
-        else responseMap.putIfAbsent("isAvailable", false);
+            // Récupère le 'DTO' du projet en question depuis le cache, ou le charge par son identifiant (avec ses associations, si elles sont demandées)
+            ProjectDTO projectDTO = dtoCacheService.get(DTOCacheService.PROJECTS, shape.cacheKey(id) + "@" + eTag, () -> (shape.expandsAny("user", "languages") ? projectRepository.findDetailedById(id) : projectRepository.findById(id))
+                    .map(project -> dtoService.convertToDTO(new ProjectDTO(), project, shape)).orElse(null));
 
-        /**************************************/
+            Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
 
-        // On récupère le projet en tant qu'optionnel
-        Optional<Project> projectOptional = projectRepository.findById(id);
+            /**************************************/
 
-        /**
-         * Si le projet optionnel, existe bel et bien,
-         * on renvoie son 'DTO' respectif
-         */
-        if(projectOptional.isPresent()) {
+            // Envoie dans le dictionnaire 'map' une valeur booléenne disant si le projet existe ou non
+            responseMap.putIfAbsent("isAvailable", projectDTO != null);
 
-            ProjectDTO projectDTO = dtoService.convertToDTO(new ProjectDTO(), projectOptional.orElse(null)); // Convertit le projet en son 'DTO' respectif
-            responseMap.putIfAbsent("entity", projectDTO); // Envoie dans le dictionnaire 'map' le projet en question
-        }
+            // Si le projet existe bel et bien, on envoie dans le dictionnaire 'map' son 'DTO' respectif
+            if(projectDTO != null) responseMap.putIfAbsent("entity", projectDTO);
+
+            return responseMap; // Renvoie le dictionnaire 'map'
+        });
+    }
+
+    /**
+     * Récupération du détail d'un seul {@link Project projet} (seule la colonne du détail est lue, sans charger le projet).
+     *
+     * @param id L'{@link Long Identifiant} du {@link Project projet}.
+     *
+     * @return Une {@link ResponseEntity réponse http} permettant de récupérer le détail du {@link Project projet}.
+     */
+    public SerializableResponseEntity<?> getProjectDetail(final Long id) {
+
+        // Récupère le détail du projet en question depuis le cache, ou le charge par son identifiant
+        String detail = dtoCacheService.get(DTOCacheService.PROJECTS, "detail:" + id, () -> projectRepository.findDetailById(id).map(ProjectDetail::detail).orElse(null));
+
+        Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
+
+        /**************************************/
+
+        // Envoie dans le dictionnaire 'map' une valeur booléenne disant si le projet existe ou non
+        responseMap.putIfAbsent("isAvailable", detail != null);
+
+        // Si le projet existe bel et bien, on envoie dans le dictionnaire 'map' son détail
+        if(detail != null) responseMap.putIfAbsent("detail", detail);
 
         /*******************************************************/
 
         return new SerializableResponseEntity<>(responseMap, HttpStatus.OK); // Renvoie la réponse http avec le dictionnaire 'map'
     }
 
+    /**
+     * Complète une liste de '{@link ProjectDTO projet}'s avec leur détail, récupéré en une seule requête
+     * (le détail étant chargé à la demande, il n'est jamais converti pour une liste de projets).
+     *
+     * @param projectsDTO La {@link Collection liste} des '{@link ProjectDTO projet}'s à compléter.
+     *
+     * @return Une {@link List liste} des '{@link ProjectDTO projet}'s avec leur détail.
+     */
+    public List<ProjectDTO> withDetails(Collection<ProjectDTO> projectsDTO) {
+
+        if(projectsDTO.isEmpty()) return new ArrayList<>(projectsDTO); // S'il n'y a aucun projet, il n'y a rien à compléter
+
+        /**************************************/
+
+        // Récupère le détail de chaque projet (identifiant → détail)
+        Map<Long, String> details = projectRepository.findDetailsByIds(projectsDTO.stream().map(ProjectDTO::getId).toList()).stream()
+                .collect(Collectors.toMap(ProjectDetail::id, ProjectDetail::detail));
+
+        return projectsDTO.stream().map(projectDTO -> projectDTO.withDetail(details.get(projectDTO.getId()))).toList();
+    }
+
     /**
      * Création d'un nouveau {@link Project projet}.
      *
@@ -143,6 +269,7 @@ public class ProjectService {
     public ProjectDTO createProject(Project project) {
 
         checkPermission(project); // Vérifie si l'utilisateur connecté a la permission de supprimer le projet
+        dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's une fois la transaction validée
 
         // Renvoie le 'DTO' du projet en sauvegardant le projet en base de donnée
         return dtoService.convertToDTO(new ProjectDTO(), projectRepository.save(project));
@@ -161,32 +288,108 @@ public class ProjectService {
 
         Project existingProject = projectRepository.findById(id).orElse(null); // Récupère le projet à modifier par son identifiant
         if(existingProject == null) return null; // Si le projet à modifier est 'null', 'null' est donc renvoyé
-        checkPermission(project); // Vérifie si l'utilisateur connecté a la permission de supprimer le projet
+        checkPermission(existingProject); // Vérifie si l'utilisateur connecté a la permission de supprimer le projet
 
         /**********************************************************/
 
-        Set<Language> languages = project.getLanguages();
-        User user = project.getUser();
-
-        String title = project.getTitle();
-        String detail = project.getDetail();
-        String link = project.getLink();
+        boolean isModified = applyChanges(existingProject, project); // Applique les modifications demandées au projet existant
 
-        /**************/
-
-        if(languages != null && !languages.isEmpty()) existingProject.setLanguages(languages);
-        if(user != null) existingProject.setUser(user);
-
-        if(Strings.isNotBlank(title)) existingProject.setTitle(title);
-        if(Strings.isNotBlank(detail)) existingProject.setDetail(detail);
-        if(Strings.isNotBlank(link)) existingProject.setLink(link);
+        /**
+         * Si aucune valeur n'a été modifiée, on renvoie directement le 'DTO' du projet déjà chargé
+         * (sans sauvegarde, ni invalidation du cache), en l'indiquant dans la réponse http.
+         */
+        if(!ModificationHelper.setModified(isModified)) return dtoService.convertToDTO(new ProjectDTO(), existingProject);
 
         /******************************/
 
+        dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's une fois la transaction validée
+
         // Renvoie le 'DTO' du projet en sauvegardant le projet en base de donnée
         return dtoService.convertToDTO(new ProjectDTO(), projectRepository.save(existingProject));
     }
 
+    /**
+     * Création groupée de {@link Project projet}s : les insertions sont envoyées par lots (batch JDBC) de taille fixe.
+     *
+     * @param projects Une {@link List liste} de nouveaux objets '{@link Project projet}'.
+     *
+     * @return Une {@link ResponseEntity réponse http} récupérant une {@link List liste} des objets '{@link ProjectDTO projet}' créés.
+     */
+    @Transactional(rollbackFor = { UnauthorizedException.class })
+    public SerializableResponseEntity<?> createProjects(List<Project> projects) {
+
+        checkPermission(projects); // Vérifie si l'utilisateur connecté a la permission de créer les projets
+        dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's une fois la transaction validée
+
+        /**************************************/
+
+        List<ProjectDTO> projectsDTO = new ArrayList<>(projects.size()); // Liste des 'DTO's des projets créés
+
+        // Sauvegarde les projets par lots, en renvoyant leur 'DTO' respectif
+        BatchHelper.writeInBatches(entityManager, bulkBatchSize, projects.size(), (from, to) -> {
+
+            List<Project> chunk = projectRepository.saveAll(projects.subList(from, to));
+            entityManager.flush(); // Envoie les insertions du lot en une seule requête groupée
+
+            projectsDTO.addAll(dtoService.convertToDTOs(new ProjectDTO(), chunk));
+        });
+
+        Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
+        responseMap.putIfAbsent("entities", projectsDTO); // Envoie dans le dictionnaire 'map' les 'DTO's des projets créés
+
+        return new SerializableResponseEntity<>(responseMap, HttpStatus.OK); // Renvoie la réponse http avec le dictionnaire 'map'
+    }
+
+    /**
+     * Mise à jour groupée de {@link Project projet}s : les modifications sont envoyées par lots (batch JDBC) de taille fixe.
+     *
+     * @param projects Une {@link List liste} d'objets '{@link Project projet}' contenant chacun l'{@link Long identifiant} du projet à modifier.
+     *
+     * @return Une {@link ResponseEntity réponse http} récupérant une {@link List liste} des objets '{@link ProjectDTO projet}' mis à jour.
+     */
+    @Transactional(rollbackFor = { UnauthorizedException.class, EntityNotFoundException.class })
+    public SerializableResponseEntity<?> updateProjects(List<Project> projects) {
+
+        List<ProjectDTO> projectsDTO = new ArrayList<>(projects.size()); // Liste des 'DTO's des projets mis à jour
+        final boolean[] isModified = { false }; // Au moins un projet a-t-il réellement été modifié ?
+
+        // Met à jour les projets par lots, en renvoyant leur 'DTO' respectif
+        BatchHelper.writeInBatches(entityManager, bulkBatchSize, projects.size(), (from, to) -> {
+
+            List<Project> chunk = projects.subList(from, to); // Modifications demandées pour le lot en cours
+
+            // Récupère en une seule requête les projets existants du lot (avec leur détail, pour que leurs mises à jour soient regroupées), par identifiant
+            Map<Long, Project> existingProjects = projectRepository.findAllForUpdateByIds(chunk.stream().map(Project::getId).filter(Objects::nonNull).toList())
+                    .stream().collect(Collectors.toMap(Project::getId, Function.identity()));
+
+            if(existingProjects.size() != chunk.stream().map(Project::getId).distinct().count())
+                throw new EntityNotFoundException("Un ou plusieurs projets ne sont pas trouvés dans la base de données ou leur identifiant n'est pas défini.");
+
+            checkPermission(existingProjects.values()); // Vérifie si l'utilisateur connecté a la permission de modifier les projets du lot
+
+            /**************************************/
+
+            for(Project project : chunk) isModified[0] |= applyChanges(existingProjects.get(project.getId()), project); // Applique les modifications demandées
+            entityManager.flush(); // Envoie les mises à jour du lot (seuls les projets modifiés) en une seule requête groupée
+
+            // Renvoie les 'DTO's dans l'ordre des modifications demandées
+            projectsDTO.addAll(dtoService.convertToDTOs(new ProjectDTO(), chunk.stream().map(project -> existingProjects.get(project.getId())).toList()));
+        });
+
+        /**
+         * Si aucun projet n'a été modifié, rien n'a été écrit en base de donnée : le cache n'est pas invalidé,
+         * ce qui est indiqué dans la réponse http.
+         */
+        if(ModificationHelper.setModified(isModified[0])) dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's une fois la transaction validée
+
+        /**************************************/
+
+        Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
+        responseMap.putIfAbsent("entities", projectsDTO); // Envoie dans le dictionnaire 'map' les 'DTO's des projets mis à jour
+
+        return new SerializableResponseEntity<>(responseMap, HttpStatus.OK); // Renvoie la réponse http avec le dictionnaire 'map'
+    }
+
     /**
      * Met à jour les  {@link Language langage}(s) d'un {@link Project projet}.
      *
@@ -220,6 +423,7 @@ public class ProjectService {
 
         // Récupère le projet mis à jour dans la base de données
         Project projectUpdated = projectRepository.save(project);
+        dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's une fois la transaction validée
 
         // Envoie dans un dictionnaire une clé → valeur récupérant le 'DTO' du projet sauvegardé en base de donnée
         responseMap.putIfAbsent("entity", dtoService.convertToDTO(new ProjectDTO(), projectUpdated));
@@ -255,6 +459,7 @@ public class ProjectService {
         /****************************************************/
 
         projectRepository.deleteById(id); // Supprime le projet
+        dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's une fois la transaction validée
         responseMap.putIfAbsent("isDeleted", !projectRepository.existsById(id)); // Définit une clé → valeur : Le projet a-t-il était supprimé ?
         return new SerializableResponseEntity<>(responseMap, HttpStatus.OK); // Renvoie la réponse http
     }
@@ -263,6 +468,66 @@ public class ProjectService {
     /******************************************************************************************************************/
     /******************************************************************************************************************/
 
+    /**
+     * Applique les modifications demandées à un {@link Project projet} existant, et vérifie si elles l'ont réellement modifié.
+     * Le détail du projet existant, chargé à la demande, n'est lu que s'il doit être modifié.
+     *
+     * @param existingProject Le {@link Project projet} existant.
+     * @param project Le {@link Project projet} contenant les modifications demandées.
+     *
+     * @return Le {@link Project projet} existant a-t-il été modifié ?
+     */
+    private boolean applyChanges(Project existingProject, Project project) {
+
+        // Valeurs du projet existant avant modification (sans le détail, chargé à la demande : il n'est lu que s'il doit être modifié)
+        Object[] snapshot = ObjectHelper.snapshot(existingProject, "detail");
+        String previousDetail = Strings.isNotBlank(project.getDetail()) ? existingProject.getDetail() : null;
+
+        mergeProject(existingProject, project); // Applique les modifications demandées au projet existant
+
+        return ObjectHelper.hasChanged(existingProject, snapshot, "detail") || (previousDetail != null && !previousDetail.equals(project.getDetail()));
+    }
+
+    /**
+     * Applique à un {@link Project projet} existant les propriétés définies d'un {@link Project projet} demandé.
+     *
+     * @param existingProject Le {@link Project projet} existant à modifier.
+     * @param project Le {@link Project projet} contenant les modifications demandées.
+     */
+    private void mergeProject(Project existingProject, Project project) {
+
+        Set<Language> languages = project.getLanguages();
+        User user = project.getUser();
+
+        String title = project.getTitle();
+        String detail = project.getDetail();
+        String link = project.getLink();
+
+        /**************/
+
+        // Les associations ne sont remplacées que si elles diffèrent (sinon Hibernate réécrirait la table de jointure)
+        if(languages != null && !languages.isEmpty() && !ObjectHelper.areValuesEqual(existingProject.getLanguages(), languages)) existingProject.setLanguages(languages);
+        if(user != null && !ObjectHelper.areValuesEqual(existingProject.getUser(), user)) existingProject.setUser(user);
+
+        if(Strings.isNotBlank(title)) existingProject.setTitle(title);
+        if(Strings.isNotBlank(detail)) existingProject.setDetail(detail);
+        if(Strings.isNotBlank(link)) existingProject.setLink(link);
+    }
+
+    /**
+     * Envoie un {@link UnauthorizedException exception} si l'utilisateur connecté n'a pas la permission adéquate sur l'ensemble des {@link Project projet}s.
+     * Les identifiants des projets de l'utilisateur sont vérifiés en une seule requête.
+     *
+     * @param projects Les {@link Project projet}s à valider.
+     *
+     * @throws UnauthorizedException Si l'utilisateur connecté n'a pas la permission adéquate.
+     */
+    private void checkPermission(Collection<Project> projects) throws UnauthorizedException {
+
+        if(!PermissionHelper.userHasRole(ERole.ROLE_ADMIN) || PermissionHelper.filterProjectsWithPermission(projects).size() != projects.size())
+            throw new UnauthorizedException(PermissionHelper.UNAUTHORIZED_MESSAGE);
+    }
+
     /**
      * Envoie un {@link UnauthorizedException exception} si l'utilisateur connecté n'a pas la permission adéquate.
      *
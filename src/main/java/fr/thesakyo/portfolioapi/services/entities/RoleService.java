@@ -1,12 +1,15 @@
 package fr.thesakyo.portfolioapi.services.entities;
 
+import fr.thesakyo.portfolioapi.helpers.ETagHelper;
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
 import fr.thesakyo.portfolioapi.models.DTO.RoleDTO;
 import fr.thesakyo.portfolioapi.models.SerializableResponseEntity;
 import fr.thesakyo.portfolioapi.models.entities.Role;
 import fr.thesakyo.portfolioapi.repositories.RoleRepository;
+import fr.thesakyo.portfolioapi.services.DTOCacheService;
 import fr.thesakyo.portfolioapi.services.DTOService;
+import fr.thesakyo.portfolioapi.services.ResponseCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -25,6 +28,12 @@ public class RoleService {
     @Autowired
     private DTOService dtoService; // Récupère le service lié au DTO
 
+    @Autowired
+    private DTOCacheService dtoCacheService; // Récupère le service lié au cache des DTO
+
+    @Autowired
+    private ResponseCacheService responseCacheService; // Récupère le service lié au cache des réponses encodées
+
     /***********************************************************/
     /**************   ⬇️    MÉTHODES CRUD   ⬇️   **************/
     /***********************************************************/
@@ -36,8 +45,8 @@ public class RoleService {
      */
     public Set<RoleDTO> getAllRoles() {
 
-        // On renvoie la liste de rôle(s) et les convertis en leur 'DTO' respectif
-        return new HashSet<>(dtoService.convertToDTOs(new RoleDTO(), new HashSet<>(roleRepository.findAll())));
+        // On renvoie la liste de rôle(s) depuis le cache, ou on les récupère et les convertis en leur 'DTO' respectif
+        return dtoCacheService.get(DTOCacheService.ROLES, "all", () -> new HashSet<>(dtoService.convertToDTOs(new RoleDTO(), new HashSet<>(roleRepository.findAll()))));
     }
 
     /**
@@ -49,26 +58,30 @@ public class RoleService {
      */
     public SerializableResponseEntity<?> getRoleById(final Long id) {
 
-        Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
+        // Calcule l''ETag' du rôle depuis sa version (sans charger le rôle)
+        String eTag = ETagHelper.toETag(DTOCacheService.ROLES, id, ResponseShape.FULL, roleRepository.findVersionsById(id));
+
+        // Si le client possède déjà cette version du rôle, on renvoie directement une réponse '304 Not Modified'
+        if(ETagHelper.isNotModified(eTag)) return ETagHelper.notModified(eTag);
 
         /*******************************************************/
 
-        // On récupère le rôle en tant qu'optionnel
-        Optional<Role> roleOptional = roleRepository.findById(id);
+        // Renvoie la réponse encodée du rôle depuis son cache, ou la construit depuis le 'DTO' du rôle (et son 'ETag')
+        return responseCacheService.respond(eTag, () -> {
 
-        /**
-         * Si le rôle optionnel, existe bel et bien,
-         * on renvoie son 'DTO' respectif
-         */
-        if(roleOptional.isPresent()) {
+            Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
 
-            RoleDTO roleDTO = dtoService.convertToDTO(new RoleDTO(), roleOptional.orElse(null)); // Convertit le rôle en son 'DTO' respectif
-            responseMap.putIfAbsent("entity", roleDTO); // Envoie dans le dictionnaire 'map' le rôle en question
-        }
+            /*******************************************************/
 
-        /*******************************************************/
+            // Récupère le 'DTO' du rôle en question depuis le cache, ou le charge par son identifiant
+            RoleDTO roleDTO = dtoCacheService.get(DTOCacheService.ROLES, id + "@" + eTag, () -> roleRepository.findById(id)
+                    .map(role -> dtoService.convertToDTO(new RoleDTO(), role)).orElse(null));
+
+            // Si le rôle existe bel et bien, on envoie dans le dictionnaire 'map' son 'DTO' respectif
+            if(roleDTO != null) responseMap.putIfAbsent("entity", roleDTO);
 
-        responseMap.putIfAbsent("isAvailable", roleRepository.existsById(id)); // Envoie dans le dictionnaire 'map' une vérification si le rôle existe
-        return new SerializableResponseEntity<>(responseMap, HttpStatus.OK); // Renvoie la réponse http avec le dictionnaire 'map'
+            responseMap.putIfAbsent("isAvailable", roleDTO != null); // Envoie dans le dictionnaire 'map' une vérification si le rôle existe
+            return responseMap; // Renvoie le dictionnaire 'map'
+        });
     }
 }
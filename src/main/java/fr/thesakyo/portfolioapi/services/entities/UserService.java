@@ -2,16 +2,25 @@ package fr.thesakyo.portfolioapi.services.entities;
 
 import fr.thesakyo.portfolioapi.enums.ERole;
 import fr.thesakyo.portfolioapi.exceptions.UnauthorizedException;
+import fr.thesakyo.portfolioapi.helpers.ETagHelper;
+import fr.thesakyo.portfolioapi.helpers.ModificationHelper;
+import fr.thesakyo.portfolioapi.helpers.ObjectHelper;
+import fr.thesakyo.portfolioapi.helpers.PaginationHelper;
 import fr.thesakyo.portfolioapi.helpers.PermissionHelper;
 import fr.thesakyo.portfolioapi.helpers.RoleHelper;
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
 import fr.thesakyo.portfolioapi.models.DTO.UserDTO;
 import fr.thesakyo.portfolioapi.models.SerializableResponseEntity;
 import fr.thesakyo.portfolioapi.models.entities.*;
 import fr.thesakyo.portfolioapi.payloads.requests.RoleRequest;
-import fr.thesakyo.portfolioapi.repositories.RoleRepository;
+import fr.thesakyo.portfolioapi.payloads.responses.PageResponse;
 import fr.thesakyo.portfolioapi.repositories.UserRepository;
+import fr.thesakyo.portfolioapi.security.PrincipalVersionRegistry;
+import fr.thesakyo.portfolioapi.security.RoleRegistry;
 import fr.thesakyo.portfolioapi.security.UserConnection;
+import fr.thesakyo.portfolioapi.services.DTOCacheService;
 import fr.thesakyo.portfolioapi.services.DTOService;
+import fr.thesakyo.portfolioapi.services.ResponseCacheService;
 import jakarta.annotation.Nullable;
 import org.apache.logging.log4j.util.Strings;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,13 +45,22 @@ public class UserService {
     private UserRepository userRepository; // Référentiel faisant référence aux utilisateurs de la base de données.
 
     @Autowired
-    private RoleRepository roleRepository; // Référentiel faisant référence aux rôles de la base de données.
+    private RoleRegistry roleRegistry; // Registre des rôles de la base de données (préchargés en mémoire).
 
     /*******************************/
 
     @Autowired
     private DTOService dtoService; // Récupère le service lié au DTO
 
+    @Autowired
+    private DTOCacheService dtoCacheService; // Récupère le service lié au cache des DTO
+
+    @Autowired
+    private ResponseCacheService responseCacheService; // Récupère le service lié au cache des réponses encodées
+
+    @Autowired
+    private PrincipalVersionRegistry principalVersionRegistry; // Registre des versions des informations d'authentification des utilisateurs
+
     /*************************/
 
     @Autowired
@@ -62,14 +80,13 @@ public class UserService {
      */
     public <C extends BaseEntity> Set<UserDTO> getAllUsers(Class<C> entityClazz, Long entityId) {
 
-        // Récupère la liste des utilisateurs
-        Set<User> users = new HashSet<>(userRepository.findAll());
+        Set<User> users = null; // Liste des utilisateurs à renvoyer
 
         /************************************************/
 
         /**
          * Si on récupère un identifiant de l'entité et sa class,
-         * on filtre les utilisateurs étant associée à l'entité respective
+         * on récupère directement en base de données les utilisateurs étant associée à l'entité respective
          */
         if(entityId != null && entityClazz != null) {
 
@@ -82,57 +99,92 @@ public class UserService {
 
                 case "project":
 
-                    users = users.stream().filter(user -> user.getProjects()
-                            .stream().anyMatch(project -> project.getId().equals(entityId)))
-                            .collect(Collectors.toSet());
+                    users = userRepository.findAllByProjectId(entityId).orElse(new HashSet<>());
                     break;
 
                 default: break;
             }
         }
 
+        // Si aucun filtre n'a été appliqué, on récupère tous les utilisateurs en base de données
+        if(users == null) users = new HashSet<>(userRepository.findAll());
+
         // On renvoie la liste d'utilisateur(s) et les convertis en leur 'DTO' respectif
         return new HashSet<>(dtoService.convertToDTOs(new UserDTO(), users));
     }
 
+    /**
+     * Récupération d'une page d'{@link User utilisateur}s (pagination par curseur).
+     *
+     * @param after L'{@link Long Identifiant} du dernier {@link User utilisateur} déjà récupéré (si nécessaire).
+     * @param limit Le nombre maximal d'{@link User utilisateur}s à récupérer (si nécessaire).
+     * @param shape La {@link ResponseShape forme de réponse} demandée pour chaque {@link User utilisateur}.
+     *
+     * @return Une {@link ResponseEntity réponse http} récupérant une {@link PageResponse page} d'{@link UserDTO utilisateur}s.
+     */
+    public SerializableResponseEntity<?> getUsersPage(Long after, Integer limit, ResponseShape shape) {
+
+        int pageLimit = PaginationHelper.getLimit(limit); // Récupère le nombre d'utilisateurs à renvoyer dans la page
+        Long cursor = PaginationHelper.getCursor(after); // Récupère le curseur de la page
+        String pageKey = "page:" + cursor + ":" + pageLimit; // Clé de la page
+
+        /************************************************/
+
+        // Calcule l''ETag' de la page depuis les versions de ses utilisateurs et de leurs associations (sans charger les utilisateurs)
+        List<Long> pageIds = userRepository.findIdsAfter(cursor, PaginationHelper.getQueryLimit(pageLimit));
+        String eTag = ETagHelper.toETag(DTOCacheService.USERS, pageKey, shape, pageIds.isEmpty() ? List.of() : userRepository.findVersionsByIds(pageIds));
+
+        // Si le client possède déjà cette version de la page, on renvoie directement une réponse '304 Not Modified'
+        if(ETagHelper.isNotModified(eTag)) return ETagHelper.notModified(eTag);
+
+        /************************************************/
+
+        // Récupère la réponse encodée de la page depuis son cache, sinon la page depuis le cache des 'DTO', ou la construit en convertissant les utilisateurs suivant le curseur demandé en leur 'DTO' respectif
+        return responseCacheService.respond(eTag, shape, () -> dtoCacheService.get(DTOCacheService.USERS, shape.cacheKey(pageKey) + "@" + eTag, () -> {
+
+            // Récupère les utilisateurs suivant le curseur demandé (avec un élément supplémentaire pour savoir s'il existe une page suivante)
+            List<User> users = userRepository.findAllAfter(cursor, PaginationHelper.getQueryLimit(pageLimit));
+            return PaginationHelper.toPage(users, pageLimit, pageUsers -> new ArrayList<>(dtoService.convertToDTOs(new UserDTO(), pageUsers, shape)));
+        }));
+    }
+
     /**
      * Récupération d'un seul {@link User utilisateur} par son identifiant.
      *
      * @param id L'{@link Long Identifiant} de l'{@link User utilisateur}.
+     * @param shape La {@link ResponseShape forme de réponse} demandée.
      *
      * @return Une {@link ResponseEntity réponse http} permettant de récupérer un objet '{@link UserDTO utilisateur}'.
      */
-    public SerializableResponseEntity<?> getUserById(@Nullable Long id) {
+    public SerializableResponseEntity<?> getUserById(@Nullable Long id, ResponseShape shape) {
 
-        User user = userRepository.findById(id).orElse(null); // Récupère l'utilisateur par son identifiant
-        Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
+        // Calcule l''ETag' de l'utilisateur depuis les versions de l'utilisateur et de ses associations (sans charger l'utilisateur)
+        String eTag = id == null ? null : ETagHelper.toETag(DTOCacheService.USERS, id, shape, userRepository.findVersionsById(id));
 
-        /**************************************/
+        // Si le client possède déjà cette version de l'utilisateur, on renvoie directement une réponse '304 Not Modified'
+        if(ETagHelper.isNotModified(eTag)) return ETagHelper.notModified(eTag);
 
-        // Si l'utilisateur récupéré est bel et bien existant, on envoie dans le dictionnaire 'map' une valeur booléenne disant que l'utilisateur existe
-        if(user != null) responseMap.putIfAbsent("isAvailable", true);
+        /**************************************/
 
-        // Sinon, on envoie dans le dictionnaire 'map' une valeur booléenne disant que l'utilisateur n'existe pas
-        else responseMap.putIfAbsent("isAvailable", false);
+        // On renvoie la réponse encodée de l'utilisateur depuis son cache, ou on la construit depuis le 'DTO' de l'utilisateur (et son 'ETag')
+        return responseCacheService.respond(eTag, shape, () -> {
 
-        /**************************************/
+            // Récupère le 'DTO' de l'utilisateur depuis le cache, ou le charge par son identifiant (avec ses associations, si elles sont demandées)
+            UserDTO userDTO = id == null ? null : dtoCacheService.get(DTOCacheService.USERS, shape.cacheKey(id) + "@" + eTag, () -> (shape.expandsAny("projects", "roles") ? userRepository.findDetailedById(id) : userRepository.findById(id))
+                    .map(user -> dtoService.convertToDTO(new UserDTO(), user, shape)).orElse(null));
 
-        // On récupère l'utilisateur en tant qu'optionnel
-        Optional<User> userOptional = Optional.ofNullable(user);
+            Map<String, Object> responseMap = new HashMap<>(); // Dictionnaire 'map' pour récupérer une clé → valeur (utile pour le retour de la réponse http)
 
-        /**
-         * Si l'utilisateur optionnel, existe bel et bien,
-         * on renvoie son 'DTO' respectif
-         */
-        if(userOptional.isPresent()) {
+            /**************************************/
 
-            UserDTO userDTO = dtoService.convertToDTO(new UserDTO(), userOptional.orElse(null)); // Convertit l'utilisateur en son 'DTO' respectif
-            responseMap.putIfAbsent("entity", userDTO); // Envoie dans le dictionnaire 'map' l'utilisateur en question
-        }
+            // Envoie dans le dictionnaire 'map' une valeur booléenne disant si l'utilisateur existe ou non
+            responseMap.putIfAbsent("isAvailable", userDTO != null);
 
-        /*******************************************************/
+            // Si l'utilisateur existe bel et bien, on envoie dans le dictionnaire 'map' son 'DTO' respectif
+            if(userDTO != null) responseMap.putIfAbsent("entity", userDTO);
 
-        return new SerializableResponseEntity<>(responseMap, HttpStatus.OK); // On envoie la réponse http avec le dictionnaire 'map'
+            return responseMap; // On renvoie le dictionnaire 'map'
+        });
     }
 
     /**
@@ -153,7 +205,7 @@ public class UserService {
         /******************************/
 
         User user = userRepository.findById(roleRequest.getUserId()).orElse(null);
-        Role role = roleRepository.findById(roleRequest.getRoleId()).orElse(null);
+        Role role = roleRegistry.getRoleById(roleRequest.getRoleId());
 
         /***********************************/
         /***********************************/
@@ -188,10 +240,10 @@ public class UserService {
         if(addRole) {
 
             // Si l'utilisateur et le rôle ne sont pas 'null', on essaie d'ajouter son rôle, s'il ne l'a pas.
-            if(user != null && role != null && !user.getRoles().contains(role)) {
+            if(user != null && role != null && !hasRole(user, role)) {
 
                 // Vérifie et récupère les rôles de l'utilisateur modifiés
-                Set<Role> roles = RoleHelper.checkRolesName(new HashSet<>(List.of(role.getName().name())), roleRepository);
+                Set<Role> roles = RoleHelper.checkRolesName(new HashSet<>(List.of(role.getName().name())), roleRegistry);
                 user.setRoles(roles); // Ajoute les rôles à l'utilisateur
 
                 /*************************/
@@ -203,9 +255,9 @@ public class UserService {
         } else {
 
             // Si l'utilisateur et le rôle ne sont pas 'null', on essaie de supprimer son rôle, s'il ne l'a déjà
-            if(user != null && role != null && user.getRoles().contains(role)) {
+            if(user != null && role != null && hasRole(user, role)) {
 
-                user.getRoles().remove(role); // Supprime le rôle en question à l'utilisateur
+                user.getRoles().removeIf(userRole -> userRole.getName() == role.getName()); // Supprime le rôle en question à l'utilisateur
 
                 // Récupère la liste des noms des rôles de l'utilisateur
                 Set<String> rolesName = user.getRoles().stream().map(element -> element.getName().name()).collect(Collectors.toSet());
@@ -218,18 +270,18 @@ public class UserService {
                     case ROLE_SUPERADMIN:
 
                         rolesName = rolesName.stream().filter(element -> element.equalsIgnoreCase(ERole.ROLE_ADMIN.name())).collect(Collectors.toSet());
-                        user.setRoles(RoleHelper.checkRolesName(rolesName, roleRepository));
+                        user.setRoles(RoleHelper.checkRolesName(rolesName, roleRegistry));
                         break;
 
                     case ROLE_ADMIN:
 
                         rolesName = rolesName.stream().filter(element -> element.equalsIgnoreCase(ERole.ROLE_UNKNOWN.name())).collect(Collectors.toSet());
-                        user.setRoles(RoleHelper.checkRolesName(rolesName, roleRepository));
+                        user.setRoles(RoleHelper.checkRolesName(rolesName, roleRegistry));
                         break;
 
                     default:
 
-                        Role unkownRole = roleRepository.findByName(ERole.ROLE_UNKNOWN).orElse(null);
+                        Role unkownRole = roleRegistry.getRole(ERole.ROLE_UNKNOWN);
                         if(unkownRole != null) {
 
                             roleRequest.setRoleId(unkownRole.getId());
@@ -251,6 +303,8 @@ public class UserService {
         if(user != null) {
 
             user = userRepository.save(user); // Sauvegarde l'utilisateur en base de données
+            dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's (une fois la transaction validée, s'il y en a une)
+            principalVersionRegistry.bump(user.getId()); // Force le rechargement des informations d'authentification de l'utilisateur
 
             // Envoie dans un dictionnaire clé → valeur, le 'DTO' de l'utilisateur en sauvegardé en base de donnée
             responseMap.putIfAbsent("entity", dtoService.convertToDTO(new UserDTO(), user));
@@ -286,9 +340,13 @@ public class UserService {
 
         boolean isEnabled = user.getVerificationEnabled(); // Vérifie si l'utilisateur authentifié est vérifié
 
+        // Valeurs de l'utilisateur existant avant modification (sans ses projets, pour ne pas les charger)
+        Object[] snapshot = ObjectHelper.snapshot(existingUser, "projects");
+
         /**********************************************************/
 
-        if(roles != null && !roles.isEmpty()) existingUser.setRoles(roles);
+        // Les rôles ne sont remplacés que s'ils diffèrent (sinon Hibernate réécrirait la table de jointure)
+        if(roles != null && !roles.isEmpty() && !ObjectHelper.areValuesEqual(existingUser.getRoles(), roles)) existingUser.setRoles(roles);
         if(projects != null && !projects.isEmpty()) existingUser.setProjects(projects);
 
         if(Strings.isNotBlank(name)) existingUser.setName(name); // Modifie le nom de l'utilisateur, si cela a été demandé
@@ -309,6 +367,18 @@ public class UserService {
         // Modifie l'activation de l'utilisateur, s'il est différent
         if(isEnabled != existingUser.getVerificationEnabled()) existingUser.setVerificationEnabled(isEnabled);
 
+        /**********************************************************/
+
+        /**
+         * Si aucune valeur n'a été modifiée, on renvoie directement le 'DTO' de l'utilisateur déjà chargé
+         * (sans sauvegarde, ni invalidation du cache), en l'indiquant dans la réponse http.
+         */
+        boolean isModified = (projects != null && !projects.isEmpty()) || ObjectHelper.hasChanged(existingUser, snapshot, "projects");
+        if(!ModificationHelper.setModified(isModified)) return dtoService.convertToDTO(new UserDTO(), existingUser);
+
+        dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's une fois la transaction validée
+        principalVersionRegistry.bump(id); // Force le rechargement des informations d'authentification de l'utilisateur
+
         // Renvoie le 'DTO' de l'utilisateur en sauvegardant l'utilisateur en base de donnée
         return dtoService.convertToDTO(new UserDTO(), userRepository.save(existingUser));
     }
@@ -331,8 +401,17 @@ public class UserService {
 
         userRepository.findById(id).ifPresent(user -> {
 
+            // Si l'utilisateur est déjà activé, il n'y a rien à écrire (ni à invalider), on l'indique dans la réponse http
+            if(!ModificationHelper.setModified(!user.getVerificationEnabled())) {
+
+                responseMap.replace("isEnabled", true);
+                return;
+            }
+
             user.setVerificationEnabled(true); // Désactive le compte de l'utilisateur
             userRepository.save(user); // Sauvegarde l'utilisateur en base de données
+            dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's une fois la transaction validée
+            principalVersionRegistry.bump(id); // Force le rechargement des informations d'authentification de l'utilisateur
 
             /*******************/
 
@@ -367,6 +446,9 @@ public class UserService {
         if(existingUser.getVerificationEnabled()) existingUser.setVerificationEnabled(false); // Désactive le compte de l'utilisateur, si ce n'est pas le cas
         else userRepository.deleteById(id); // Sinon, on supprime l'utilisateur
 
+        dtoCacheService.evict(DTOCacheService.PORTFOLIO_REGIONS); // Invalide le cache des 'DTO's une fois la transaction validée
+        principalVersionRegistry.bump(id); // Force le rechargement des informations d'authentification de l'utilisateur
+
         /**********************************************************/
 
         responseMap.replace("isDisabled", !existingUser.getVerificationEnabled()); // Redéfinit une clé → valeur : L'Utilisateur a-t-il était supprimé ?
@@ -381,6 +463,16 @@ public class UserService {
     /******************************************************************************************************************/
     /******************************************************************************************************************/
 
+    /**
+     * Vérifie si un {@link User utilisateur} possède le {@link Role rôle} demandé (comparaison par nom, les rôles du registre n'étant pas ceux de la session).
+     *
+     * @param user L'{@link User utilisateur} à vérifier.
+     * @param role Le {@link Role rôle} à rechercher.
+     *
+     * @return Une valeur booléenne vérifiant si l'{@link User utilisateur} possède le {@link Role rôle} demandé.
+     */
+    private static boolean hasRole(User user, Role role) { return user.getRoles().stream().anyMatch(userRole -> userRole.getName() == role.getName()); }
+
     /**
      * Envoie un {@link UnauthorizedException exception} si l'utilisateur connecté n'a pas la permission adéquate.
      *
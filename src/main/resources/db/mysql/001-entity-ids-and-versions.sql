@@ -0,0 +1,19 @@
+-- Schéma des écritures groupées et du verrouillage optimiste (MySQL), à exécuter une seule fois avant de déployer cette version.
+--
+-- * 'entity_ids' : table du générateur d'identifiants partagé par toutes les entités ('PersistenceConfig.ID_GENERATOR_TABLE').
+--   Les identifiants sont réservés par blocs (au lieu de l'auto-incrément de MySQL) pour permettre le regroupement des insertions.
+--   Sa ligne est créée, puis alignée sur les identifiants déjà présents, au démarrage de l'application ('PersistenceConfig.alignIdGenerator').
+--
+-- * 'version' : version de chaque entité ('BaseEntity.version'), incrémentée à chaque modification
+--   (verrouillage optimiste et 'ETag's des réponses http). Les lignes existantes commencent à la version 0.
+
+CREATE TABLE IF NOT EXISTS entity_ids (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE roles ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE languages ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,100 @@
+package fr.thesakyo.portfolioapi;
+
+import fr.thesakyo.portfolioapi.enums.ERole;
+import fr.thesakyo.portfolioapi.enums.EStack;
+import fr.thesakyo.portfolioapi.models.entities.Language;
+import fr.thesakyo.portfolioapi.models.entities.Project;
+import fr.thesakyo.portfolioapi.models.entities.Role;
+import fr.thesakyo.portfolioapi.models.entities.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// La validation des entités est désactivée : seul le nombre de requêtes SQL est vérifié ('Role.name' est une énumération annotée '@NotBlank')
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true", "spring.jpa.properties.jakarta.persistence.validation.mode=none" })
+public abstract class StatementCountTest {
+
+    /**********************************************************/
+    /**************   ⬇️    PROPRIÉTÉS    ⬇️   **************/
+    /*********************************************************/
+
+    @Autowired
+    protected TestEntityManager entityManager; // Gestionnaire des entités de la transaction du test.
+
+    private Statistics statistics; // Statistiques d'Hibernate (nombre de requêtes envoyées à la base de données).
+
+    private int sequence; // Compteur rendant uniques les libellés et adresses e-mail générés.
+
+    private Role role; // Rôle partagé par les utilisateurs enregistrés (le nom d'un rôle est unique).
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @BeforeEach
+    void initStatistics() { statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics(); }
+
+    /**
+     * Compte le nombre de requêtes SQL envoyées par une action, depuis un contexte de persistance vide (aucune entité déjà chargée).
+     *
+     * @param action L'action à mesurer.
+     *
+     * @return Le nombre de requêtes SQL préparées pendant l'action.
+     */
+    protected long countStatements(Runnable action) {
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Enregistre un {@link User utilisateur} ayant un {@link Role rôle}.
+     *
+     * @return L'{@link User utilisateur} enregistré.
+     */
+    protected User persistUser() {
+
+        if(role == null) role = entityManager.persist(new Role(ERole.ROLE_ADMIN, 1, "Administrateur"));
+        else role = entityManager.merge(role); // Le contexte de persistance a pu être vidé depuis
+
+        ++sequence;
+        return entityManager.persist(new User("Utilisateur " + sequence, "user" + sequence + "@test.fr", "password", true, new HashSet<>(), new HashSet<>(Set.of(role))));
+    }
+
+    /**
+     * Enregistre un {@link Language langage}, sans projet.
+     *
+     * @return Le {@link Language langage} enregistré.
+     */
+    protected Language persistLanguage() { return entityManager.persist(new Language("Langage " + ++sequence, EStack.BACK_END, new HashSet<>())); }
+
+    /**
+     * Enregistre un {@link Project projet} d'un {@link User utilisateur}, avec ses {@link Language langage}s.
+     *
+     * @param user L'{@link User utilisateur} propriétaire du projet.
+     * @param languages Les {@link Language langage}s du projet.
+     *
+     * @return Le {@link Project projet} enregistré.
+     */
+    protected Project persistProject(User user, Language... languages) {
+
+        Project project = entityManager.persist(new Project("Projet " + ++sequence, "Détail du projet " + sequence, "https://test.fr/" + sequence, user, new HashSet<>(Set.of(languages))));
+
+        user.getProjects().add(project);
+        for(Language language : languages) language.getProjects().add(project);
+
+        return project;
+    }
+}
@@ -0,0 +1,137 @@
+package fr.thesakyo.portfolioapi;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie le mode 'threads' virtuels ('spring.threads.virtual.enabled=true') : Tomcat traite chaque requête http sur un 'thread' virtuel,
+ * les tâches asynchrones aussi, et des requêtes concurrentes en attente d'une connexion JDBC n'épinglent pas leur 'thread' porteur.
+ */
+@SpringBootTest(classes = VirtualThreadTest.Config.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "spring.threads.virtual.enabled=true", "spring.datasource.hikari.maximum-pool-size=2" })
+class VirtualThreadTest {
+
+    private static final int CONCURRENT_REQUESTS = 50; // Nombre de requêtes http envoyées en même temps (bien plus que de connexions JDBC).
+
+    private static final long CONNECTION_HOLD_MS = 10; // Durée pendant laquelle chaque requête garde sa connexion JDBC.
+
+    /*******************************/
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @Configuration
+    @ImportAutoConfiguration({ ServletWebServerFactoryAutoConfiguration.class, EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class, WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class, DataSourceAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class, TaskExecutionAutoConfiguration.class })
+    @Import(ThreadController.class)
+    static class Config {}
+
+    /**
+     * Contrôleur de test, renvoyant si la requête http est traitée sur un 'thread' virtuel après un aller-retour JDBC.
+     */
+    @RestController
+    static class ThreadController {
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @GetMapping("/thread")
+        public boolean thread() {
+
+            // Garde la connexion un instant : les autres requêtes attendent une connexion libre du groupe Hikari
+            jdbcTemplate.execute((ConnectionCallback<Boolean>)connection -> {
+
+                try { Thread.sleep(CONNECTION_HOLD_MS); } catch(InterruptedException e) { Thread.currentThread().interrupt(); }
+                return connection.createStatement().execute("SELECT 1");
+            });
+
+            return Thread.currentThread().isVirtual();
+        }
+    }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @Test
+    void asyncTasksRunOnVirtualThreads() throws Exception {
+
+        assertThat(applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+    }
+
+    @Test
+    void concurrentRequestsRunOnVirtualThreadsWithoutPinning() throws Exception {
+
+        ConcurrentLinkedQueue<RecordedEvent> pinnedEvents = new ConcurrentLinkedQueue<>();
+
+        try(RecordingStream recording = new RecordingStream();
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+
+            // Enregistre chaque épinglage d'un 'thread' virtuel sur son 'thread' porteur, quelle que soit sa durée
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinnedEvents::add);
+            recording.startAsync();
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/thread")).build();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+
+            long start = System.nanoTime();
+            for(int i = 0; i < CONCURRENT_REQUESTS; i++) responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+
+            for(CompletableFuture<HttpResponse<String>> response : responses) {
+
+                assertThat(response.get().statusCode()).isEqualTo(200);
+                assertThat(response.get().body()).isEqualTo("true");
+            }
+
+            System.out.printf("%d requêtes concurrentes (2 connexions JDBC) : %d ms%n", CONCURRENT_REQUESTS, (System.nanoTime() - start) / 1_000_000);
+
+            recording.stop(); // Attend la réception des derniers événements
+        }
+
+        assertThat(pinnedEvents).as(() -> "'Threads' virtuels épinglés :\n" + pinnedEvents).isEmpty();
+    }
+}
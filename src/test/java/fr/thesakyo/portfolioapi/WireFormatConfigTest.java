@@ -0,0 +1,168 @@
+package fr.thesakyo.portfolioapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fr.thesakyo.portfolioapi.enums.ERole;
+import fr.thesakyo.portfolioapi.enums.EStack;
+import fr.thesakyo.portfolioapi.models.DTO.LanguageDTO;
+import fr.thesakyo.portfolioapi.models.DTO.ProjectDTO;
+import fr.thesakyo.portfolioapi.models.DTO.RoleDTO;
+import fr.thesakyo.portfolioapi.models.DTO.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compare les formats de réponse (JSON, 'CBOR' et 'Smile') sur de grands graphes de 'DTO' : taille des réponses, coût d'encodage
+ * et de décodage (affichés dans la console), et fidélité de l'aller-retour.
+ */
+@JsonTest
+@Import(WireFormatConfig.class)
+class WireFormatConfigTest {
+
+    private static final int ASSOCIATION_COUNT = 500; // Nombre de projets de chaque graphe de 'DTO'.
+
+    private static final int WARMUP_ITERATIONS = 200; // Nombre d'itérations avant la mesure (compilation à la volée).
+
+    private static final int MEASURED_ITERATIONS = 500; // Nombre d'itérations mesurées.
+
+    /*******************************/
+
+    @Autowired
+    private ObjectMapper objectMapper; // Convertisseur JSON de l'application.
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Construit des {@link ProjectDTO projet}s ayant un titre, un détail et un lien.
+     *
+     * @return Une {@link Set liste} de {@link ProjectDTO projet}s.
+     */
+    private static Set<ProjectDTO> projects() {
+
+        Set<ProjectDTO> projects = new HashSet<>();
+
+        for(long id = 1; id <= ASSOCIATION_COUNT; id++)
+            projects.add(new ProjectDTO(id, "Projet n°" + id, "Détail du projet n°" + id + " : une description de quelques phrases.", "https://portfolio.test/projects/" + id, null, null));
+
+        return projects;
+    }
+
+    /**
+     * Mesure la taille d'un 'DTO' encodé dans chaque format, ainsi que le coût moyen de son encodage et de son décodage,
+     * puis vérifie que le décodage de chaque format redonne le même arbre que le JSON.
+     *
+     * @param dto Le 'DTO' à encoder.
+     *
+     * @return La taille (en octets) du 'DTO' encodé, par format.
+     */
+    private Map<String, Integer> measure(Object dto) throws Exception {
+
+        Map<String, ObjectMapper> encoders = new LinkedHashMap<>();
+        encoders.put("json", objectMapper);
+        encoders.put("cbor", cborHttpMessageConverter.getObjectMapper());
+        encoders.put("smile", smileHttpMessageConverter.getObjectMapper());
+
+        JsonNode expectedTree = tree(objectMapper.readTree(objectMapper.writeValueAsBytes(dto))); // Arbre attendu après chaque aller-retour
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+
+        /**************************************/
+
+        for(Map.Entry<String, ObjectMapper> encoder : encoders.entrySet()) {
+
+            ObjectMapper mapper = encoder.getValue();
+            byte[] bytes = mapper.writeValueAsBytes(dto);
+
+            // Aller-retour : le décodage redonne le même arbre, puis le même 'DTO'
+            assertThat(tree(mapper.readTree(bytes))).isEqualTo(expectedTree);
+            assertThat(tree(objectMapper.readTree(objectMapper.writeValueAsBytes(mapper.readValue(bytes, dto.getClass()))))).isEqualTo(expectedTree);
+
+            for(int i = 0; i < WARMUP_ITERATIONS; i++) mapper.readTree(mapper.writeValueAsBytes(dto));
+
+            long encodeNanos = 0, decodeNanos = 0;
+
+            for(int i = 0; i < MEASURED_ITERATIONS; i++) {
+
+                long start = System.nanoTime();
+                byte[] encoded = mapper.writeValueAsBytes(dto);
+                long middle = System.nanoTime();
+                mapper.readValue(encoded, dto.getClass());
+
+                encodeNanos += middle - start;
+                decodeNanos += System.nanoTime() - middle;
+            }
+
+            sizes.put(encoder.getKey(), bytes.length);
+            System.out.printf("%s %-5s : %7d octets, encodage %6d µs, décodage %6d µs%n", dto.getClass().getSimpleName(), encoder.getKey(), bytes.length,
+                    encodeNanos / MEASURED_ITERATIONS / 1_000, decodeNanos / MEASURED_ITERATIONS / 1_000);
+        }
+
+        return sizes;
+    }
+
+    /**
+     * Normalise un arbre JSON pour la comparaison : les éléments des tableaux sont triés
+     * (les listes des 'DTO' sont des ensembles, dont l'ordre change après décodage).
+     *
+     * @param node L'Arbre à normaliser.
+     *
+     * @return L'Arbre normalisé.
+     */
+    private JsonNode tree(JsonNode node) {
+
+        if(node.isObject()) {
+
+            ObjectNode object = objectMapper.createObjectNode();
+            node.fields().forEachRemaining(field -> object.set(field.getKey(), tree(field.getValue())));
+            return object;
+        }
+
+        if(node.isArray()) {
+
+            List<JsonNode> elements = new ArrayList<>();
+            node.forEach(element -> elements.add(tree(element)));
+            elements.sort(Comparator.comparing(JsonNode::toString));
+
+            return objectMapper.createArrayNode().addAll(elements);
+        }
+
+        return node;
+    }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @Test
+    void binaryFormatsShrinkUserGraph() throws Exception {
+
+        UserDTO user = new UserDTO(1L, "Utilisateur", "utilisateur@portfolio.test", projects(), Set.of(new RoleDTO(1L, ERole.ROLE_ADMIN, 1, "Administrateur")));
+        Map<String, Integer> sizes = measure(user);
+
+        assertThat(sizes.get("cbor")).isLessThan(sizes.get("json"));
+        assertThat(sizes.get("smile")).isLessThan(sizes.get("cbor")); // 'Smile' partage les noms des champs répétés
+    }
+
+    @Test
+    void binaryFormatsShrinkLanguageGraph() throws Exception {
+
+        Map<String, Integer> sizes = measure(new LanguageDTO(1L, "Java", EStack.BACK_END, projects()));
+
+        assertThat(sizes.get("cbor")).isLessThan(sizes.get("json"));
+        assertThat(sizes.get("smile")).isLessThan(sizes.get("cbor"));
+    }
+}
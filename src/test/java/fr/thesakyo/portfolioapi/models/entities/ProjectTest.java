@@ -0,0 +1,61 @@
+package fr.thesakyo.portfolioapi.models.entities;
+
+import fr.thesakyo.portfolioapi.StatementCountTest;
+import fr.thesakyo.portfolioapi.helpers.ObjectHelper;
+import fr.thesakyo.portfolioapi.repositories.ProjectRepository;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie l'amélioration du 'bytecode' Hibernate sur les {@link Project projet}s : le détail n'est chargé que lorsqu'il est lu.
+ */
+class ProjectTest extends StatementCountTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @Test
+    void projectIsEnhanced() { assertThat(PersistentAttributeInterceptable.class).isAssignableFrom(Project.class); }
+
+    @Test
+    void detailIsLoadedOnlyWhenRead() {
+
+        Long id = persistProject(persistUser(), persistLanguage()).getId();
+
+        // Le projet, puis son détail lorsqu'il est lu
+        assertThat(countStatements(() -> {
+
+            Project project = projectRepository.findById(id).orElseThrow();
+            assertThat(Hibernate.isPropertyInitialized(project, "detail")).isFalse();
+
+            assertThat(project.getDetail()).startsWith("Détail du projet");
+            assertThat(Hibernate.isPropertyInitialized(project, "detail")).isTrue();
+
+        })).isEqualTo(2);
+    }
+
+    @Test
+    void snapshotDoesNotLoadDetail() {
+
+        Long id = persistProject(persistUser(), persistLanguage()).getId();
+        Project[] project = new Project[1];
+
+        assertThat(countStatements(() -> project[0] = projectRepository.findById(id).orElseThrow())).isEqualTo(1);
+
+        // Les accesseurs de 'ObjectHelper' lisent les attributs de l'entité améliorée sans passer par l'intercepteur d'Hibernate
+        Object[] snapshot = ObjectHelper.snapshot(project[0], "detail");
+
+        assertThat(Hibernate.isPropertyInitialized(project[0], "detail")).isFalse();
+        assertThat(ObjectHelper.hasChanged(project[0], snapshot, "detail")).isFalse();
+
+        project[0].setTitle("Projet modifié");
+        assertThat(ObjectHelper.hasChanged(project[0], snapshot, "detail")).isTrue();
+    }
+}
@@ -0,0 +1,169 @@
+package fr.thesakyo.portfolioapi.repositories;
+
+import fr.thesakyo.portfolioapi.StatementCountTest;
+import fr.thesakyo.portfolioapi.models.DTO.LanguageDTO;
+import fr.thesakyo.portfolioapi.models.DTO.ProjectDTO;
+import fr.thesakyo.portfolioapi.models.DTO.UserDTO;
+import fr.thesakyo.portfolioapi.models.entities.Language;
+import fr.thesakyo.portfolioapi.models.entities.Project;
+import fr.thesakyo.portfolioapi.models.entities.User;
+import fr.thesakyo.portfolioapi.services.DTOService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie le nombre de requêtes SQL de chaque lecture utilisant un plan de chargement ('@EntityGraph'), conversion en 'DTO' comprise :
+ * il est fixé, et ne grandit pas avec le nombre d'entités associées.
+ */
+@Import(DTOService.class)
+class EntityGraphTest extends StatementCountTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DTOService dtoService;
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Vérifie qu'une lecture envoie le nombre de requêtes SQL attendu, pour peu comme pour beaucoup d'entités associées.
+     *
+     * @param expectedCount Le nombre de requêtes SQL attendu.
+     * @param fixture La préparation des données, recevant le nombre d'entités associées, et renvoyant la lecture à mesurer.
+     */
+    private void assertStatementCount(long expectedCount, IntFunction<Runnable> fixture) {
+
+        Runnable smallRead = fixture.apply(2);
+        Runnable largeRead = fixture.apply(40);
+
+        assertThat(countStatements(smallRead)).isEqualTo(expectedCount);
+        assertThat(countStatements(largeRead)).isEqualTo(expectedCount);
+    }
+
+    /**
+     * Enregistre un {@link Project projet} ayant plusieurs {@link Language langage}s.
+     *
+     * @param languageCount Le nombre de {@link Language langage}s du projet.
+     *
+     * @return Le {@link Project projet} enregistré.
+     */
+    private Project persistProjectWithLanguages(int languageCount) {
+
+        Language[] languages = new Language[languageCount];
+        for(int i = 0; i < languageCount; i++) languages[i] = persistLanguage();
+
+        return persistProject(persistUser(), languages);
+    }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @Test
+    void projectById() {
+
+        // Le plan de chargement, puis le détail du projet (chargé à la demande, uniquement pour un seul projet)
+        assertStatementCount(2, languageCount -> {
+
+            Long id = persistProjectWithLanguages(languageCount).getId();
+            return () -> dtoService.convertToDTO(new ProjectDTO(), projectRepository.findDetailedById(id).orElseThrow());
+        });
+    }
+
+    @Test
+    void projectsOfUser() {
+
+        assertStatementCount(1, projectCount -> {
+
+            User user = persistUser();
+            for(int i = 0; i < projectCount; i++) persistProject(user, persistLanguage(), persistLanguage());
+
+            return () -> assertThat(dtoService.convertToDTOs(new ProjectDTO(), projectRepository.findAllByUserId(user.getId()))).hasSize(projectCount);
+        });
+    }
+
+    @Test
+    void projectsOfLanguage() {
+
+        assertStatementCount(1, projectCount -> {
+
+            Language language = persistLanguage();
+            for(int i = 0; i < projectCount; i++) persistProject(persistUser(), language, persistLanguage());
+
+            return () -> assertThat(dtoService.convertToDTOs(new ProjectDTO(), projectRepository.findAllByLanguageId(language.getId()))).hasSize(projectCount);
+        });
+    }
+
+    /*******************************************************************/
+
+    @Test
+    void languageById() {
+
+        assertStatementCount(1, projectCount -> {
+
+            Language language = persistLanguage();
+            for(int i = 0; i < projectCount; i++) persistProject(persistUser(), language);
+
+            return () -> dtoService.convertToDTO(new LanguageDTO(), languageRepository.findDetailedById(language.getId()).orElseThrow());
+        });
+    }
+
+    @Test
+    void languagesOfProject() {
+
+        assertStatementCount(1, languageCount -> {
+
+            Long id = persistProjectWithLanguages(languageCount).getId();
+            return () -> assertThat(dtoService.convertToDTOs(new LanguageDTO(), languageRepository.findAllByProjectId(id))).hasSize(languageCount);
+        });
+    }
+
+    /*******************************************************************/
+
+    @Test
+    void userById() {
+
+        assertStatementCount(1, projectCount -> {
+
+            User user = persistUser();
+            for(int i = 0; i < projectCount; i++) persistProject(user, persistLanguage());
+
+            return () -> dtoService.convertToDTO(new UserDTO(), userRepository.findDetailedById(user.getId()).orElseThrow());
+        });
+    }
+
+    @Test
+    void usersOfProject() {
+
+        assertStatementCount(1, languageCount -> {
+
+            Long id = persistProjectWithLanguages(languageCount).getId();
+            return () -> assertThat(dtoService.convertToDTOs(new UserDTO(), userRepository.findAllByProjectId(id).orElseThrow())).hasSize(1);
+        });
+    }
+
+    @Test
+    void usersOfLanguage() {
+
+        assertStatementCount(1, userCount -> {
+
+            Language language = persistLanguage();
+            for(int i = 0; i < userCount; i++) persistProject(persistUser(), language);
+
+            return () -> assertThat(dtoService.convertToDTOs(new UserDTO(), userRepository.findAllByLanguageIdInProjets(language.getId()).orElseThrow())).hasSize(userCount);
+        });
+    }
+}
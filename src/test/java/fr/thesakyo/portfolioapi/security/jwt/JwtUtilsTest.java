@@ -0,0 +1,137 @@
+package fr.thesakyo.portfolioapi.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie le cache des jetons (token) validés de {@link JwtUtils} : son gain face à une validation complète (affiché dans la console),
+ * et le refus d'un jeton déjà en cache dont la clé a été retirée lors d'une rotation des clés.
+ */
+class JwtUtilsTest {
+
+    private static final String OLD_SECRET = secret("ancienne clé secrète de test, de 32 octets au moins");
+
+    private static final String NEW_SECRET = secret("nouvelle clé secrète de test, de 32 octets au moins");
+
+    private static final int WARMUP_ITERATIONS = 2_000; // Nombre d'itérations avant la mesure (compilation à la volée).
+
+    private static final int MEASURED_ITERATIONS = 10_000; // Nombre d'itérations mesurées.
+
+    /*******************************/
+
+    private JwtUtils jwtUtils;
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Encode une clé secrète de test en base 64.
+     */
+    private static String secret(String value) { return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)); }
+
+    /**
+     * Construit l'utilitaire avec la clé 'v1' comme clé actuelle.
+     */
+    @BeforeEach
+    void init() {
+
+        jwtUtils = new JwtUtils();
+
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", OLD_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtKeyId", "v1");
+        ReflectionTestUtils.setField(jwtUtils, "jwtPreviousSecrets", "");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCookie", "jwt");
+        ReflectionTestUtils.setField(jwtUtils, "jwtClaimsCacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+    }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @Test
+    void cachedTokenIsRejectedOnceItsKeyIsRemoved() {
+
+        String token = jwtUtils.generateTokenFromUsername(1L, "utilisateur@test.fr");
+        assertThat(jwtUtils.getValidatedClaims(token)).isNotNull(); // Le jeton est maintenant en cache
+
+        jwtUtils.loadKeys("v2", NEW_SECRET, ""); // Rotation : la clé 'v1' est retirée
+
+        assertThat(jwtUtils.getValidatedClaims(token)).isNull();
+        assertThat(jwtUtils.getValidatedClaims(jwtUtils.generateTokenFromUsername(1L, "utilisateur@test.fr"))).isNotNull();
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceItsSecretChanges() {
+
+        String token = jwtUtils.generateTokenFromUsername(1L, "utilisateur@test.fr");
+        assertThat(jwtUtils.getValidatedClaims(token)).isNotNull();
+
+        jwtUtils.loadKeys("v1", NEW_SECRET, ""); // Même identifiant, mais une autre clé secrète
+
+        assertThat(jwtUtils.getValidatedClaims(token)).isNull();
+    }
+
+    @Test
+    void cachedTokenIsAcceptedWhileItsKeyIsKept() {
+
+        String token = jwtUtils.generateTokenFromUsername(1L, "utilisateur@test.fr");
+        assertThat(jwtUtils.getValidatedClaims(token)).isNotNull();
+
+        jwtUtils.loadKeys("v2", NEW_SECRET, "v1:" + OLD_SECRET); // Rotation : la clé 'v1' reste acceptée pour la vérification
+
+        Claims claims = jwtUtils.getValidatedClaims(token);
+        assertThat(claims).isNotNull();
+        assertThat(claims.getSubject()).isEqualTo("utilisateur@test.fr");
+    }
+
+    @Test
+    void cachedValidationIsFasterThanFullValidation() {
+
+        String token = jwtUtils.generateTokenFromUsername(1L, "utilisateur@test.fr");
+        Cache<String, ?> claimsCache = getClaimsCache();
+
+        // Validation complète : le cache est vidé avant chaque validation
+        for(int i = 0; i < WARMUP_ITERATIONS; i++) { claimsCache.invalidateAll(); jwtUtils.getValidatedClaims(token); }
+
+        long uncachedNanos = 0;
+
+        for(int i = 0; i < MEASURED_ITERATIONS; i++) {
+
+            claimsCache.invalidateAll();
+
+            long start = System.nanoTime();
+            jwtUtils.getValidatedClaims(token);
+            uncachedNanos += System.nanoTime() - start;
+        }
+
+        /**************************************/
+
+        // Validation en cache : seule l'empreinte du jeton est calculée
+        for(int i = 0; i < WARMUP_ITERATIONS; i++) jwtUtils.getValidatedClaims(token);
+
+        long start = System.nanoTime();
+        for(int i = 0; i < MEASURED_ITERATIONS; i++) jwtUtils.getValidatedClaims(token);
+        long cachedNanos = System.nanoTime() - start;
+
+        System.out.printf("Validation d'un jeton : complète %5d ns, en cache %5d ns%n", uncachedNanos / MEASURED_ITERATIONS, cachedNanos / MEASURED_ITERATIONS);
+
+        assertThat(cachedNanos).isLessThan(uncachedNanos);
+    }
+
+    /*******************************************************************/
+
+    /**
+     * Récupère le cache des jetons (token) validés de l'utilitaire.
+     */
+    @SuppressWarnings("unchecked")
+    private Cache<String, ?> getClaimsCache() { return (Cache<String, ?>)ReflectionTestUtils.getField(jwtUtils, "claimsCache"); }
+}
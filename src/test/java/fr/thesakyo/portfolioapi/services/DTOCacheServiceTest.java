@@ -0,0 +1,128 @@
+package fr.thesakyo.portfolioapi.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Vérifie que la génération Redis des régions du cache des 'DTO's est gardée localement : elle n'est lue depuis Redis qu'une seule fois,
+ * puis mise à jour par les invalidations (locales ou reçues des autres instances).
+ */
+class DTOCacheServiceTest {
+
+    private static final String GENERATION_KEY = "d2planapi:cache:generation:" + DTOCacheService.PROJECTS; // Clé Redis de la génération des projets.
+
+    /*******************************/
+
+    private DTOCacheService dtoCacheService;
+
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private ValueOperations<String, Object> valueOperations;
+
+    private final RedisSerializer<Object> serializer = new GenericJackson2JsonRedisSerializer(); // Sérialiseur des messages Redis (celui de l'application).
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Construit le service avec un modèle Redis simulé, dont la génération des projets vaut 3.
+     */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void init() {
+
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer)serializer);
+        when(valueOperations.increment(GENERATION_KEY, 0L)).thenReturn(3L);
+
+        dtoCacheService = new DTOCacheService();
+
+        ReflectionTestUtils.setField(dtoCacheService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(dtoCacheService, "cacheLocalMaxSize", 100L);
+        ReflectionTestUtils.setField(dtoCacheService, "cacheLocalTtlSeconds", 60L);
+        ReflectionTestUtils.setField(dtoCacheService, "cacheRedisTtlSeconds", 600L);
+        ReflectionTestUtils.invokeMethod(dtoCacheService, "init");
+    }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @Test
+    void redisGenerationIsReadOnce() {
+
+        for(int i = 0; i < 10; i++) assertThat(dtoCacheService.get(DTOCacheService.PROJECTS, i, () -> "valeur")).isEqualTo("valeur");
+
+        verify(valueOperations, times(1)).increment(GENERATION_KEY, 0L);
+        verify(valueOperations).set(eq("d2planapi:cache:projects:3::9"), eq("valeur"), any(Duration.class));
+    }
+
+    @Test
+    void invalidationMessageUpdatesRedisGeneration() {
+
+        dtoCacheService.get(DTOCacheService.PROJECTS, 1, () -> "ancienne valeur");
+
+        // Une autre instance a invalidé la région : elle est passée à la génération 4
+        dtoCacheService.onMessage(new DefaultMessage(DTOCacheService.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8), serializer.serialize("projects@4")), null);
+
+        assertThat(dtoCacheService.get(DTOCacheService.PROJECTS, 1, () -> "nouvelle valeur")).isEqualTo("nouvelle valeur");
+
+        verify(valueOperations, times(1)).increment(GENERATION_KEY, 0L);
+        verify(valueOperations).get("d2planapi:cache:projects:4::1");
+    }
+
+    @Test
+    void invalidationMessageWithoutGenerationRereadsIt() {
+
+        dtoCacheService.get(DTOCacheService.PROJECTS, 1, () -> "valeur");
+
+        // Message d'une instance d'une ancienne version (la région seule)
+        dtoCacheService.onMessage(new DefaultMessage(DTOCacheService.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8), serializer.serialize("projects")), null);
+        dtoCacheService.get(DTOCacheService.PROJECTS, 1, () -> "valeur");
+
+        verify(valueOperations, times(2)).increment(GENERATION_KEY, 0L);
+    }
+
+    @Test
+    void evictPublishesNewRedisGeneration() {
+
+        when(valueOperations.increment(GENERATION_KEY)).thenReturn(5L);
+
+        dtoCacheService.evict(DTOCacheService.PROJECTS);
+        dtoCacheService.get(DTOCacheService.PROJECTS, 1, () -> "valeur");
+
+        verify(redisTemplate).convertAndSend(DTOCacheService.INVALIDATION_CHANNEL, "projects@5");
+        verify(valueOperations, never()).increment(GENERATION_KEY, 0L);
+        verify(valueOperations).get("d2planapi:cache:projects:5::1");
+    }
+
+    @Test
+    void olderRedisGenerationIsIgnored() {
+
+        dtoCacheService.onMessage(new DefaultMessage(DTOCacheService.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8), serializer.serialize("projects@7")), null);
+        dtoCacheService.onMessage(new DefaultMessage(DTOCacheService.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8), serializer.serialize("projects@6")), null);
+
+        dtoCacheService.get(DTOCacheService.PROJECTS, 1, () -> "valeur");
+
+        verify(valueOperations).get("d2planapi:cache:projects:7::1");
+        verify(valueOperations, never()).get(startsWith("d2planapi:cache:projects:6"));
+        verify(valueOperations, never()).increment(anyString(), eq(0L));
+    }
+}
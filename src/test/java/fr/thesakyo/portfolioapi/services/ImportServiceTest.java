@@ -0,0 +1,235 @@
+package fr.thesakyo.portfolioapi.services;
+
+import fr.thesakyo.portfolioapi.enums.ERole;
+import fr.thesakyo.portfolioapi.models.entities.Language;
+import fr.thesakyo.portfolioapi.models.entities.Project;
+import fr.thesakyo.portfolioapi.models.entities.Role;
+import fr.thesakyo.portfolioapi.models.entities.User;
+import fr.thesakyo.portfolioapi.repositories.LanguageRepository;
+import fr.thesakyo.portfolioapi.repositories.ProjectRepository;
+import fr.thesakyo.portfolioapi.repositories.RoleRepository;
+import fr.thesakyo.portfolioapi.repositories.UserRepository;
+import fr.thesakyo.portfolioapi.security.LoggedUser;
+import fr.thesakyo.portfolioapi.security.UserConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie l'import de {@link Project projet}s par lots de deux enregistrements : chaque lot est validé dans sa propre transaction
+ * (le test n'en ouvre donc aucune), et un lot en échec est annulé sans empêcher l'import des lots suivants.
+ */
+@DataJpaTest(properties = { "spring.jpa.properties.jakarta.persistence.validation.mode=none", "d2planapi.app.importChunkSize=2",
+        "d2planapi.app.bulkBatchSize=2", "d2planapi.app.importMaxRecordChars=200" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(ImportService.class)
+class ImportServiceTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private DTOCacheService dtoCacheService; // Pas de Redis dans les tests.
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Enregistre un administrateur, et le connecte à une requête http fictive.
+     */
+    @BeforeEach
+    void logAdmin() {
+
+        Role role = roleRepository.save(new Role(ERole.ROLE_ADMIN, 1, "Administrateur"));
+        User user = userRepository.save(new User("Administrateur", "admin@test.fr", "password", true, new HashSet<>(), new HashSet<>(Set.of(role))));
+
+        LoggedUser loggedUser = new LoggedUser(user.getId(), user.getName(), _ -> null, _ -> new long[0], (_, _) -> false, (_, _) -> false);
+        loggedUser.authenticate(org.springframework.security.core.userdetails.User.withUsername(user.getEmail()).password("password").authorities(ERole.ROLE_ADMIN.name()).build());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(UserConnection.LOGGED_USER_ATTRIBUTE, loggedUser);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    /**
+     * Supprime les données enregistrées par le test (chaque lot ayant été validé dans sa propre transaction).
+     */
+    @AfterEach
+    void clean() {
+
+        RequestContextHolder.resetRequestAttributes();
+        for(String table : List.of("project_languages", "projects", "languages", "user_roles", "users", "roles")) jdbcTemplate.update("DELETE FROM " + table);
+    }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Importe un fichier, puis renvoie le rapport de l'import.
+     *
+     * @param fileName Le nom du fichier (son extension définit son format).
+     * @param content Le contenu du fichier.
+     * @param expectedStatus Le {@link HttpStatus statut} attendu de la réponse http.
+     *
+     * @return Le rapport de l'import.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> importFile(String fileName, String content, HttpStatus expectedStatus) throws Exception {
+
+        var response = importService.importProjects(new MockMultipartFile("file", fileName, null, content.getBytes(StandardCharsets.UTF_8)), null);
+        assertThat(response.getStatusCode()).isEqualTo(expectedStatus);
+
+        return (Map<String, Object>)response.getBody();
+    }
+
+    /**
+     * Récupère les messages d'erreur de tous les lots d'un rapport d'import.
+     *
+     * @param report Le rapport de l'import.
+     *
+     * @return Les messages d'erreur de tous les lots.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> errorMessages(Map<String, Object> report) {
+
+        List<String> messages = new ArrayList<>();
+
+        for(Map<String, Object> chunk : (List<Map<String, Object>>)report.get("chunks"))
+            for(Map<String, Object> error : (List<Map<String, Object>>)chunk.get("errors")) messages.add((String)error.get("message"));
+
+        return messages;
+    }
+
+    /**
+     * Récupère les libellés des {@link Language langage}s d'un {@link Project projet} importé, par son titre.
+     */
+    private Set<String> languagesOf(String title) {
+
+        Set<String> labels = new TreeSet<>();
+        jdbcTemplate.query("SELECT l.label FROM projects p JOIN project_languages pl ON pl.project_id = p.id JOIN languages l ON l.id = pl.language_id WHERE p.title = ?",
+                resultSet -> { labels.add(resultSet.getString(1)); }, title);
+
+        return labels;
+    }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @Test
+    void importsNdjson() throws Exception {
+
+        String content = """
+                {"title":"Projet 1","detail":"Détail 1","link":"https://test.fr/1","languages":["Java:BACK_END","TypeScript:FRONT_END"]}
+
+                {"title":"Projet 2","detail":"Détail 2","link":"https://test.fr/2","languages":["Java"]}
+                {"title":"","detail":"Détail 3","link":"https://test.fr/3"}
+                pas du JSON
+                """;
+
+        Map<String, Object> report = importFile("projects.ndjson", content, HttpStatus.OK);
+
+        assertThat(report).containsEntry("imported", 2L).containsEntry("failed", 2L);
+        assertThat(errorMessages(report)).hasSize(2).anyMatch(message -> message.startsWith("JSON invalide"));
+        assertThat(languagesOf("Projet 1")).containsExactly("Java", "TypeScript");
+        assertThat(languagesOf("Projet 2")).containsExactly("Java");
+    }
+
+    @Test
+    void importsCsv() throws Exception {
+
+        String content = """
+                title,detail,link,languages
+                Projet 1,"Détail sur
+                deux lignes, avec \"\"guillemets\"\"\",https://test.fr/1,Java|SQL:BACK_END
+                Projet 2,Détail 2,https://test.fr/2,SQL
+                Projet 3,Détail 3
+                """;
+
+        Map<String, Object> report = importFile("projects.csv", content, HttpStatus.OK);
+
+        assertThat(report).containsEntry("imported", 2L).containsEntry("failed", 1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT detail FROM projects WHERE title = 'Projet 1'", String.class)).isEqualTo("Détail sur\ndeux lignes, avec \"guillemets\"");
+        assertThat(languagesOf("Projet 1")).containsExactly("Java", "SQL");
+    }
+
+    @Test
+    void rejectsCsvWithInvalidHeader() throws Exception {
+
+        Map<String, Object> report = importFile("projects.csv", "title,link,detail,languages\nProjet 1,https://test.fr/1,Détail 1,Java\n", HttpStatus.BAD_REQUEST);
+
+        assertThat((String)report.get("error")).startsWith("En-tête CSV invalide");
+        assertThat(projectRepository.count()).isZero();
+    }
+
+    @Test
+    void unclosedQuoteFailsOnlyItsRecord() throws Exception {
+
+        // Le guillemet jamais fermé ferait lire le reste du fichier dans un seul enregistrement sans la taille maximale (200 caractères)
+        String content = "title,detail,link,languages\nProjet 1,Détail 1,https://test.fr/1,Java\nProjet 2,\"Détail jamais fermé\n" + "suite du détail\n".repeat(50);
+
+        Map<String, Object> report = importFile("projects.csv", content, HttpStatus.OK);
+
+        assertThat(report).containsEntry("imported", 1L);
+        assertThat(errorMessages(report)).anyMatch(message -> message.startsWith("Enregistrement CSV trop long"));
+    }
+
+    @Test
+    void failedChunkIsRolledBackAndLanguagesAreSharedAcrossChunks() throws Exception {
+
+        String tooLongLabel = "L".repeat(300); // Dépasse la taille de la colonne : l'insertion du lot échoue
+
+        String content = """
+                {"title":"Projet 1","detail":"Détail 1","link":"https://test.fr/1","languages":["Java"]}
+                {"title":"Projet 2","detail":"Détail 2","link":"https://test.fr/2","languages":["Java"]}
+                {"title":"Projet 3","detail":"Détail 3","link":"https://test.fr/3","languages":["Kotlin"]}
+                {"title":"Projet 4","detail":"Détail 4","link":"https://test.fr/4","languages":["%s"]}
+                {"title":"Projet 5","detail":"Détail 5","link":"https://test.fr/5","languages":["Java","Kotlin"]}
+                """.formatted(tooLongLabel);
+
+        Map<String, Object> report = importFile("projects.ndjson", content, HttpStatus.OK);
+
+        // Le deuxième lot (projets 3 et 4) est annulé en entier, sans empêcher l'import du troisième
+        assertThat(report).containsEntry("imported", 3L).containsEntry("failed", 2L);
+        assertThat(errorMessages(report)).singleElement().asString().startsWith("Lot annulé (lignes 3 à 4)");
+        assertThat(projectRepository.findAll()).extracting(Project::getTitle).containsExactlyInAnyOrder("Projet 1", "Projet 2", "Projet 5");
+
+        // 'Java' n'est créé qu'une fois pour tous les lots ; 'Kotlin', créé par le lot annulé, est recréé par le lot suivant
+        assertThat(languageRepository.findAll()).extracting(Language::getLabel).containsExactlyInAnyOrder("Java", "Kotlin");
+        assertThat(languagesOf("Projet 5")).containsExactly("Java", "Kotlin");
+    }
+}
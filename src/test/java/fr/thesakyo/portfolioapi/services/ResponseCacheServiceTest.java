@@ -0,0 +1,74 @@
+package fr.thesakyo.portfolioapi.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.thesakyo.portfolioapi.WireFormatConfig;
+import fr.thesakyo.portfolioapi.models.DTO.ProjectDTO;
+import fr.thesakyo.portfolioapi.models.DTO.ResponseShape;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que seules les réponses filtrées ('?fields=', '?expand=') omettent les champs 'null' des 'DTO's :
+ * la forme complète garde tous ses champs, même 'null'.
+ */
+@JsonTest
+@Import({ WireFormatConfig.class, ResponseCacheService.class })
+class ResponseCacheServiceTest {
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Renvoie le 'DTO' d'un projet sans détail, ni utilisateur, ni langage, puis lit la réponse JSON encodée.
+     *
+     * @param eTag L''ETag' de la réponse.
+     * @param shape La {@link ResponseShape forme de réponse} demandée.
+     *
+     * @return Le 'DTO' du projet dans la réponse JSON.
+     */
+    private JsonNode respond(String eTag, ResponseShape shape) throws Exception {
+
+        ProjectDTO projectDTO = new ProjectDTO(1L, "Projet", null, "https://test.fr/1", null, null);
+        byte[] body = (byte[])responseCacheService.respond(eTag, shape, () -> Map.of("entity", projectDTO)).getBody();
+
+        return objectMapper.readTree(body).get("entity");
+    }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @Test
+    void fullShapeKeepsNullFields() throws Exception {
+
+        JsonNode entity = respond("\"full\"", ResponseShape.FULL);
+
+        assertThat(entity.has("detail")).isTrue();
+        assertThat(entity.get("detail").isNull()).isTrue();
+        assertThat(entity.has("user")).isTrue();
+        assertThat(entity.has("languages")).isTrue();
+    }
+
+    @Test
+    void filteredShapeOmitsNullFields() throws Exception {
+
+        JsonNode entity = respond("\"shaped\"", ResponseShape.of("id,title,link", null));
+
+        assertThat(entity.get("title").asText()).isEqualTo("Projet");
+        assertThat(entity.has("detail")).isFalse();
+        assertThat(entity.has("user")).isFalse();
+        assertThat(entity.has("languages")).isFalse();
+    }
+}
@@ -0,0 +1,72 @@
+package fr.thesakyo.portfolioapi.services.entities;
+
+import fr.thesakyo.portfolioapi.StatementCountTest;
+import fr.thesakyo.portfolioapi.models.entities.Language;
+import fr.thesakyo.portfolioapi.models.entities.User;
+import fr.thesakyo.portfolioapi.repositories.LanguageRepository;
+import fr.thesakyo.portfolioapi.services.DTOCacheService;
+import fr.thesakyo.portfolioapi.services.DTOService;
+import fr.thesakyo.portfolioapi.services.ResponseCacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({ LanguageService.class, DTOService.class })
+class LanguageServiceTest extends StatementCountTest {
+
+    @Autowired
+    private LanguageService languageService;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @MockBean
+    private DTOCacheService dtoCacheService; // Non utilisé par la récupération de tous les langages (pas de Redis dans les tests).
+
+    @MockBean
+    private ResponseCacheService responseCacheService; // Non utilisé par la récupération de tous les langages.
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Enregistre un {@link User utilisateur} ayant un projet par langage.
+     *
+     * @param languageCount Le nombre de {@link Language langage}s de l'utilisateur.
+     *
+     * @return L'{@link User utilisateur} enregistré.
+     */
+    private User persistUserWithLanguages(int languageCount) {
+
+        User user = persistUser();
+        for(int i = 0; i < languageCount; i++) persistProject(user, persistLanguage());
+
+        return user;
+    }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @Test
+    void languagesOfUserAreFetchedInOneStatement() {
+
+        User user = persistUserWithLanguages(25);
+
+        assertThat(countStatements(() -> assertThat(languageRepository.findAllByUserIdInProjects(user.getId())).hasSize(25))).isEqualTo(1);
+    }
+
+    @Test
+    void languagesOfUserStatementCountDoesNotGrowWithLanguages() {
+
+        User smallUser = persistUserWithLanguages(3);
+        User largeUser = persistUserWithLanguages(60);
+
+        long smallCount = countStatements(() -> assertThat(languageService.getAllLanguages(User.class, smallUser.getId())).hasSize(3));
+        long largeCount = countStatements(() -> assertThat(languageService.getAllLanguages(User.class, largeUser.getId())).hasSize(60));
+
+        assertThat(largeCount).isEqualTo(smallCount);
+    }
+}
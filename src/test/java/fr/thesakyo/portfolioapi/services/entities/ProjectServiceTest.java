@@ -0,0 +1,192 @@
+package fr.thesakyo.portfolioapi.services.entities;
+
+import fr.thesakyo.portfolioapi.StatementCountTest;
+import fr.thesakyo.portfolioapi.enums.ERole;
+import fr.thesakyo.portfolioapi.helpers.ModificationHelper;
+import fr.thesakyo.portfolioapi.models.DTO.ProjectDTO;
+import fr.thesakyo.portfolioapi.models.entities.BaseEntity;
+import fr.thesakyo.portfolioapi.models.entities.Language;
+import fr.thesakyo.portfolioapi.models.entities.Project;
+import fr.thesakyo.portfolioapi.models.entities.User;
+import fr.thesakyo.portfolioapi.repositories.ProjectRepository;
+import fr.thesakyo.portfolioapi.security.LoggedUser;
+import fr.thesakyo.portfolioapi.security.UserConnection;
+import fr.thesakyo.portfolioapi.services.DTOCacheService;
+import fr.thesakyo.portfolioapi.services.DTOService;
+import fr.thesakyo.portfolioapi.services.ResponseCacheService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Vérifie les créations et mises à jour groupées de {@link Project projet}s, écrites par lots de deux projets.
+ */
+@Import({ ProjectService.class, DTOService.class })
+@TestPropertySource(properties = "d2planapi.app.bulkBatchSize=2")
+class ProjectServiceTest extends StatementCountTest {
+
+    private static final int PROJECT_COUNT = 5; // Nombre de projets écrits (trois lots : deux pleins et un incomplet).
+
+    /*******************************/
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @MockBean
+    private DTOCacheService dtoCacheService; // Pas de Redis dans les tests.
+
+    @MockBean
+    private ResponseCacheService responseCacheService; // Non utilisé par les écritures groupées.
+
+    private MockHttpServletResponse response; // Réponse http fictive de la requête en cours.
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Connecte un super-administrateur (ayant la permission sur tous les projets) à une requête http fictive.
+     */
+    @BeforeEach
+    void logSuperAdmin() {
+
+        LoggedUser loggedUser = new LoggedUser(1L, "Administrateur", _ -> null, _ -> new long[0], (_, _) -> false, (_, _) -> false);
+        loggedUser.authenticate(org.springframework.security.core.userdetails.User.withUsername("admin@test.fr").password("password")
+                .authorities(ERole.ROLE_ADMIN.name(), ERole.ROLE_SUPERADMIN.name()).build());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(UserConnection.LOGGED_USER_ATTRIBUTE, loggedUser);
+
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+
+    @AfterEach
+    void logout() { RequestContextHolder.resetRequestAttributes(); }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    /**
+     * Récupère les 'DTO's des projets d'une réponse d'écriture groupée.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<ProjectDTO> entities(Object responseBody) { return (List<ProjectDTO>)((Map<String, Object>)responseBody).get("entities"); }
+
+    /**
+     * Enregistre des {@link Project projet}s d'un même {@link User utilisateur} et d'un même {@link Language langage}.
+     *
+     * @return Les identifiants des {@link Project projet}s enregistrés, dans l'ordre de leur enregistrement.
+     */
+    private List<Long> persistProjects() {
+
+        User user = persistUser();
+        Language language = persistLanguage();
+
+        List<Long> ids = new ArrayList<>();
+        for(int i = 0; i < PROJECT_COUNT; i++) ids.add(persistProject(user, language).getId());
+
+        return ids;
+    }
+
+    /**
+     * Construit les modifications demandées pour des {@link Project projet}s.
+     *
+     * @param ids Les identifiants des {@link Project projet}s à modifier.
+     * @param title Le nouveau titre des {@link Project projet}s ('null' pour le garder).
+     *
+     * @return Les modifications demandées, dans l'ordre des identifiants.
+     */
+    private static List<Project> changes(List<Long> ids, String title) {
+
+        List<Project> changes = new ArrayList<>();
+
+        for(Long id : ids) {
+
+            Project change = new Project();
+            change.setId(id);
+            change.setTitle(title);
+            changes.add(change);
+        }
+
+        return changes;
+    }
+
+    /*******************************************************************/
+    /*******************************************************************/
+
+    @Test
+    void createProjectsInsertsInBatches() {
+
+        User user = persistUser();
+        Language language = persistLanguage();
+
+        List<Project> projects = new ArrayList<>();
+        for(int i = 1; i <= PROJECT_COUNT; i++) projects.add(new Project("Nouveau projet " + i, "Détail " + i, "https://test.fr/new/" + i, user, new HashSet<>(Set.of(language))));
+
+        List<ProjectDTO> created = new ArrayList<>();
+
+        // Trois lots d'insertions des projets, puis trois lots d'insertions de leurs langages (identifiants déjà réservés par le bloc en cours)
+        assertThat(countStatements(() -> created.addAll(entities(projectService.createProjects(projects).getBody()))))
+                .isEqualTo(3 + 3);
+
+        assertThat(created).extracting(ProjectDTO::getTitle).containsExactly("Nouveau projet 1", "Nouveau projet 2", "Nouveau projet 3", "Nouveau projet 4", "Nouveau projet 5");
+        assertThat(projectRepository.findAllById(created.stream().map(ProjectDTO::getId).toList())).hasSize(PROJECT_COUNT);
+        verify(dtoCacheService).evict(any(String[].class));
+    }
+
+    @Test
+    void updateProjectsUpdatesInBatchesInRequestOrder() {
+
+        List<Long> ids = persistProjects();
+        Collections.reverse(ids); // Demande les modifications dans l'ordre inverse de l'enregistrement
+
+        List<ProjectDTO> updated = new ArrayList<>();
+
+        // Par lot : une lecture des projets existants (avec leur détail et leurs associations), puis une requête groupée de mise à jour
+        assertThat(countStatements(() -> updated.addAll(entities(projectService.updateProjects(changes(ids, "Projet modifié")).getBody()))))
+                .isEqualTo(3 + 3);
+
+        assertThat(updated).extracting(ProjectDTO::getId).containsExactlyElementsOf(ids);
+        assertThat(updated).extracting(ProjectDTO::getTitle).containsOnly("Projet modifié");
+        assertThat(projectRepository.findAllById(ids)).extracting(BaseEntity::getVersion).containsOnly(1L);
+
+        assertThat(response.getHeader(ModificationHelper.MODIFIED_HEADER)).isEqualTo("true");
+        verify(dtoCacheService).evict(any(String[].class));
+    }
+
+    @Test
+    void updateProjectsWithoutChangesWritesNothing() {
+
+        List<Long> ids = persistProjects();
+        List<Project> changes = changes(ids, null);
+
+        for(Project change : changes) change.setLink(projectRepository.findById(change.getId()).orElseThrow().getLink()); // Même lien qu'enregistré
+
+        // Seules les lectures des projets existants (une par lot) sont envoyées
+        assertThat(countStatements(() -> assertThat(entities(projectService.updateProjects(changes).getBody())).extracting(ProjectDTO::getId).containsExactlyElementsOf(ids)))
+                .isEqualTo(3);
+
+        assertThat(projectRepository.findAllById(ids)).extracting(BaseEntity::getVersion).containsOnly(0L);
+
+        assertThat(response.getHeader(ModificationHelper.MODIFIED_HEADER)).isEqualTo("false");
+        verify(dtoCacheService, never()).evict(any(String[].class));
+    }
+}